@@ -0,0 +1,67 @@
+package org.example.benchmarks;
+
+import org.example.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+//mide los motores principales sobre relaciones generadas por GeneradorRelaciones
+//todos los calculos se ejecutan con la traza APAGADA para no medir la consola
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BenchmarkRelaciones {
+
+    @Param({"64", "256", "1024"})
+    int tamano;
+
+    @Param({"0.01", "0.1"})
+    double densidad;
+
+    @Param({"CADENA", "ALEATORIA", "CLIQUES", "DAG"})
+    GeneradorRelaciones.Forma forma;
+
+    @Param({"42"})
+    long semilla;
+
+    Set<Par> relacion;
+    Set<ConversorClausulas.Clausula> clausulas;
+    String literal;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        relacion = GeneradorRelaciones.generar(forma, tamano, densidad, semilla);
+        clausulas = ClausulasCompiladas.compilar(relacion).aClausulas();
+        literal = "-1";
+    }
+
+    @Benchmark
+    public Set<Par> calcularClausura() {
+        return ClausuraTransitivaReflexiva.calcularClausura(relacion, EscuchaTraza.APAGADA);
+    }
+
+    @Benchmark
+    public Set<ConversorClausulas.Clausula> convertirRelacionAClausulas() {
+        return ConversorClausulas.convertirRelacionAClausulas(relacion, EscuchaTraza.APAGADA);
+    }
+
+    @Benchmark
+    public Set<String> calcularClausuraLiteral() {
+        return ConversorClausulas.calcularClausuraLiteral(literal, clausulas);
+    }
+
+    @Benchmark
+    public boolean resolver2SAT() {
+        return ConversorClausulas.resolver2SAT(relacion, EscuchaTraza.APAGADA);
+    }
+
+    @Benchmark
+    public ClausurasLiterales calcularClausurasTransitivas() {
+        return ConversorClausulas.calcularClausurasTransitivas(relacion, EscuchaTraza.APAGADA);
+    }
+
+}
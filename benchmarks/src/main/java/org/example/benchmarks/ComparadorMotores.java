@@ -0,0 +1,148 @@
+package org.example.benchmarks;
+
+import org.example.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class ComparadorMotores {
+
+    //ejecuta el motor nativo y los de JGraphT sobre las mismas relaciones generadas y compara:
+    //tiempo (el menor de las repeticiones), memoria asignada por el hilo en la primera repeticion y resultados
+    //la clausura debe coincidir par por par con la nativa; en 2-SAT los modelos pueden ser distintos,
+    //asi que se compara la satisfacibilidad y se verifica que cada modelo satisfaga las clausulas
+    //
+    //ejemplo: java -cp target/benchmarks.jar org.example.benchmarks.ComparadorMotores
+    //         --formas CADENA,DAG --tamanos 64,256 --densidades 0.01 --repeticiones 5
+    //termina con codigo 1 si algun motor difiere del nativo
+
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        List<GeneradorRelaciones.Forma> formas = new ArrayList<>(List.of(GeneradorRelaciones.Forma.values()));
+        int[] tamanos = {64, 256};
+        double[] densidades = {0.01, 0.1};
+        long semilla = 42;
+        int repeticiones = 3;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--formas" -> {
+                    formas.clear();
+                    for (String forma : args[++i].split(",")) {
+                        formas.add(GeneradorRelaciones.Forma.valueOf(forma.trim().toUpperCase()));
+                    }
+                }
+                case "--tamanos" -> tamanos = Arrays.stream(args[++i].split(","))
+                        .mapToInt(t -> Integer.parseInt(t.trim())).toArray();
+                case "--densidades" -> densidades = Arrays.stream(args[++i].split(","))
+                        .mapToDouble(d -> Double.parseDouble(d.trim())).toArray();
+                case "--semilla" -> semilla = Long.parseLong(args[++i]);
+                case "--repeticiones" -> repeticiones = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        if (repeticiones <= 0) {
+            throw new IllegalArgumentException("El número de repeticiones debe ser positivo: " + repeticiones);
+        }
+
+        List<MotorRelaciones> motores = List.of(MotorRelaciones.NATIVO,
+                new MotorJGraphT(MotorJGraphT.Inspector.KOSARAJU), new MotorJGraphT(MotorJGraphT.Inspector.GABOW));
+
+        System.out.printf("%-10s %6s %8s %-17s %12s %12s %10s %11s %10s %12s  %s%n",
+                "forma", "n", "densidad", "motor", "clausura ms", "asignado MB", "pares", "diferencias",
+                "2sat ms", "asignado MB", "2sat");
+        int conDiferencias = 0;
+        for (GeneradorRelaciones.Forma forma : formas) {
+            for (int tamano : tamanos) {
+                for (double densidad : densidades) {
+                    Set<Par> relacion = GeneradorRelaciones.generar(forma, tamano, densidad, semilla);
+                    ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(relacion);
+                    Set<Par> referencia = null;
+                    boolean satisfacibleReferencia = false;
+
+                    for (MotorRelaciones motor : motores) {
+                        Medicion<Set<Par>> clausura = medir(() -> motor.calcularClausura(relacion), repeticiones);
+                        Medicion<boolean[]> modelo = medir(() -> motor.resolver2SAT(clausulas), repeticiones);
+
+                        boolean satisfacible = modelo.resultado != null;
+                        long diferencias = 0;
+                        if (referencia == null) {
+                            referencia = clausura.resultado;
+                            satisfacibleReferencia = satisfacible;
+                        } else {
+                            diferencias = diferencias(referencia, clausura.resultado);
+                        }
+                        String sat = !satisfacible ? "insatisfacible"
+                                : clausulas.satisface(modelo.resultado) ? "modelo válido" : "MODELO INVÁLIDO";
+                        boolean difiere = diferencias > 0 || satisfacible != satisfacibleReferencia
+                                || (satisfacible && !clausulas.satisface(modelo.resultado));
+                        if (difiere) {
+                            conDiferencias++;
+                            sat += satisfacible != satisfacibleReferencia ? " (DIFIERE DEL NATIVO)" : "";
+                        }
+
+                        System.out.printf("%-10s %6d %8.3f %-17s %12.2f %12.2f %10d %11d %10.2f %12.2f  %s%n",
+                                forma, tamano, densidad, motor.nombre(),
+                                clausura.nanos / 1e6, clausura.bytes / 1048576.0, clausura.resultado.size(), diferencias,
+                                modelo.nanos / 1e6, modelo.bytes / 1048576.0, sat);
+                    }
+                }
+            }
+        }
+
+        System.out.println(conDiferencias == 0 ? "\nTodos los motores coinciden con el nativo"
+                : "\nResultados distintos del nativo: " + conDiferencias);
+        if (conDiferencias > 0) {
+            System.exit(1);
+        }
+    }
+
+    //tiempo minimo de las repeticiones y bytes asignados por este hilo en la primera
+    private static final class Medicion<T> {
+        final T resultado;
+        final long nanos;
+        final long bytes;
+
+        Medicion(T resultado, long nanos, long bytes) {
+            this.resultado = resultado;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+
+    private static <T> Medicion<T> medir(Supplier<T> calculo, int repeticiones) {
+        T resultado = null;
+        long mejor = Long.MAX_VALUE;
+        long bytes = 0;
+        for (int r = 0; r < repeticiones; r++) {
+            long asignadoAntes = HILOS.getCurrentThreadAllocatedBytes();
+            long inicio = System.nanoTime();
+            resultado = calculo.get();
+            long tiempo = System.nanoTime() - inicio;
+            if (r == 0) {
+                bytes = HILOS.getCurrentThreadAllocatedBytes() - asignadoAntes;
+            }
+            mejor = Math.min(mejor, tiempo);
+        }
+        return new Medicion<>(resultado, mejor, bytes);
+    }
+
+    //pares que estan en una sola de las dos clausulas
+    private static long diferencias(Set<Par> a, Set<Par> b) {
+        long total = 0;
+        for (Par p : a) {
+            if (!b.contains(p)) total++;
+        }
+        for (Par p : b) {
+            if (!a.contains(p)) total++;
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.example.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class EjecutarBenchmarks {
+
+    //ejecuta los benchmarks con el perfilador de GC (tasa de asignacion) y guarda los resultados en JSON
+    //para comparar contra una linea base; acepta las mismas opciones de linea de comandos que JMH
+    //ejemplo: java -jar target/benchmarks.jar -p tamano=256 -rf json -rff base.json
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions lineaDeComandos = new CommandLineOptions(args);
+        ChainedOptionsBuilder opciones = new OptionsBuilder()
+                .parent(lineaDeComandos)
+                .addProfiler(GCProfiler.class);
+
+        //valores por defecto que la linea de comandos puede reemplazar
+        if (!lineaDeComandos.getResultFormat().hasValue()) {
+            opciones.resultFormat(ResultFormatType.JSON);
+        }
+        if (!lineaDeComandos.getResult().hasValue()) {
+            opciones.result("resultados-benchmarks.json");
+        }
+
+        new Runner(opciones.build()).run();
+    }
+
+}
@@ -0,0 +1,75 @@
+package org.example.benchmarks;
+
+import org.example.Par;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class GeneradorRelaciones {
+
+    //genera relaciones reproducibles (misma semilla → misma relacion) sobre los elementos 1..n
+
+    public enum Forma {
+        CADENA,     // 1 → 2 → ... → n, con atajos hacia adelante segun la densidad
+        ALEATORIA,  // pares (x,y) uniformes, densidad * n^2 pares en promedio
+        CLIQUES,    // bloques completamente conectados de tamano densidad * n
+        DAG         // pares (x,y) con x < y, densidad * n^2 / 2 pares en promedio
+    }
+
+    //fraccion de elementos que ademas aparecen como par individual (x)
+    private static final double FRACCION_INDIVIDUALES = 0.05;
+
+    public static Set<Par> generar(Forma forma, int n, double densidad, long semilla) {
+        Random azar = new Random(semilla);
+        Set<Par> relacion = new HashSet<>();
+
+        switch (forma) {
+            case CADENA -> {
+                for (int i = 1; i < n; i++) {
+                    relacion.add(new Par(i, i + 1));
+                }
+                long atajos = Math.round(densidad * n);
+                for (long e = 0; e < atajos; e++) {
+                    int x = 1 + azar.nextInt(n);
+                    int y = 1 + azar.nextInt(n);
+                    relacion.add(new Par(Math.min(x, y), Math.max(x, y)));
+                }
+            }
+            case ALEATORIA -> {
+                long pares = Math.max(1, Math.round(densidad * n * n));
+                for (long e = 0; e < pares; e++) {
+                    relacion.add(new Par(1 + azar.nextInt(n), 1 + azar.nextInt(n)));
+                }
+            }
+            case CLIQUES -> {
+                int tamano = Math.max(2, (int) Math.round(densidad * n));
+                for (int inicio = 1; inicio <= n; inicio += tamano) {
+                    int fin = Math.min(n, inicio + tamano - 1);
+                    for (int x = inicio; x <= fin; x++) {
+                        for (int y = inicio; y <= fin; y++) {
+                            relacion.add(new Par(x, y));
+                        }
+                    }
+                }
+            }
+            case DAG -> {
+                long pares = Math.max(1, Math.round(densidad * n * n / 2));
+                for (long e = 0; e < pares; e++) {
+                    int x = 1 + azar.nextInt(n);
+                    int y = 1 + azar.nextInt(n);
+                    if (x != y) {
+                        relacion.add(new Par(Math.min(x, y), Math.max(x, y)));
+                    }
+                }
+            }
+        }
+
+        int individuales = (int) Math.round(FRACCION_INDIVIDUALES * n);
+        for (int i = 0; i < individuales; i++) {
+            relacion.add(new Par(1 + azar.nextInt(n)));
+        }
+        return relacion;
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.example;
+
+final class BuffersTrabajo {
+
+    //arreglos de trabajo que se reutilizan de un trabajo al siguiente (ResolvedorLotes), para que los algoritmos
+    //no pidan memoria nueva en cada llamada: cada ranura crece cuando no alcanza y su contenido anterior no se conserva
+    //un mismo BuffersTrabajo lo usa un solo hilo a la vez, y ningun resultado guarda referencias a estos arreglos
+
+    //ranuras de enteros
+    static final int PARES_X = 0;
+    static final int PARES_Y = 1;
+    static final int INDIVIDUALES = 2;
+    static final int INICIO = 3;
+    static final int SUCESORES = 4;
+    static final int POSICION = 5;
+    static final int COMPONENTE = 6;
+    static final int INDICE = 7;
+    static final int BAJO = 8;
+    static final int PILA = 9;
+    static final int LLAMADAS = 10;
+    static final int SIGUIENTE = 11;
+    private static final int NUM_RANURAS = 12;
+
+    //al terminar un trabajo se sueltan los arreglos mas largos que esto, asi un caso grande no queda retenido
+    private static final int LARGO_RETENIDO = 1 << 20;
+
+    private final int[][] enteros = new int[NUM_RANURAS][0];
+    private boolean[] marcas = new boolean[0];
+
+    //arreglo de la ranura con al menos n posiciones (contenido indefinido)
+    int[] enteros(int ranura, int n) {
+        if (enteros[ranura].length < n) {
+            enteros[ranura] = new int[crecer(enteros[ranura].length, n)];
+        }
+        return enteros[ranura];
+    }
+
+    boolean[] marcas(int n) {
+        if (marcas.length < n) {
+            marcas = new boolean[crecer(marcas.length, n)];
+        }
+        return marcas;
+    }
+
+    void recortar() {
+        for (int r = 0; r < NUM_RANURAS; r++) {
+            if (enteros[r].length > LARGO_RETENIDO) {
+                enteros[r] = new int[0];
+            }
+        }
+        if (marcas.length > LARGO_RETENIDO) {
+            marcas = new boolean[0];
+        }
+    }
+
+    //al menos n y al menos el doble de lo que habia, para que una serie de trabajos crecientes no pida en cada uno
+    private static int crecer(int actual, int n) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(n, 2L * actual));
+    }
+
+}
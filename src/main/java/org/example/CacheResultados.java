@@ -0,0 +1,318 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class CacheResultados {
+
+    //guarda clausuras, resultados de 2-SAT y T(l) por la huella de la relacion, para no recalcular entradas repetidas
+    //la huella es SHA-256 de una forma canonica, asi dos relaciones con la misma huella tienen el mismo resultado:
+    //  - clausura: los pares (x, y) empaquetados en long, ordenados y sin repetidos, y los individuales ordenados
+    //    y sin repetidos. Se usan los valores y no los indices de calcularClausura: la numeracion es biyectiva
+    //    y respeta el orden, asi que la forma es igual de canonica y en un acierto no hay que numerar la relacion.
+    //    Un individual que tambien aparece en un par da otra huella con la misma clausura: solo cuesta un fallo
+    //  - 2-SAT y T(l): las clausulas compiladas, que ya estan ordenadas y sin repetidos
+    //
+    //la capacidad se mide en bytes (aproximados) y al pasarla se desalojan las entradas usadas hace mas tiempo (LRU);
+    //un resultado mayor que la cuarta parte de la capacidad no se guarda, para que no vacie la cache de una vez
+    //los resultados guardados se comparten: ClausuraRelacion y ClausurasLiterales no cambian, los modelos se copian
+    //
+    //se puede usar desde varios hilos; el calculo se hace fuera del candado, asi que dos hilos con la misma
+    //relacion nueva pueden calcularla los dos (el segundo reemplaza al primero)
+
+    //tipos de resultado, primer byte de la huella
+    private static final byte CLAUSURA = 1;
+    private static final byte DOS_SAT = 2;
+    private static final byte RESOLUCION = 3;
+
+    //huella, entrada y nodo del mapa
+    private static final long SOBRECARGA = 160;
+    private static final Object INSATISFACIBLE = new Object();
+
+    private final long capacidad;
+    private final LinkedHashMap<Huella, Entrada> entradas = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long rechazados;
+
+    public CacheResultados(long capacidadBytes) {
+        if (capacidadBytes <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva: " + capacidadBytes);
+        }
+        this.capacidad = capacidadBytes;
+    }
+
+
+    //1. Consultas
+    //misma clausura que calcularClausura (sin traza)
+    public ClausuraRelacion clausura(Set<Par> relacion) {
+        int[] xs, ys, individuales;
+        int numPares = 0;
+        int numIndividuales = 0;
+        if (relacion instanceof RelacionPrimitiva primitiva) {
+            xs = new int[primitiva.numPares()];
+            ys = new int[primitiva.numPares()];
+            individuales = new int[primitiva.numIndividuales()];
+            numPares = primitiva.copiarPares(xs, ys);
+            numIndividuales = primitiva.copiarIndividuales(individuales);
+        } else {
+            xs = new int[relacion.size()];
+            ys = new int[relacion.size()];
+            individuales = new int[relacion.size()];
+            for (Par p : relacion) {
+                if (p.y == null) {
+                    individuales[numIndividuales++] = p.x;
+                } else {
+                    xs[numPares] = p.x;
+                    ys[numPares++] = p.y;
+                }
+            }
+        }
+
+        Huella huella = huellaClausura(xs, ys, numPares, individuales, numIndividuales);
+        ClausuraRelacion clausura = buscarClausura(huella);
+        if (clausura == null) {
+            int[] elementos = ClausuraTransitivaReflexiva.elementosOrdenados(xs, ys, numPares, individuales, numIndividuales);
+            clausura = ClausuraTransitivaReflexiva.calcularClausura(elementos, xs, ys, numPares);
+            guardarClausura(huella, clausura);
+        }
+        return clausura;
+    }
+
+    //mismo modelo que Resolvedor2SAT.resolver (una copia), o null si no es satisfacible
+    public boolean[] resolver2SAT(ClausulasCompiladas clausulas) {
+        Huella huella = huellaClausulas(DOS_SAT, clausulas, true);
+        Object guardado = buscar(huella);
+        if (guardado == null) {
+            boolean[] modelo = Resolvedor2SAT.resolver(clausulas);
+            guardado = modelo != null ? modelo : INSATISFACIBLE;
+            guardar(huella, guardado, modelo != null ? 16L + modelo.length : 0);
+        }
+        return guardado == INSATISFACIBLE ? null : ((boolean[]) guardado).clone();
+    }
+
+    public boolean[] resolver2SAT(Set<Par> relacion) {
+        return resolver2SAT(ClausulasCompiladas.compilar(relacion));
+    }
+
+    //T(l) de todos los literales sobre las binarias, como en calcularClausurasTransitivas
+    public ClausurasLiterales clausurasLiterales(ClausulasCompiladas clausulas) {
+        Huella huella = huellaClausulas(RESOLUCION, clausulas, false);
+        ClausurasLiterales clausuras = (ClausurasLiterales) buscar(huella);
+        if (clausuras == null) {
+            clausuras = ClausurasLiterales.calcular(GrafoImplicaciones.desdeBinarias(clausulas));
+            guardar(huella, clausuras, clausuras.bytesAproximados());
+        }
+        return clausuras;
+    }
+
+    //para quien calcula la clausura por su cuenta (ServidorRelaciones, con presupuesto de tiempo)
+    ClausuraRelacion buscarClausura(Huella huella) {
+        return (ClausuraRelacion) buscar(huella);
+    }
+
+    void guardarClausura(Huella huella, ClausuraRelacion clausura) {
+        int n = clausura.numElementos();
+        long palabras = (n + 63) >>> 6;
+        guardar(huella, clausura, 96 + 12L * n + n * (16 + 8 * palabras));
+    }
+
+
+    //2. Almacenamiento
+    private synchronized Object buscar(Huella huella) {
+        Entrada entrada = entradas.get(huella);
+        if (entrada == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        return entrada.valor;
+    }
+
+    private synchronized void guardar(Huella huella, Object valor, long bytesValor) {
+        long total = bytesValor + SOBRECARGA;
+        if (total > capacidad / 4) {
+            rechazados++;
+            return;
+        }
+        Entrada anterior = entradas.put(huella, new Entrada(valor, total));
+        if (anterior != null) {
+            bytes -= anterior.bytes;
+        }
+        bytes += total;
+
+        //el iterador recorre del menos al mas recientemente usado
+        Iterator<Map.Entry<Huella, Entrada>> iterador = entradas.entrySet().iterator();
+        while (bytes > capacidad && iterador.hasNext()) {
+            Entrada desalojada = iterador.next().getValue();
+            iterador.remove();
+            bytes -= desalojada.bytes;
+            desalojos++;
+        }
+    }
+
+    public synchronized void limpiar() {
+        entradas.clear();
+        bytes = 0;
+    }
+
+    private static final class Entrada {
+        final Object valor;
+        final long bytes;
+
+        Entrada(Object valor, long bytes) {
+            this.valor = valor;
+            this.bytes = bytes;
+        }
+    }
+
+
+    //3. Huellas
+    static Huella huellaClausura(int[] xs, int[] ys, int numPares, int[] individuales, int numIndividuales) {
+        long[] pares = new long[numPares];
+        for (int i = 0; i < numPares; i++) {
+            pares[i] = ((long) xs[i] << 32) | (ys[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(pares);
+        int[] elementos = Arrays.copyOf(individuales, numIndividuales);
+        Arrays.sort(elementos);
+
+        Resumen resumen = new Resumen(CLAUSURA);
+        int distintos = 0;
+        for (int i = 0; i < elementos.length; i++) {
+            if (i == 0 || elementos[i] != elementos[i - 1]) elementos[distintos++] = elementos[i];
+        }
+        resumen.agregar(elementos, distintos);
+        for (int i = 0; i < numPares; i++) {
+            if (i == 0 || pares[i] != pares[i - 1]) resumen.agregar(pares[i]);
+        }
+        return resumen.huella();
+    }
+
+    //las unitarias no cambian T(l): se dejan fuera de la huella de RESOLUCION
+    private static Huella huellaClausulas(byte tipo, ClausulasCompiladas clausulas, boolean conUnitarias) {
+        Resumen resumen = new Resumen(tipo);
+        resumen.agregar(clausulas.valores, clausulas.valores.length);
+        if (conUnitarias) {
+            resumen.agregar(clausulas.unitarias, clausulas.numUnitarias());
+        }
+        //las cantidades separan las secciones: sin ellas dos divisiones distintas podrian dar los mismos bytes
+        resumen.agregar(clausulas.numBinarias());
+        for (int i = 0; i < clausulas.numBinarias(); i++) {
+            resumen.agregar(((long) clausulas.literal1(i) << 32) | clausulas.literal2(i));
+        }
+        return resumen.huella();
+    }
+
+    static final class Huella {
+        private final byte[] digesto;
+        private final int hash;
+
+        private Huella(byte[] digesto) {
+            this.digesto = digesto;
+            this.hash = ByteBuffer.wrap(digesto).getInt();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Huella otra && Arrays.equals(digesto, otra.digesto);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    //SHA-256 alimentado por bloques de 8 KB
+    private static final class Resumen {
+        private final MessageDigest digesto;
+        private final ByteBuffer bloque = ByteBuffer.allocate(8192);
+
+        Resumen(byte tipo) {
+            try {
+                digesto = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 no está disponible", e);
+            }
+            bloque.put(tipo);
+        }
+
+        //la cantidad va antes de los valores
+        void agregar(int[] valores, int cantidad) {
+            agregar(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                if (bloque.remaining() < 4) vaciar();
+                bloque.putInt(valores[i]);
+            }
+        }
+
+        void agregar(int valor) {
+            if (bloque.remaining() < 4) vaciar();
+            bloque.putInt(valor);
+        }
+
+        void agregar(long valor) {
+            if (bloque.remaining() < 8) vaciar();
+            bloque.putLong(valor);
+        }
+
+        private void vaciar() {
+            digesto.update(bloque.array(), 0, bloque.position());
+            bloque.clear();
+        }
+
+        Huella huella() {
+            vaciar();
+            return new Huella(digesto.digest());
+        }
+    }
+
+
+    //4. Estadisticas
+    public static final class Estadisticas {
+        public final long aciertos;
+        public final long fallos;
+        public final long desalojos;
+        public final long rechazados;   // resultados demasiado grandes para guardarse
+        public final int entradas;
+        public final long bytes;
+        public final long capacidad;
+
+        Estadisticas(long aciertos, long fallos, long desalojos, long rechazados, int entradas, long bytes,
+                     long capacidad) {
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.desalojos = desalojos;
+            this.rechazados = rechazados;
+            this.entradas = entradas;
+            this.bytes = bytes;
+            this.capacidad = capacidad;
+        }
+
+        public double tasaAciertos() {
+            long consultas = aciertos + fallos;
+            return consultas == 0 ? 0 : (double) aciertos / consultas;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("aciertos %d, fallos %d (%.1f%% de aciertos), desalojos %d, rechazados %d"
+                            + " | %d entradas, %.2f de %.2f MB", aciertos, fallos, 100 * tasaAciertos(), desalojos,
+                    rechazados, entradas, bytes / 1048576.0, capacidad / 1048576.0);
+        }
+    }
+
+    public synchronized Estadisticas estadisticas() {
+        return new Estadisticas(aciertos, fallos, desalojos, rechazados, entradas.size(), bytes, capacidad);
+    }
+
+}
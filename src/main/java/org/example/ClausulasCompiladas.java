@@ -0,0 +1,312 @@
+package org.example;
+
+import java.util.*;
+
+public class ClausulasCompiladas {
+
+    //representacion compacta de un conjunto de clausulas unitarias y binarias sobre arreglos de enteros
+    //la variable v tiene el literal positivo 2v y el negativo 2v+1, el complemento es lit ^ 1
+    //valores[v] es el elemento original de la variable (ordenados ascendentemente); un elemento -x de la
+    //relacion es el literal negativo de la variable x. Las cadenas "x" / "-x" solo se generan para mostrar
+
+    final int[] valores;
+    final int[] unitarias;
+    final int[] literales1;
+    final int[] literales2;
+
+    private ClausulasCompiladas(int[] valores, int[] unitarias, int[] literales1, int[] literales2) {
+        this.valores = valores;
+        this.unitarias = unitarias;
+        this.literales1 = literales1;
+        this.literales2 = literales2;
+    }
+
+
+    //1. Construccion
+    //compila la relacion: (x) → clausula unitaria (x), (x,y) → clausula binaria (x ∨ y)
+    public static ClausulasCompiladas compilar(Set<Par> relacion) {
+        if (relacion instanceof RelacionPrimitiva primitiva) {
+            return compilar(primitiva);
+        }
+        int[] xs = new int[relacion.size()];
+        int[] ys = new int[relacion.size()];
+        int[] individuales = new int[relacion.size()];
+        int numPares = 0;
+        int numIndividuales = 0;
+
+        for (Par p : relacion) {
+            if (p.y == null) {
+                individuales[numIndividuales++] = p.x;
+            } else {
+                xs[numPares] = p.x;
+                ys[numPares] = p.y;
+                numPares++;
+            }
+        }
+
+        return compilar(xs, ys, numPares, individuales, numIndividuales);
+    }
+
+    //compila la relacion primitiva copiando sus pares a arreglos, sin crear objetos Par
+    public static ClausulasCompiladas compilar(RelacionPrimitiva relacion) {
+        int[] xs = new int[relacion.numPares()];
+        int[] ys = new int[relacion.numPares()];
+        int[] individuales = new int[relacion.numIndividuales()];
+        int numPares = relacion.copiarPares(xs, ys);
+        int numIndividuales = relacion.copiarIndividuales(individuales);
+        return compilar(xs, ys, numPares, individuales, numIndividuales);
+    }
+
+    //compila una relacion dada en arreglos: pares (xs[i], ys[i]) e individuales (x)
+    //un elemento negativo -x es el literal ¬x, como en el texto "-x": la variable es |x|
+    public static ClausulasCompiladas compilar(int[] xs, int[] ys, int numPares, int[] individuales, int numIndividuales) {
+
+        //variables distintas y ordenadas: el indice es la variable
+        int[] elementos = new int[2 * numPares + numIndividuales];
+        int total = 0;
+        for (int i = 0; i < numPares; i++) {
+            elementos[total++] = valorDeElemento(xs[i]);
+            elementos[total++] = valorDeElemento(ys[i]);
+        }
+        for (int i = 0; i < numIndividuales; i++) {
+            elementos[total++] = valorDeElemento(individuales[i]);
+        }
+        int[] valores = ordenarSinRepetidos(elementos, total);
+
+        int[] unitarias = new int[numIndividuales];
+        for (int i = 0; i < numIndividuales; i++) {
+            unitarias[i] = literalDeElemento(individuales[i], valores);
+        }
+
+        int[] literales1 = new int[numPares];
+        int[] literales2 = new int[numPares];
+        for (int i = 0; i < numPares; i++) {
+            literales1[i] = literalDeElemento(xs[i], valores);
+            literales2[i] = literalDeElemento(ys[i], valores);
+        }
+
+        return crear(valores, unitarias, numIndividuales, literales1, literales2, numPares);
+    }
+
+    //compila clausulas de texto ("x", "-x" o "¬x" con x entero)
+    public static ClausulasCompiladas desdeClausulas(Set<ConversorClausulas.Clausula> clausulas) {
+
+        int[] elementos = new int[2 * clausulas.size()];
+        int total = 0;
+        for (ConversorClausulas.Clausula c : clausulas) {
+            elementos[total++] = valorDeTexto(c.literal1);
+            if (!c.esUnitaria()) {
+                elementos[total++] = valorDeTexto(c.literal2);
+            }
+        }
+        int[] valores = ordenarSinRepetidos(elementos, total);
+
+        int[] unitarias = new int[clausulas.size()];
+        int[] literales1 = new int[clausulas.size()];
+        int[] literales2 = new int[clausulas.size()];
+        int numUnitarias = 0;
+        int numBinarias = 0;
+
+        for (ConversorClausulas.Clausula c : clausulas) {
+            int a = literalDeTexto(c.literal1, valores);
+            if (c.esUnitaria()) {
+                unitarias[numUnitarias++] = a;
+            } else {
+                literales1[numBinarias] = a;
+                literales2[numBinarias] = literalDeTexto(c.literal2, valores);
+                numBinarias++;
+            }
+        }
+
+        return crear(valores, unitarias, numUnitarias, literales1, literales2, numBinarias);
+    }
+
+    //crea el conjunto quitando clausulas repetidas ((a ∨ b) y (b ∨ a) son la misma)
+    //los arreglos de entrada pueden ser mas largos que las cantidades indicadas
+    static ClausulasCompiladas crear(int[] valores, int[] unitarias, int numUnitarias,
+                                     int[] literales1, int[] literales2, int numBinarias) {
+
+        int[] u = ordenarSinRepetidos(unitarias, numUnitarias);
+
+        //empaquetar cada binaria normalizada (menor, mayor) en un long para ordenar y deduplicar
+        long[] empaquetadas = new long[numBinarias];
+        for (int i = 0; i < numBinarias; i++) {
+            int a = Math.min(literales1[i], literales2[i]);
+            int b = Math.max(literales1[i], literales2[i]);
+            empaquetadas[i] = ((long) a << 32) | b;
+        }
+        Arrays.sort(empaquetadas);
+
+        int distintas = 0;
+        for (int i = 0; i < numBinarias; i++) {
+            if (i == 0 || empaquetadas[i] != empaquetadas[i - 1]) {
+                empaquetadas[distintas++] = empaquetadas[i];
+            }
+        }
+
+        int[] l1 = new int[distintas];
+        int[] l2 = new int[distintas];
+        for (int i = 0; i < distintas; i++) {
+            l1[i] = (int) (empaquetadas[i] >>> 32);
+            l2[i] = (int) empaquetadas[i];
+        }
+
+        return new ClausulasCompiladas(valores, u, l1, l2);
+    }
+
+
+    //2. Consultas
+    public int numVariables() {
+        return valores.length;
+    }
+
+    public int numLiterales() {
+        return 2 * valores.length;
+    }
+
+    public int numUnitarias() {
+        return unitarias.length;
+    }
+
+    public int numBinarias() {
+        return literales1.length;
+    }
+
+    public int numClausulas() {
+        return unitarias.length + literales1.length;
+    }
+
+    public int unitaria(int i) {
+        return unitarias[i];
+    }
+
+    public int literal1(int i) {
+        return literales1[i];
+    }
+
+    public int literal2(int i) {
+        return literales2[i];
+    }
+
+    //elemento original de la variable v
+    public int valor(int v) {
+        return valores[v];
+    }
+
+    //variable cuyo elemento original es 'valor', o -1 si no existe
+    public int variableDeValor(int valor) {
+        int v = Arrays.binarySearch(valores, valor);
+        return v >= 0 ? v : -1;
+    }
+
+    public static int literalPositivo(int v) {
+        return 2 * v;
+    }
+
+    public static int complemento(int literal) {
+        return literal ^ 1;
+    }
+
+    public static int variable(int literal) {
+        return literal >>> 1;
+    }
+
+    public static boolean esNegativo(int literal) {
+        return (literal & 1) != 0;
+    }
+
+    //valor de verdad del literal bajo la asignacion modelo[v]
+    public static boolean evaluar(int literal, boolean[] modelo) {
+        return modelo[literal >>> 1] != esNegativo(literal);
+    }
+
+    //verifica que la asignacion satisfaga todas las clausulas
+    public boolean satisface(boolean[] modelo) {
+        for (int u : unitarias) {
+            if (!evaluar(u, modelo)) return false;
+        }
+        for (int i = 0; i < literales1.length; i++) {
+            if (!evaluar(literales1[i], modelo) && !evaluar(literales2[i], modelo)) return false;
+        }
+        return true;
+    }
+
+
+    //3. Conversion para mostrar
+    //nombre del literal como lo muestra el resto del programa ("x" o "-x")
+    public String nombreLiteral(int literal) {
+        String variable = String.valueOf(valores[literal >>> 1]);
+        return esNegativo(literal) ? "-" + variable : variable;
+    }
+
+    //literal cuyo nombre es "x", "-x" o "¬x", o -1 si la variable no aparece en las clausulas
+    public int literalDeNombre(String nombre) {
+        int v = variableDeValor(valorDeTexto(nombre));
+        if (v < 0) {
+            return -1;
+        }
+        return esNegadoTexto(nombre) ? 2 * v + 1 : 2 * v;
+    }
+
+    public ConversorClausulas.Clausula clausulaUnitaria(int i) {
+        return new ConversorClausulas.Clausula(nombreLiteral(unitarias[i]));
+    }
+
+    public ConversorClausulas.Clausula clausulaBinaria(int i) {
+        return new ConversorClausulas.Clausula(nombreLiteral(literales1[i]), nombreLiteral(literales2[i]));
+    }
+
+    //todas las clausulas como objetos de texto
+    public Set<ConversorClausulas.Clausula> aClausulas() {
+        Set<ConversorClausulas.Clausula> clausulas = new HashSet<>();
+        for (int i = 0; i < unitarias.length; i++) {
+            clausulas.add(clausulaUnitaria(i));
+        }
+        for (int i = 0; i < literales1.length; i++) {
+            clausulas.add(clausulaBinaria(i));
+        }
+        return clausulas;
+    }
+
+
+    //4. Metodos auxiliares
+    //ordena los primeros 'total' enteros y elimina repetidos
+    private static int[] ordenarSinRepetidos(int[] datos, int total) {
+        int[] copia = Arrays.copyOf(datos, total);
+        Arrays.sort(copia);
+        int distintos = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || copia[i] != copia[i - 1]) {
+                copia[distintos++] = copia[i];
+            }
+        }
+        return Arrays.copyOf(copia, distintos);
+    }
+
+    private static boolean esNegadoTexto(String literal) {
+        return literal.startsWith("-") || literal.startsWith("¬");
+    }
+
+    private static int valorDeTexto(String literal) {
+        return Integer.parseInt(esNegadoTexto(literal) ? literal.substring(1) : literal);
+    }
+
+    private static int literalDeTexto(String literal, int[] valores) {
+        int v = Arrays.binarySearch(valores, valorDeTexto(literal));
+        return esNegadoTexto(literal) ? 2 * v + 1 : 2 * v;
+    }
+
+    //variable de un elemento de la relacion: -x es ¬x
+    static int valorDeElemento(int elemento) {
+        if (elemento == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("El elemento " + elemento + " no tiene negación representable");
+        }
+        return Math.abs(elemento);
+    }
+
+    private static int literalDeElemento(int elemento, int[] valores) {
+        int v = Arrays.binarySearch(valores, valorDeElemento(elemento));
+        return elemento < 0 ? 2 * v + 1 : 2 * v;
+    }
+
+}
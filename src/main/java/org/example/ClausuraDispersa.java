@@ -0,0 +1,252 @@
+package org.example;
+
+import java.util.*;
+
+public class ClausuraDispersa {
+
+    //clausura reflexiva-transitiva para relaciones grandes y poco densas, sin matriz n x n:
+    //1. se colapsan las componentes fuertemente conexas (todos sus elementos alcanzan lo mismo)
+    //2. se calcula la alcanzabilidad sobre la condensacion (un DAG) en orden topologico inverso,
+    //   guardando por componente un arreglo ordenado de componentes alcanzables (estilo Purdom/Nuutila)
+    //la memoria es proporcional a la clausura de la condensacion, no a n^2
+
+    final int[] valores;          // elemento original de cada indice (ascendente, igual que calcularClausura)
+    final int[] componente;       // componente de cada indice
+    final int[][] alcanzables;    // componentes alcanzables desde cada componente (ordenadas, incluye la propia)
+    final int[] inicioMiembros;   // indices agrupados por componente:
+    final int[] miembros;         // miembros[inicioMiembros[c] .. inicioMiembros[c+1])
+
+    private ClausuraDispersa(int[] valores, int[] componente, int[][] alcanzables, int[] inicioMiembros, int[] miembros) {
+        this.valores = valores;
+        this.componente = componente;
+        this.alcanzables = alcanzables;
+        this.inicioMiembros = inicioMiembros;
+        this.miembros = miembros;
+    }
+
+
+    //1. Construccion
+    public static ClausuraDispersa calcular(Set<Par> relacion) {
+        if (relacion instanceof RelacionPrimitiva primitiva) {
+            return calcular(primitiva);
+        }
+        int[] xs = new int[relacion.size()];
+        int[] ys = new int[relacion.size()];
+        int[] individuales = new int[relacion.size()];
+        int numPares = 0;
+        int numIndividuales = 0;
+
+        for (Par p : relacion) {
+            if (p.y == null) {
+                individuales[numIndividuales++] = p.x;
+            } else {
+                xs[numPares] = p.x;
+                ys[numPares] = p.y;
+                numPares++;
+            }
+        }
+        return calcular(xs, ys, numPares, individuales, numIndividuales);
+    }
+
+    //relacion primitiva: se copian sus pares a arreglos sin crear objetos Par
+    public static ClausuraDispersa calcular(RelacionPrimitiva relacion) {
+        int[] xs = new int[relacion.numPares()];
+        int[] ys = new int[relacion.numPares()];
+        int[] individuales = new int[relacion.numIndividuales()];
+        int numPares = relacion.copiarPares(xs, ys);
+        int numIndividuales = relacion.copiarIndividuales(individuales);
+        return calcular(xs, ys, numPares, individuales, numIndividuales);
+    }
+
+    //relacion en arreglos: pares (xs[i], ys[i]) e individuales (x)
+    public static ClausuraDispersa calcular(int[] xs, int[] ys, int numPares, int[] individuales, int numIndividuales) {
+        return calcular(xs, ys, numPares, individuales, numIndividuales, () -> { }, Long.MAX_VALUE);
+    }
+
+    //igual, llamando a 'verificar' cada 64 componentes de la propagacion (si lanza una excepcion el calculo
+    //se interrumpe con ella) y con a lo mas 'maximoAlcanzables' componentes alcanzables guardadas en total:
+    //al pasarlo se lanza IllegalStateException antes de reservar mas memoria (una cadena de n eslabones
+    //necesita unas n^2/2). ServidorRelaciones los usa para su presupuesto de tiempo y de memoria
+    public static ClausuraDispersa calcular(int[] xs, int[] ys, int numPares, int[] individuales, int numIndividuales,
+                                            Runnable verificar, long maximoAlcanzables) {
+
+        //indices de elementos: mismos que usa calcularClausura (ordenados ascendentemente)
+        int[] elementos = new int[2 * numPares + numIndividuales];
+        int total = 0;
+        for (int i = 0; i < numPares; i++) {
+            elementos[total++] = xs[i];
+            elementos[total++] = ys[i];
+        }
+        for (int i = 0; i < numIndividuales; i++) {
+            elementos[total++] = individuales[i];
+        }
+        Arrays.sort(elementos, 0, total);
+        int n = 0;
+        for (int i = 0; i < total; i++) {
+            if (n == 0 || elementos[i] != elementos[n - 1]) {
+                elementos[n++] = elementos[i];
+            }
+        }
+        int[] valores = Arrays.copyOf(elementos, n);
+
+        //adyacencia CSR sobre indices (los individuales solo aportan reflexividad, que ya es implicita)
+        int[] inicio = new int[n + 1];
+        int[] origen = new int[numPares];
+        int[] destino = new int[numPares];
+        for (int i = 0; i < numPares; i++) {
+            origen[i] = Arrays.binarySearch(valores, xs[i]);
+            destino[i] = Arrays.binarySearch(valores, ys[i]);
+            inicio[origen[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            inicio[u + 1] += inicio[u];
+        }
+        int[] sucesores = new int[numPares];
+        int[] posicion = Arrays.copyOf(inicio, n);
+        for (int i = 0; i < numPares; i++) {
+            sucesores[posicion[origen[i]]++] = destino[i];
+        }
+
+        ComponentesFuertes scc = ComponentesFuertes.calcular(n, inicio, sucesores);
+        int c = scc.cantidad();
+
+        //agrupar indices por componente
+        int[] inicioMiembros = new int[c + 1];
+        for (int u = 0; u < n; u++) {
+            inicioMiembros[scc.componente(u) + 1]++;
+        }
+        for (int k = 0; k < c; k++) {
+            inicioMiembros[k + 1] += inicioMiembros[k];
+        }
+        int[] miembros = new int[n];
+        int[] lugar = Arrays.copyOf(inicioMiembros, c);
+        for (int u = 0; u < n; u++) {
+            miembros[lugar[scc.componente(u)]++] = u;
+        }
+
+        //alcanzabilidad sobre la condensacion: Tarjan numera en orden topologico inverso,
+        //las aristas entre componentes van de mayor a menor y las sucesoras ya estan resueltas
+        int[][] alcanzables = new int[c][];
+        int[] marca = new int[c];
+        Arrays.fill(marca, -1);
+        int[] directas = new int[16];
+        int[] acumulado = new int[16];
+        long guardadas = 0;
+
+        for (int k = 0; k < c; k++) {
+            if ((k & 63) == 0) verificar.run();
+
+            //sucesoras directas distintas de k
+            int numDirectas = 0;
+            for (int m = inicioMiembros[k]; m < inicioMiembros[k + 1]; m++) {
+                int u = miembros[m];
+                for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+                    int d = scc.componente(sucesores[e]);
+                    if (d != k && marca[d] != k) {
+                        marca[d] = k;
+                        if (numDirectas == directas.length) directas = Arrays.copyOf(directas, 2 * numDirectas);
+                        directas[numDirectas++] = d;
+                    }
+                }
+            }
+
+            //en orden topologico (de mayor a menor): si una sucesora ya quedo incluida
+            //por otra anterior, todo lo que alcanza tambien, y se omite
+            Arrays.sort(directas, 0, numDirectas);
+            int numAcumulado = 0;
+            acumulado[numAcumulado++] = k;
+            int visita = c + k; // marca distinta de la usada para las directas
+            marca[k] = visita;
+            for (int i = numDirectas - 1; i >= 0; i--) {
+                int d = directas[i];
+                if (marca[d] == visita) continue;
+                for (int a : alcanzables[d]) {
+                    if (marca[a] != visita) {
+                        marca[a] = visita;
+                        if (numAcumulado == acumulado.length) acumulado = Arrays.copyOf(acumulado, 2 * numAcumulado);
+                        acumulado[numAcumulado++] = a;
+                    }
+                }
+            }
+
+            guardadas += numAcumulado;
+            if (guardadas > maximoAlcanzables) {
+                throw new IllegalStateException("La clausura dispersa supera " + maximoAlcanzables
+                        + " componentes alcanzables guardadas");
+            }
+            int[] conjunto = Arrays.copyOf(acumulado, numAcumulado);
+            Arrays.sort(conjunto);
+            alcanzables[k] = conjunto;
+        }
+
+        return new ClausuraDispersa(valores, scc.componente, alcanzables, inicioMiembros, miembros);
+    }
+
+
+    //2. Consultas
+    public int numElementos() {
+        return valores.length;
+    }
+
+    //elemento original del indice i
+    public int valor(int i) {
+        return valores[i];
+    }
+
+    //indice del elemento, o -1 si no esta en la relacion
+    public int indiceDe(int valor) {
+        int i = Arrays.binarySearch(valores, valor);
+        return i >= 0 ? i : -1;
+    }
+
+    //(x,y) pertenece a la clausura
+    public boolean alcanza(int x, int y) {
+        int i = indiceDe(x);
+        int j = indiceDe(y);
+        if (i < 0 || j < 0) return false;
+        return Arrays.binarySearch(alcanzables[componente[i]], componente[j]) >= 0;
+    }
+
+    //indices alcanzables desde el indice i (incluido), en orden ascendente
+    public int[] alcanzablesDesde(int i) {
+        int[] componentes = alcanzables[componente[i]];
+        int total = 0;
+        for (int d : componentes) {
+            total += inicioMiembros[d + 1] - inicioMiembros[d];
+        }
+        int[] resultado = new int[total];
+        total = 0;
+        for (int d : componentes) {
+            for (int m = inicioMiembros[d]; m < inicioMiembros[d + 1]; m++) {
+                resultado[total++] = miembros[m];
+            }
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    //numero de pares de la clausura, sin enumerarlos
+    public long cardinalidad() {
+        long total = 0;
+        for (int k = 0; k < alcanzables.length; k++) {
+            long alcance = 0;
+            for (int d : alcanzables[k]) {
+                alcance += inicioMiembros[d + 1] - inicioMiembros[d];
+            }
+            total += alcance * (inicioMiembros[k + 1] - inicioMiembros[k]);
+        }
+        return total;
+    }
+
+    //clausura como conjunto de pares (mismo resultado que calcularClausura)
+    public Set<Par> aPares() {
+        Set<Par> pares = new HashSet<>();
+        for (int i = 0; i < valores.length; i++) {
+            for (int j : alcanzablesDesde(i)) {
+                pares.add(new Par(valores[i], valores[j]));
+            }
+        }
+        return pares;
+    }
+
+}
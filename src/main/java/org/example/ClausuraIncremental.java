@@ -0,0 +1,424 @@
+package org.example;
+
+import java.util.*;
+
+public class ClausuraIncremental {
+
+    //clausura reflexiva-transitiva que se mantiene al insertar y quitar pares, sin recalcular la matriz completa
+    //al agregar (x,y): todo el que alcanza a x pasa a alcanzar todo lo que alcanza y (estilo Italiano)
+    //al quitar (x,y): solo pueden cambiar las filas de quienes alcanzaban a x; se recalculan solo esas
+    //
+    //se guardan la matriz por filas (a quien alcanza i) y su transpuesta por columnas (quien alcanza a j),
+    //asi los que alcanzan a x se leen de una columna y cada insercion cuesta del orden de
+    //(filas que cambian) * n/64 + celdas nuevas, en vez de O(n^3)
+    //
+    //los indices son los mismos de calcularClausura (elementos iniciales ordenados ascendentemente);
+    //los elementos agregados despues toman el siguiente indice libre. Un elemento que ya no aparece
+    //en ningun par conserva su indice pero deja de estar en la clausura, igual que en calcularClausura
+
+    private final List<Integer> elementos;
+    private final Map<Integer, Integer> elementoAIndice;
+    private MatrizBits filas;      // filas.get(i, j): i alcanza a j
+    private MatrizBits columnas;   // columnas.get(j, i): i alcanza a j
+    private long celdas;           // celdas activas en 'filas' (incluye la diagonal de elementos ausentes)
+
+    //relacion actual: aristas (i,j) por listas de sucesores y pares individuales (i)
+    private int[][] sucesores;
+    private int[] numSucesores;
+    private boolean[] individual;
+    private int[] usos;            // pares de la relacion en los que aparece cada elemento
+    private int presentes;         // elementos con usos > 0
+
+    private ClausuraIncremental(List<Integer> elementos, MatrizBits filas) {
+        this.elementos = elementos;
+        this.elementoAIndice = new HashMap<>();
+        for (int i = 0; i < elementos.size(); i++) {
+            elementoAIndice.put(elementos.get(i), i);
+        }
+        this.filas = filas;
+        this.columnas = new MatrizBits(filas.tamano());
+        this.sucesores = new int[filas.tamano()][];
+        this.numSucesores = new int[filas.tamano()];
+        this.individual = new boolean[filas.tamano()];
+        this.usos = new int[filas.tamano()];
+
+        //transpuesta y conteo a partir de las filas ya cerradas
+        for (int i = 0; i < elementos.size(); i++) {
+            long[] fila = filas.fila(i);
+            for (int w = 0; w < fila.length; w++) {
+                long palabra = fila[w];
+                while (palabra != 0) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                    columnas.set(j, i);
+                    celdas++;
+                    palabra &= palabra - 1;
+                }
+            }
+        }
+    }
+
+
+    //1. Construccion
+    //clausura inicial de la relacion (Warshall una sola vez); despues se actualiza por insercion y borrado
+    public static ClausuraIncremental calcular(Set<Par> relacion) {
+        List<Integer> listaElementos = ClausuraTransitivaReflexiva.ordenarElementos(relacion);
+        MatrizBits A = ClausuraTransitivaReflexiva.construirMatriz(relacion, listaElementos);
+
+        //se reserva capacidad para que las primeras inserciones de elementos no obliguen a copiar
+        MatrizBits R = new MatrizBits(capacidadPara(listaElementos.size()));
+        for (int i = 0; i < A.tamano(); i++) {
+            System.arraycopy(A.fila(i), 0, R.fila(i), 0, A.palabras);
+            R.set(i, i); // Reflexividad garantizada
+        }
+        cerrarPrefijo(R, A.tamano());
+
+        //la matriz ya esta cerrada: solo se registra la relacion
+        ClausuraIncremental clausura = new ClausuraIncremental(new ArrayList<>(listaElementos), R);
+        for (Par p : relacion) {
+            int i = clausura.elementoAIndice.get(p.x);
+            if (p.y == null) {
+                clausura.individual[i] = true;
+                clausura.usar(i);
+            } else {
+                int j = clausura.elementoAIndice.get(p.y);
+                clausura.registrarArista(i, j);
+            }
+        }
+        return clausura;
+    }
+
+    //clausura vacia a la que se le agregan elementos y pares
+    public static ClausuraIncremental vacia() {
+        return new ClausuraIncremental(new ArrayList<>(), new MatrizBits(64));
+    }
+
+    private static int capacidadPara(int n) {
+        int capacidad = 64;
+        while (capacidad < n) {
+            capacidad *= 2;
+        }
+        return capacidad;
+    }
+
+    //Warshall sobre las primeras n filas (las demas estan vacias y no aportan)
+    private static void cerrarPrefijo(MatrizBits R, int n) {
+        for (int k = 0; k < n; k++) {
+            long[] filaK = R.fila(k);
+            for (int i = 0; i < n; i++) {
+                MatrizBits.orSiAlcanza(R.fila(i), filaK, k);
+            }
+        }
+    }
+
+
+    //2. Insercion
+    //agrega el par individual (x); devuelve false si ya estaba
+    public boolean agregarElemento(int x) {
+        int i = indice(x);
+        if (individual[i]) {
+            return false;
+        }
+        individual[i] = true;
+        usar(i);
+        return true;
+    }
+
+    //agrega el par (x,y), creando los elementos que falten
+    //devuelve el numero de pares nuevos en la clausura
+    public long agregarPar(int x, int y) {
+        int i = indice(x);
+        int j = indice(y);
+        long antes = cardinalidad();
+        if (!registrarArista(i, j) || filas.get(i, j)) {
+            return cardinalidad() - antes;
+        }
+
+        //fuentes: quienes alcanzan a x (incluido x) y todavia no alcanzan a y;
+        //los que ya alcanzaban a y ya tenian todo lo que y alcanza
+        long[] alcanzanX = columnas.fila(i);
+        long[] alcanzanY = columnas.fila(j);
+        long[] fuentes = new long[alcanzanX.length];
+        int[] palabrasFuente = new int[alcanzanX.length]; // palabras de 'fuentes' distintas de cero
+        int numPalabrasFuente = 0;
+        for (int w = 0; w < fuentes.length; w++) {
+            fuentes[w] = alcanzanX[w] & ~alcanzanY[w];
+            if (fuentes[w] != 0) {
+                palabrasFuente[numPalabrasFuente++] = w;
+            }
+        }
+
+        //destinos: lo que alcanza y (incluido y); la fila j no cambia porque j no es fuente
+        long[] destinos = filas.fila(j);
+
+        for (int p = 0; p < numPalabrasFuente; p++) {
+            int w = palabrasFuente[p];
+            long palabra = fuentes[w];
+            while (palabra != 0) {
+                int u = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                long[] filaU = filas.fila(u);
+                for (int v = 0; v < filaU.length; v++) {
+                    long agregados = destinos[v] & ~filaU[v];
+                    if (agregados == 0) continue;
+                    filaU[v] |= agregados;
+                    celdas += Long.bitCount(agregados);
+
+                    //mantener la transpuesta: cada destino nuevo ahora es alcanzado por u
+                    while (agregados != 0) {
+                        columnas.set((v << 6) + Long.numberOfTrailingZeros(agregados), u);
+                        agregados &= agregados - 1;
+                    }
+                }
+                palabra &= palabra - 1;
+            }
+        }
+
+        return cardinalidad() - antes;
+    }
+
+    //agrega un par de la relacion: (x,y) o el individual (x)
+    public long agregarPar(Par par) {
+        if (par.y == null) {
+            long antes = cardinalidad();
+            agregarElemento(par.x);
+            return cardinalidad() - antes;
+        }
+        return agregarPar(par.x, par.y);
+    }
+
+
+    //3. Borrado
+    //quita el par individual (x); devuelve false si no estaba
+    public boolean eliminarElemento(int x) {
+        Integer i = elementoAIndice.get(x);
+        if (i == null || !individual[i]) {
+            return false;
+        }
+        individual[i] = false;
+        soltar(i);
+        return true;
+    }
+
+    //quita el par (x,y) de la relacion y devuelve el numero de pares que salen de la clausura
+    //el resultado es el mismo que el de calcularClausura sobre la relacion reducida
+    public long eliminarPar(int x, int y) {
+        Integer i = elementoAIndice.get(x);
+        Integer j = elementoAIndice.get(y);
+        if (i == null || j == null || !quitarArista(i, j)) {
+            return 0;
+        }
+
+        long antes = cardinalidad();
+        if (!i.equals(j)) {
+            recalcularAfectados(i, j);
+        }
+        soltar(i);
+        if (!i.equals(j)) {
+            soltar(j);
+        }
+        return antes - cardinalidad();
+    }
+
+    //quita un par de la relacion: (x,y) o el individual (x)
+    public long eliminarPar(Par par) {
+        if (par.y == null) {
+            long antes = cardinalidad();
+            eliminarElemento(par.x);
+            return antes - cardinalidad();
+        }
+        return eliminarPar(par.x, par.y);
+    }
+
+    //tras quitar la arista x → y solo pueden perder alcance quienes alcanzaban a x;
+    //los demas nunca usaron esa arista y sus filas siguen siendo validas
+    private void recalcularAfectados(int x, int y) {
+        long[] pendientes = columnas.fila(x).clone();
+        long[] nueva = new long[filas.palabras];
+        int[] pila = new int[elementos.size()];
+
+        //si x todavia alcanza a y por otro camino, ninguna fila cambia
+        recorrer(x, pendientes, nueva, pila);
+        if ((nueva[y >>> 6] & (1L << y)) != 0) {
+            return;
+        }
+        reemplazarFila(x, nueva);
+        pendientes[x >>> 6] &= ~(1L << x);
+
+        for (int w = 0; w < pendientes.length; w++) {
+            while (pendientes[w] != 0) {
+                int u = (w << 6) + Long.numberOfTrailingZeros(pendientes[w]);
+                recorrer(u, pendientes, nueva, pila);
+                reemplazarFila(u, nueva);
+                pendientes[w] &= ~(1L << u);
+            }
+        }
+    }
+
+    //alcanzables desde u en la relacion actual, dejados en 'nueva'
+    //solo se expanden los nodos pendientes; de un nodo no afectado o ya recalculado
+    //se toma su fila completa, que ya es la definitiva
+    private void recorrer(int u, long[] pendientes, long[] nueva, int[] pila) {
+        Arrays.fill(nueva, 0);
+        nueva[u >>> 6] |= 1L << u;
+        int tope = 0;
+        pila[tope++] = u;
+
+        while (tope > 0) {
+            int w = pila[--tope];
+            for (int k = 0; k < numSucesores[w]; k++) {
+                int s = sucesores[w][k];
+                //si s ya esta, o se expandio o entro por la fila de alguien que lo alcanza
+                if ((nueva[s >>> 6] & (1L << s)) != 0) continue;
+
+                if ((pendientes[s >>> 6] & (1L << s)) != 0) {
+                    nueva[s >>> 6] |= 1L << s;
+                    pila[tope++] = s;
+                } else {
+                    long[] filaS = filas.fila(s);
+                    for (int v = 0; v < nueva.length; v++) {
+                        nueva[v] |= filaS[v];
+                    }
+                }
+            }
+        }
+    }
+
+    //reemplaza la fila u por 'nueva' (que solo puede tener menos celdas) y ajusta la transpuesta
+    private void reemplazarFila(int u, long[] nueva) {
+        long[] filaU = filas.fila(u);
+        for (int v = 0; v < filaU.length; v++) {
+            long quitados = filaU[v] & ~nueva[v];
+            if (quitados == 0) continue;
+            filaU[v] = nueva[v];
+            celdas -= Long.bitCount(quitados);
+            while (quitados != 0) {
+                columnas.quitar((v << 6) + Long.numberOfTrailingZeros(quitados), u);
+                quitados &= quitados - 1;
+            }
+        }
+    }
+
+
+    //4. Relacion
+    //registra la arista i → j; devuelve false si ya estaba
+    private boolean registrarArista(int i, int j) {
+        for (int k = 0; k < numSucesores[i]; k++) {
+            if (sucesores[i][k] == j) {
+                return false;
+            }
+        }
+        if (sucesores[i] == null) {
+            sucesores[i] = new int[4];
+        } else if (numSucesores[i] == sucesores[i].length) {
+            sucesores[i] = Arrays.copyOf(sucesores[i], 2 * numSucesores[i]);
+        }
+        sucesores[i][numSucesores[i]++] = j;
+        usar(i);
+        if (i != j) {
+            usar(j);
+        }
+        return true;
+    }
+
+    //quita la arista i → j de las listas; devuelve false si no estaba
+    private boolean quitarArista(int i, int j) {
+        for (int k = 0; k < numSucesores[i]; k++) {
+            if (sucesores[i][k] == j) {
+                sucesores[i][k] = sucesores[i][--numSucesores[i]];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void usar(int i) {
+        if (usos[i]++ == 0) {
+            presentes++;
+        }
+    }
+
+    private void soltar(int i) {
+        if (--usos[i] == 0) {
+            presentes--;
+        }
+    }
+
+    //indice del elemento, creandolo (con su par reflexivo) si no existe
+    private int indice(int x) {
+        Integer existente = elementoAIndice.get(x);
+        if (existente != null) {
+            return existente;
+        }
+
+        int i = elementos.size();
+        if (i == filas.tamano()) {
+            ampliar();
+        }
+        elementos.add(x);
+        elementoAIndice.put(x, i);
+        filas.set(i, i);
+        columnas.set(i, i);
+        celdas++;
+        return i;
+    }
+
+    //duplica la capacidad de las matrices y de la relacion conservando su contenido
+    private void ampliar() {
+        int n = elementos.size();
+        int capacidad = 2 * filas.tamano();
+        MatrizBits nuevasFilas = new MatrizBits(capacidad);
+        MatrizBits nuevasColumnas = new MatrizBits(capacidad);
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(filas.fila(i), 0, nuevasFilas.fila(i), 0, filas.palabras);
+            System.arraycopy(columnas.fila(i), 0, nuevasColumnas.fila(i), 0, columnas.palabras);
+        }
+        filas = nuevasFilas;
+        columnas = nuevasColumnas;
+        sucesores = Arrays.copyOf(sucesores, capacidad);
+        numSucesores = Arrays.copyOf(numSucesores, capacidad);
+        individual = Arrays.copyOf(individual, capacidad);
+        usos = Arrays.copyOf(usos, capacidad);
+    }
+
+
+    //5. Consultas (O(1) entre actualizaciones)
+    public int numElementos() {
+        return presentes;
+    }
+
+    public boolean contieneElemento(int x) {
+        Integer i = elementoAIndice.get(x);
+        return i != null && usos[i] > 0;
+    }
+
+    //(x,y) pertenece a la clausura
+    public boolean alcanza(int x, int y) {
+        Integer i = elementoAIndice.get(x);
+        Integer j = elementoAIndice.get(y);
+        return i != null && j != null && usos[i] > 0 && usos[j] > 0 && filas.get(i, j);
+    }
+
+    //numero de pares de la clausura
+    public long cardinalidad() {
+        //los elementos ausentes solo conservan su celda diagonal
+        return celdas - (elementos.size() - presentes);
+    }
+
+    //clausura como conjunto de pares (mismo resultado que calcularClausura sobre la relacion actual)
+    public Set<Par> aPares() {
+        Set<Par> pares = new HashSet<>();
+        for (int i = 0; i < elementos.size(); i++) {
+            if (usos[i] == 0) continue;
+            long[] fila = filas.fila(i);
+            for (int w = 0; w < fila.length; w++) {
+                long palabra = fila[w];
+                while (palabra != 0) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                    pares.add(new Par(elementos.get(i), elementos.get(j)));
+                    palabra &= palabra - 1;
+                }
+            }
+        }
+        return pares;
+    }
+
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import java.util.*;
+
+public class ClausuraRelacion extends AbstractSet<Par> {
+
+    //resultado de calcularClausura servido directamente desde la matriz de bits:
+    //alcanza, sucesores, predecesores y cardinalidad sin crear objetos, y una vista Set<Par> de solo lectura
+    //cuyos pares se crean al recorrerla (nunca se guarda el conjunto completo)
+    //
+    //la matriz no se modifica despues de construir el resultado
+
+    private final int[] valores;       // elemento original de cada indice (ascendentes)
+    private final MatrizBits matriz;
+    private long cardinalidad = -1;    // se cuenta la primera vez que se pide
+
+    ClausuraRelacion(int[] valores, MatrizBits matriz) {
+        this.valores = valores;
+        this.matriz = matriz;
+    }
+
+    static ClausuraRelacion vacia() {
+        return new ClausuraRelacion(new int[0], new MatrizBits(0));
+    }
+
+    //para recorrer las filas sin copiarlas; no se debe modificar
+    MatrizBits matriz() {
+        return matriz;
+    }
+
+
+    //1. Consultas
+    public int numElementos() {
+        return valores.length;
+    }
+
+    //elemento original del indice i
+    public int valor(int i) {
+        return valores[i];
+    }
+
+    //indice del elemento, o -1 si no esta en la relacion
+    public int indiceDe(int x) {
+        int i = Arrays.binarySearch(valores, x);
+        return i >= 0 ? i : -1;
+    }
+
+    //(x,y) pertenece a la clausura
+    public boolean alcanza(int x, int y) {
+        int i = indiceDe(x);
+        int j = indiceDe(y);
+        return i >= 0 && j >= 0 && matriz.get(i, j);
+    }
+
+    //numero de pares de la clausura
+    public long cardinalidad() {
+        if (cardinalidad < 0) {
+            cardinalidad = matriz.contarUnos();
+        }
+        return cardinalidad;
+    }
+
+    //elementos que alcanza x (incluido x), en orden ascendente
+    public PrimitiveIterator.OfInt sucesores(int x) {
+        int i = indiceDe(x);
+        if (i < 0) {
+            return vacio();
+        }
+        long[] fila = matriz.fila(i);
+        return new PrimitiveIterator.OfInt() {
+            int w = 0;
+            long palabra = fila.length > 0 ? fila[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                while (palabra == 0 && w + 1 < fila.length) {
+                    palabra = fila[++w];
+                }
+                return palabra != 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int j = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                palabra &= palabra - 1;
+                return valores[j];
+            }
+        };
+    }
+
+    //elementos que alcanzan a y (incluido y), en orden ascendente; recorre la columna de y
+    public PrimitiveIterator.OfInt predecesores(int y) {
+        int j = indiceDe(y);
+        if (j < 0) {
+            return vacio();
+        }
+        return new PrimitiveIterator.OfInt() {
+            int i = siguiente(0);
+
+            private int siguiente(int desde) {
+                while (desde < valores.length && !matriz.get(desde, j)) {
+                    desde++;
+                }
+                return desde;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return i < valores.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int actual = i;
+                i = siguiente(i + 1);
+                return valores[actual];
+            }
+        };
+    }
+
+    private static PrimitiveIterator.OfInt vacio() {
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return false;
+            }
+
+            @Override
+            public int nextInt() {
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+
+    //2. Vista Set<Par> de solo lectura (add/remove lanzan UnsupportedOperationException)
+    @Override
+    public int size() {
+        return (int) Math.min(cardinalidad(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return valores.length == 0; // todo elemento tiene al menos su par reflexivo
+    }
+
+    //la clausura solo tiene pares (x,y); un Par individual (x) nunca pertenece
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Par p) || p.x == null || p.y == null) {
+            return false;
+        }
+        return alcanza(p.x, p.y);
+    }
+
+    //recorre los bits activos por filas y crea cada Par al pedirlo
+    @Override
+    public Iterator<Par> iterator() {
+        return new Iterator<>() {
+            int i = 0;
+            int w = 0;
+            long palabra = valores.length > 0 ? matriz.fila(0)[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                while (palabra == 0) {
+                    if (i >= valores.length) {
+                        return false;
+                    }
+                    if (++w == matriz.palabras) {
+                        w = 0;
+                        if (++i >= valores.length) {
+                            return false;
+                        }
+                    }
+                    palabra = matriz.fila(i)[w];
+                }
+                return true;
+            }
+
+            @Override
+            public Par next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int j = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                palabra &= palabra - 1;
+                return new Par(valores[i], valores[j]);
+            }
+        };
+    }
+
+}
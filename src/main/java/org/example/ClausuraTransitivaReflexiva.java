@@ -5,6 +5,8 @@ import org.graphstream.graph.*;
 import org.graphstream.graph.implementations.*;
 import org.graphstream.ui.view.Viewer;
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Set;
 
 public class ClausuraTransitivaReflexiva {
@@ -15,7 +17,7 @@ public class ClausuraTransitivaReflexiva {
 
         //conjunto
         Set<Integer> conjunto = new HashSet<>();
-        Set<Par> relacion = new HashSet<>();
+        RelacionPrimitiva relacion = new RelacionPrimitiva();
         int opc = 0;
 
         do{
@@ -192,13 +194,134 @@ public class ClausuraTransitivaReflexiva {
         in.close();
     }
 
-    public static Set<Par> calcularClausura(Set<Par> relacion) {
+    public static ClausuraRelacion calcularClausura(Set<Par> relacion) {
+        return calcularClausura(relacion, new TrazaConsola(NivelTraza.PASO));
+    }
+
+    //calcula la clausura reportando el proceso a la traza indicada
+    //el resultado se sirve desde la matriz: los pares se crean solo si se recorre como Set<Par>
+    public static ClausuraRelacion calcularClausura(Set<Par> relacion, EscuchaTraza traza) {
 
         if (relacion.isEmpty()) {
-            return new HashSet<>();
+            return ClausuraRelacion.vacia();
+        }
+
+        List<Integer> listaElementos = ordenarElementos(relacion);
+        MatrizBits A = construirMatriz(relacion, listaElementos);
+
+        //mostrar matriz inicial
+        if (traza.activo(NivelTraza.PASO)) {
+            traza.mensaje(NivelTraza.PASO, "\n=====================================================");
+            traza.mensaje(NivelTraza.PASO, "=== MATRIZ INICIAL ===");
+            traza.mensaje(NivelTraza.PASO, textoMatriz(A, listaElementos));
+        }
+
+        //Warshall mejorado con mensajes de progreso
+        MatrizBits clausuraMatriz = calcularClausuraWarshallMejorado(A, listaElementos, traza);
+
+        //mostrar matriz resultante
+        if (traza.activo(NivelTraza.PASO)) {
+            traza.mensaje(NivelTraza.PASO, "\n=== MATRIZ CLAUSURA ===");
+            traza.mensaje(NivelTraza.PASO, textoMatriz(clausuraMatriz, listaElementos));
+        }
+
+        ClausuraRelacion clausura = new ClausuraRelacion(aValores(listaElementos), clausuraMatriz);
+
+        if (traza.activo(NivelTraza.RESUMEN)) {
+            traza.mensaje(NivelTraza.RESUMEN, "Clausura reflexiva-transitiva: " + clausura.cardinalidad() +
+                    " pares sobre " + listaElementos.size() + " elementos");
+            traza.mensaje(NivelTraza.RESUMEN, "=====================================================\n");
+        }
+        return clausura;
+    }
+
+    //misma clausura que calcularClausura (sin traza) para una relacion dada en arreglos;
+    //'elementos' son los de elementosOrdenados, el indice de cada uno es su fila
+    static ClausuraRelacion calcularClausura(int[] elementos, int[] xs, int[] ys, int numPares) {
+        int n = elementos.length;
+        MatrizBits R = new MatrizBits(n);
+        for (int i = 0; i < numPares; i++) {
+            R.set(Arrays.binarySearch(elementos, xs[i]), Arrays.binarySearch(elementos, ys[i]));
+        }
+        for (int i = 0; i < n; i++) {
+            R.set(i, i); // reflexividad
+        }
+        R.cerrarTransitivamente();
+        return new ClausuraRelacion(elementos, R);
+    }
+
+    //elementos distintos y ordenados de una relacion dada en arreglos, como ordenarElementos
+    //(aqui -x y x son elementos distintos, no un literal y su negacion)
+    static int[] elementosOrdenados(int[] xs, int[] ys, int numPares, int[] individuales, int numIndividuales) {
+        int[] elementos = new int[2 * numPares + numIndividuales];
+        int total = 0;
+        for (int i = 0; i < numPares; i++) {
+            elementos[total++] = xs[i];
+            elementos[total++] = ys[i];
+        }
+        System.arraycopy(individuales, 0, elementos, total, numIndividuales);
+        total += numIndividuales;
+        Arrays.sort(elementos, 0, total);
+        int distintos = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || elementos[i] != elementos[i - 1]) {
+                elementos[distintos++] = elementos[i];
+            }
+        }
+        return Arrays.copyOf(elementos, distintos);
+    }
+
+    //misma clausura que calcularClausura, repartiendo las filas de cada iteracion de Warshall
+    //entre 'paralelismo' hilos y sin mensajes por celda
+    public static ClausuraRelacion calcularClausuraParalela(Set<Par> relacion, int paralelismo) {
+
+        if (relacion.isEmpty()) {
+            return ClausuraRelacion.vacia();
+        }
+
+        List<Integer> listaElementos = ordenarElementos(relacion);
+        MatrizBits R = construirMatriz(relacion, listaElementos);
+        for (int i = 0; i < R.tamano(); i++) {
+            R.set(i, i); // Reflexividad garantizada
+        }
+
+        WarshallParalelo.cerrar(R, paralelismo);
+
+        return new ClausuraRelacion(aValores(listaElementos), R);
+    }
+
+    //misma clausura que calcularClausura para relaciones grandes y poco densas:
+    //colapsa componentes fuertemente conexas y propaga sobre la condensacion, sin matriz n x n
+    public static Set<Par> calcularClausuraDispersa(Set<Par> relacion) {
+        return ClausuraDispersa.calcular(relacion).aPares();
+    }
+
+    //misma clausura que calcularClausura con la matriz fuera del heap: en memoria nativa si archivo es null,
+    //o mapeada en el archivo (que despues se puede reabrir con MatrizSegmento.abrir); hay que cerrarla al terminar
+    public static MatrizSegmento calcularClausuraFueraDelHeap(Set<Par> relacion, Path archivo) throws IOException {
+
+        int[] valores = aValores(ordenarElementos(relacion));
+
+        MatrizSegmento R = archivo == null ? MatrizSegmento.enMemoria(valores) : MatrizSegmento.enArchivo(archivo, valores);
+        for (Par p : relacion) {
+            int i = Arrays.binarySearch(valores, p.x);
+            if (p.y != null) {
+                R.set(i, Arrays.binarySearch(valores, p.y));
+            }
+        }
+        for (int i = 0; i < valores.length; i++) {
+            R.set(i, i); // Reflexividad garantizada
         }
 
-        //recolectar elementos
+        R.cerrarTransitivamente();
+        return R;
+    }
+
+    //recolecta los elementos de la relacion ordenados; el indice en la lista es la fila/columna de la matriz
+    static List<Integer> ordenarElementos(Set<Par> relacion) {
+        if (relacion instanceof RelacionPrimitiva primitiva) {
+            return ordenarElementos(primitiva);
+        }
         Set<Integer> elementos = new HashSet<>();
         for (Par p : relacion) {
             elementos.add(p.x);
@@ -209,119 +332,168 @@ public class ClausuraTransitivaReflexiva {
 
         List<Integer> listaElementos = new ArrayList<>(elementos);
         Collections.sort(listaElementos);
+        return listaElementos;
+    }
+
+    //sin conjunto intermedio de Integer: extremos de todos los pares ordenados y sin repetidos
+    private static List<Integer> ordenarElementos(RelacionPrimitiva relacion) {
+        int[] elementos = new int[2 * relacion.numPares() + relacion.numIndividuales()];
+        int[] total = {0};
+        relacion.paraCadaPar((x, y) -> {
+            elementos[total[0]++] = x;
+            elementos[total[0]++] = y;
+        });
+        relacion.paraCadaIndividual(x -> elementos[total[0]++] = x);
+
+        Arrays.sort(elementos);
+        List<Integer> listaElementos = new ArrayList<>();
+        for (int i = 0; i < elementos.length; i++) {
+            if (i == 0 || elementos[i] != elementos[i - 1]) {
+                listaElementos.add(elementos[i]);
+            }
+        }
+        return listaElementos;
+    }
+
+    //construye la matriz inicial de la relacion (incluye los pares reflexivos individuales)
+    static MatrizBits construirMatriz(Set<Par> relacion, List<Integer> listaElementos) {
+        if (relacion instanceof RelacionPrimitiva primitiva) {
+            return construirMatriz(primitiva, aValores(listaElementos));
+        }
         Map<Integer, Integer> elementoAIndice = new HashMap<>();
         for (int i = 0; i < listaElementos.size(); i++) {
             elementoAIndice.put(listaElementos.get(i), i);
         }
 
-        int n = listaElementos.size();
-        boolean[][] A = new boolean[n][n];
+        MatrizBits A = new MatrizBits(listaElementos.size());
 
-        // construir matriz inicial incluyendo reflexividad
         for (Par p : relacion) {
             if (p.y != null) {
                 //par normal (x,y)
                 int i = elementoAIndice.get(p.x);
                 int j = elementoAIndice.get(p.y);
-                A[i][j] = true;
+                A.set(i, j);
             } else {
                 //par reflexivo individual (x) - representa (x,x)
                 int i = elementoAIndice.get(p.x);
-                A[i][i] = true;  // ← ¡IMPORTANTE! No olvidar esto
+                A.set(i, i);  // ← ¡IMPORTANTE! No olvidar esto
             }
         }
+        return A;
+    }
 
-        //mostrar matriz inicial
-        System.out.println("\n=====================================================");
-        System.out.println("=== MATRIZ INICIAL ===");
-        mostrarMatriz(A, listaElementos);
-
-        //Warshall mejorado con mensajes de progreso
-        boolean[][] clausuraMatriz = calcularClausuraWarshallMejorado(A, listaElementos);
-
-        //mostrar matriz resultante
-        System.out.println("\n=== MATRIZ CLAUSURA ===");
-        mostrarMatriz(clausuraMatriz, listaElementos);
+    //los indices salen por busqueda binaria sobre los valores ordenados, sin mapa de Integer
+    private static MatrizBits construirMatriz(RelacionPrimitiva relacion, int[] valores) {
+        MatrizBits A = new MatrizBits(valores.length);
+        relacion.paraCadaPar((x, y) -> A.set(Arrays.binarySearch(valores, x), Arrays.binarySearch(valores, y)));
+        relacion.paraCadaIndividual(x -> {
+            int i = Arrays.binarySearch(valores, x);
+            A.set(i, i);
+        });
+        return A;
+    }
 
-        //convertir a conjunto de pares - CORRECTO
-        Set<Par> clausura = new HashSet<>();
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (clausuraMatriz[i][j]) {
-                    clausura.add(new Par(listaElementos.get(i), listaElementos.get(j)));
-                }
-            }
+    //elementos ordenados como arreglo primitivo (indice = fila/columna)
+    private static int[] aValores(List<Integer> listaElementos) {
+        int[] valores = new int[listaElementos.size()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = listaElementos.get(i);
         }
-
-        System.out.println("=====================================================\n");
-        return clausura;
+        return valores;
     }
 
-    private static boolean[][] calcularClausuraWarshallMejorado(boolean[][] A, List<Integer> elementos) {
+    //Warshall sobre filas empaquetadas en long: con k fijo, si R[i][k] entonces fila_i |= fila_k (64 columnas por palabra)
+    //los mensajes por iteracion y por celda solo se construyen con la traza en PASO
+    private static MatrizBits calcularClausuraWarshallMejorado(MatrizBits A, List<Integer> elementos, EscuchaTraza traza) {
 
-        int n = A.length;
-        boolean[][] R = new boolean[n][n];
+        int n = A.tamano();
+        boolean pasos = traza.activo(NivelTraza.PASO);
 
         //paso 1: Inicializar matriz R (copia de A + diagonal reflexiva)
+        MatrizBits R = A.copia();
         for (int i = 0; i < n; i++) {
-            System.arraycopy(A[i], 0, R[i], 0, n);
-            R[i][i] = true; // Reflexividad garantizada
+            R.set(i, i); // Reflexividad garantizada
+        }
+
+        if (!pasos) {
+            //sin traza detallada: nucleo sin mensajes
+            R.cerrarTransitivamente();
+            return R;
         }
 
-        System.out.println("\n--- PROCESO WARSHALL ---");
+        traza.mensaje(NivelTraza.PASO, "\n--- PROCESO WARSHALL ---");
 
         //paso 2: Algoritmo de Warshall
         for (int k = 0; k < n; k++) {
-            System.out.println("Iteración k = " + k + " (elemento: " + elementos.get(k) + ")");
+            traza.mensaje(NivelTraza.PASO, "Iteración k = " + k + " (elemento: " + elementos.get(k) + ")");
             int cambios = 0;
+            long[] filaK = R.fila(k);
 
             for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    if (!R[i][j] && R[i][k] && R[k][j]) {
-                        R[i][j] = true;
-                        cambios++;
-                        System.out.println("  + R[" + i + "][" + j + "] = true (" +
+                if (!R.get(i, k)) continue;
+                long[] filaI = R.fila(i);
+
+                for (int w = 0; w < filaI.length; w++) {
+                    long agregados = filaK[w] & ~filaI[w];
+                    if (agregados == 0) continue;
+                    filaI[w] |= agregados;
+                    cambios += Long.bitCount(agregados);
+
+                    while (agregados != 0) {
+                        int j = (w << 6) + Long.numberOfTrailingZeros(agregados);
+                        traza.mensaje(NivelTraza.PASO, "  + R[" + i + "][" + j + "] = true (" +
                                 elementos.get(i) + " → " + elementos.get(k) + " → " + elementos.get(j) + ")");
+                        agregados &= agregados - 1;
                     }
                 }
             }
 
-            System.out.println("  Cambios en iteración " + k + ": " + cambios);
+            traza.mensaje(NivelTraza.PASO, "  Cambios en iteración " + k + ": " + cambios);
 
             //mostrar matriz intermedia (opcional, para n pequeños)
             if (n <= 6) {
-                System.out.println("  Matriz intermedia:");
+                StringBuilder texto = new StringBuilder("  Matriz intermedia:");
                 for (int i = 0; i < n; i++) {
-                    System.out.print("    ");
+                    texto.append("\n    ");
                     for (int j = 0; j < n; j++) {
-                        System.out.print(R[i][j] ? "1 " : "0 ");
+                        texto.append(R.get(i, j) ? "1 " : "0 ");
                     }
-                    System.out.println();
                 }
+                traza.mensaje(NivelTraza.PASO, texto.toString());
             }
         }
-        System.out.println("\n");
+        traza.mensaje(NivelTraza.PASO, "\n");
         return R;
     }
 
-    private static void mostrarMatriz(boolean[][] matriz, List<Integer> elementos) {
+    //matriz con encabezados de elementos, lista para mostrar
+    private static String textoMatriz(MatrizBits matriz, List<Integer> elementos) {
 
-        System.out.print("    ");
+        StringBuilder texto = new StringBuilder("    ");
         for (int elem : elementos) {
-            System.out.printf("%4d", elem);
+            texto.append(String.format("%4d", elem));
         }
-        System.out.println();
 
-        for (int i = 0; i < matriz.length; i++) {
-            System.out.printf("%4d", elementos.get(i));
-            for (int j = 0; j < matriz[i].length; j++) {
-                System.out.print(matriz[i][j] ? "   1" : "   0");
+        for (int i = 0; i < matriz.tamano(); i++) {
+            texto.append('\n').append(String.format("%4d", elementos.get(i)));
+            for (int j = 0; j < matriz.tamano(); j++) {
+                texto.append(matriz.get(i, j) ? "   1" : "   0");
             }
-            System.out.println();
         }
+        return texto.toString();
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+
+        if (args.length > 0 && args[0].equals("--servidor")) {
+            ServidorRelaciones.ejecutar(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--lote")) {
+            ModoLote.ejecutar(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
 
         inputs();
 
@@ -0,0 +1,128 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class ClausurasLiterales {
+
+    //T(l) para todos los literales a la vez: se calculan las componentes fuertemente conexas una sola vez
+    //y se propaga la alcanzabilidad sobre la condensacion (un DAG) en orden topologico inverso
+    //todos los literales de una misma componente comparten el mismo conjunto
+    //
+    //alcanzables[c] es un conjunto de bits sobre componentes: la componente d esta si c alcanza a d
+
+    private final ComponentesFuertes scc;
+    private final long[][] alcanzables;
+
+    //literales agrupados por componente: miembros[inicioMiembros[c] .. inicioMiembros[c+1])
+    private final int[] inicioMiembros;
+    private final int[] miembros;
+
+    private ClausurasLiterales(ComponentesFuertes scc, long[][] alcanzables, int[] inicioMiembros, int[] miembros) {
+        this.scc = scc;
+        this.alcanzables = alcanzables;
+        this.inicioMiembros = inicioMiembros;
+        this.miembros = miembros;
+    }
+
+    public static ClausurasLiterales calcular(GrafoImplicaciones grafo) {
+        ComponentesFuertes scc = ComponentesFuertes.calcular(grafo);
+        int n = grafo.numNodos();
+        int c = scc.cantidad();
+
+        //agrupar literales por componente (ordenamiento por conteo)
+        int[] inicioMiembros = new int[c + 1];
+        for (int u = 0; u < n; u++) {
+            inicioMiembros[scc.componente(u) + 1]++;
+        }
+        for (int k = 0; k < c; k++) {
+            inicioMiembros[k + 1] += inicioMiembros[k];
+        }
+        int[] miembros = new int[n];
+        int[] posicion = Arrays.copyOf(inicioMiembros, c);
+        for (int u = 0; u < n; u++) {
+            miembros[posicion[scc.componente(u)]++] = u;
+        }
+
+        //Tarjan numera en orden topologico inverso: toda arista entre componentes va de mayor a menor,
+        //asi que al llegar a la componente k ya estan completos los conjuntos de sus sucesoras
+        int palabras = (c + 63) >>> 6;
+        long[][] alcanzables = new long[c][];
+        for (int k = 0; k < c; k++) {
+            long[] conjunto = new long[palabras];
+            conjunto[k >>> 6] |= 1L << k;
+
+            for (int m = inicioMiembros[k]; m < inicioMiembros[k + 1]; m++) {
+                int u = miembros[m];
+                for (int e = grafo.inicio(u); e < grafo.fin(u); e++) {
+                    int d = scc.componente(grafo.sucesor(e));
+                    //si d ya esta, tambien esta todo lo que d alcanza
+                    if ((conjunto[d >>> 6] & (1L << d)) == 0) {
+                        long[] sucesora = alcanzables[d];
+                        for (int w = 0; w < palabras; w++) {
+                            conjunto[w] |= sucesora[w];
+                        }
+                    }
+                }
+            }
+            alcanzables[k] = conjunto;
+        }
+
+        return new ClausurasLiterales(scc, alcanzables, inicioMiembros, miembros);
+    }
+
+    //memoria aproximada que ocupa (para CacheResultados)
+    long bytesAproximados() {
+        long palabras = alcanzables.length == 0 ? 0 : alcanzables[0].length;
+        return 16L + 4L * scc.componente.length + alcanzables.length * (24 + 8 * palabras)
+                + 4L * inicioMiembros.length + 4L * miembros.length + 64;
+    }
+
+    //true si 'hasta' pertenece a T(desde), en O(1)
+    public boolean alcanza(int desde, int hasta) {
+        int d = scc.componente(hasta);
+        return (alcanzables[scc.componente(desde)][d >>> 6] & (1L << d)) != 0;
+    }
+
+    //T(l) contiene algun x y ¬x si y solo si contiene ¬l:
+    //si l → x y l → ¬x, la contrapositiva de l → x es ¬x → ¬l (el grafo de implicaciones es simetrico),
+    //asi que l → ¬x → ¬l;
+    //y si l → ¬l, T(l) contiene a l y a ¬l
+    public boolean esInconsistente(int literal) {
+        return alcanza(literal, literal ^ 1);
+    }
+
+    //numero de literales en T(l)
+    public int tamanoClausura(int literal) {
+        long[] conjunto = alcanzables[scc.componente(literal)];
+        int total = 0;
+        for (int w = 0; w < conjunto.length; w++) {
+            long palabra = conjunto[w];
+            while (palabra != 0) {
+                int d = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                total += inicioMiembros[d + 1] - inicioMiembros[d];
+                palabra &= palabra - 1;
+            }
+        }
+        return total;
+    }
+
+    //literales de T(l) en orden ascendente
+    public int[] clausura(int literal) {
+        long[] conjunto = alcanzables[scc.componente(literal)];
+        int[] resultado = new int[tamanoClausura(literal)];
+        int total = 0;
+        for (int w = 0; w < conjunto.length; w++) {
+            long palabra = conjunto[w];
+            while (palabra != 0) {
+                int d = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                for (int m = inicioMiembros[d]; m < inicioMiembros[d + 1]; m++) {
+                    resultado[total++] = miembros[m];
+                }
+                palabra &= palabra - 1;
+            }
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+}
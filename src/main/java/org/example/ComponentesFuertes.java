@@ -0,0 +1,105 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class ComponentesFuertes {
+
+    //componentes fuertemente conexas por Tarjan iterativo (sin recursion, para no desbordar la pila con 10^5+ nodos)
+    //Tarjan cierra primero las componentes sumidero: la numeracion es un orden topologico inverso
+    //de la condensacion (si hay arista C1 → C2 entre componentes distintas, entonces C1 > C2)
+
+    final int[] componente;
+    final int cantidad;
+
+    private ComponentesFuertes(int[] componente, int cantidad) {
+        this.componente = componente;
+        this.cantidad = cantidad;
+    }
+
+    public static ComponentesFuertes calcular(GrafoImplicaciones grafo) {
+        return calcular(grafo.numNodos, grafo.inicio, grafo.sucesores);
+    }
+
+    //grafo en CSR: sucesores de u en sucesores[inicio[u] .. inicio[u+1])
+    public static ComponentesFuertes calcular(int n, int[] inicio, int[] sucesores) {
+        int[] componente = new int[n];
+        int cantidad = tarjan(n, inicio, sucesores, componente,
+                new int[n], new int[n], new boolean[n], new int[n], new int[n], new int[n]);
+        return new ComponentesFuertes(componente, cantidad);
+    }
+
+    //igual que calcular, con los arreglos de trabajo tomados de 'buffers' (pueden ser mas largos que n):
+    //escribe la componente de cada nodo en componente[0 .. n) y devuelve la cantidad
+    static int calcular(int n, int[] inicio, int[] sucesores, int[] componente, BuffersTrabajo buffers) {
+        return tarjan(n, inicio, sucesores, componente,
+                buffers.enteros(BuffersTrabajo.INDICE, n), buffers.enteros(BuffersTrabajo.BAJO, n),
+                buffers.marcas(n), buffers.enteros(BuffersTrabajo.PILA, n),
+                buffers.enteros(BuffersTrabajo.LLAMADAS, n), buffers.enteros(BuffersTrabajo.SIGUIENTE, n));
+    }
+
+    private static int tarjan(int n, int[] inicio, int[] sucesores, int[] componente, int[] indice, int[] bajo,
+                              boolean[] enPila, int[] pila, int[] llamadas, int[] siguiente) {
+        Arrays.fill(indice, 0, n, -1);
+        Arrays.fill(enPila, 0, n, false);
+
+        int tope = 0;
+        int contador = 0;
+        int componentes = 0;
+
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (indice[raiz] != -1) continue;
+
+            int profundidad = 0;
+            llamadas[0] = raiz;
+            siguiente[raiz] = inicio[raiz];
+            indice[raiz] = bajo[raiz] = contador++;
+            pila[tope++] = raiz;
+            enPila[raiz] = true;
+
+            while (profundidad >= 0) {
+                int u = llamadas[profundidad];
+
+                if (siguiente[u] < inicio[u + 1]) {
+                    int w = sucesores[siguiente[u]++];
+                    if (indice[w] == -1) {
+                        //descender a w
+                        indice[w] = bajo[w] = contador++;
+                        siguiente[w] = inicio[w];
+                        pila[tope++] = w;
+                        enPila[w] = true;
+                        llamadas[++profundidad] = w;
+                    } else if (enPila[w]) {
+                        bajo[u] = Math.min(bajo[u], indice[w]);
+                    }
+                } else {
+                    //u terminado: si es raiz de componente, sacarla de la pila
+                    if (bajo[u] == indice[u]) {
+                        int w;
+                        do {
+                            w = pila[--tope];
+                            enPila[w] = false;
+                            componente[w] = componentes;
+                        } while (w != u);
+                        componentes++;
+                    }
+                    profundidad--;
+                    if (profundidad >= 0) {
+                        int padre = llamadas[profundidad];
+                        bajo[padre] = Math.min(bajo[padre], bajo[u]);
+                    }
+                }
+            }
+        }
+
+        return componentes;
+    }
+
+    public int cantidad() {
+        return cantidad;
+    }
+
+    public int componente(int u) {
+        return componente[u];
+    }
+
+}
@@ -59,10 +59,11 @@ public class ConversorClausulas {
         //para trabajar con estructuras como hashset o hashmap
         @Override
         public int hashCode() {
+            // simetrico: (A ∨ B) y (B ∨ A) deben dar el mismo valor
             if (esUnitaria()) {
-                return Objects.hash(literal1, "unitaria");
+                return 31 * literal1.hashCode() + 1;
             } else {
-                return Objects.hash(literal1, literal2) + Objects.hash(literal2, literal1);
+                return literal1.hashCode() + literal2.hashCode();
             }
         }
     }
@@ -70,37 +71,18 @@ public class ConversorClausulas {
 
     //1. Metodos principales de conversion y visualizacion==================================
     //convertir la relacion en cláusulas unarias y binarias
+    //(x) → cláusula unitaria (x): reflexividad, x debe ser verdadero
+    //(x,y) → cláusula binaria (x ∨ y) ≡ -x → y ≡ -y → x
+    //la conversión se hace sobre la forma compilada; las cadenas solo se generan para mostrar
     public static Set<Clausula> convertirRelacionAClausulas(Set<Par> relacion) {
-        Set<Clausula> clausulas = new HashSet<>();
-
-        for (Par par : relacion) {
-
-            if (par.y == null) {
-                // CASO 1: Par individual (x) - CLAÚSULA UNITARIA
-                // (x) representa reflexividad: x debe ser verdadero
-                String xPositivo = String.valueOf(par.x);
-                clausulas.add(new Clausula(xPositivo));
-
-//                System.out.println("Para (" + par.x + "):");
-//                System.out.println("  Reflexividad: " + xPositivo + " debe ser verdadero");
-//                System.out.println("  Cláusula unitaria: (" + xPositivo + ")");
-
-            } else {
-                // CASO 2: Par completo (x,y) - CLAÚSULAS BINARIAS
-                String xPositivo = String.valueOf(par.x);
-                String yPositivo = String.valueOf(par.y);
-
-                // Para (x,y) generamos:
-                // -x → y  ≡  x ∨ y
-                clausulas.add(new Clausula(xPositivo, yPositivo));
-
-//                System.out.println("Para (" + par.x + "," + par.y + "):");
-//                System.out.println("  -" + par.x + " → " + par.y + " ≡ " + xPositivo + " ∨ " + yPositivo);
-//                System.out.println("  -" + par.y + " → " + par.x + " ≡ " + yPositivo + " ∨ " + xPositivo);
-            }
+        return convertirRelacionAClausulas(relacion, new TrazaConsola(NivelTraza.PASO));
+    }
 
+    public static Set<Clausula> convertirRelacionAClausulas(Set<Par> relacion, EscuchaTraza traza) {
+        Set<Clausula> clausulas = ClausulasCompiladas.compilar(relacion).aClausulas();
+        if (traza.activo(NivelTraza.PASO)) {
+            traza.mensaje(NivelTraza.PASO, "\n");
         }
-        System.out.println("\n");
         return clausulas;
     }
 
@@ -205,165 +187,115 @@ public class ConversorClausulas {
     //3. Metodos de resolucion 2-SAT
     //determina si el conjunto de clausulas es satisfactible
     public static boolean resolver2SAT(Set<Par> relacion) {
-        System.out.println("\n=====================================================");
-        System.out.println("=== RESOLUCIÓN 2-SAT ===");
+        return resolver2SAT(relacion, new TrazaConsola(NivelTraza.PASO));
+    }
 
-        // Convertir la relación a cláusulas
-        Set<Clausula> clausulas = convertirRelacionAClausulas(relacion);
+    public static boolean resolver2SAT(Set<Par> relacion, EscuchaTraza traza) {
+        if (traza.activo(NivelTraza.RESUMEN)) {
+            traza.mensaje(NivelTraza.RESUMEN, "\n=====================================================");
+            traza.mensaje(NivelTraza.RESUMEN, "=== RESOLUCIÓN 2-SAT ===");
+        }
 
-        // 1. PRIMERO: Verificar asignaciones forzadas por cláusulas unitarias
-        Map<String, Boolean> forzadas = extraerAsignacionesForzadas(clausulas);
-        if (forzadas == null) {
-            System.out.println("NO SATISFACIBLE (contradicción en cláusulas unitarias)");
-            System.out.println("=====================================================\n");
-            return false;  // Hay (A) y (¬A) al mismo tiempo → imposible
+        // Convertir la relación a cláusulas (forma compilada)
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(relacion);
+        if (traza.activo(NivelTraza.PASO)) {
+            traza.mensaje(NivelTraza.PASO, "\n");
         }
 
-        // 2. Obtener TODAS las variables únicas
-        Set<String> variables = new HashSet<>();
-        for (Clausula c : clausulas) {
-            if (c.esUnitaria()) {
-                variables.add(extraerVariable(c.literal1));
-            } else {
-                variables.add(extraerVariable(c.literal1));
-                variables.add(extraerVariable(c.literal2));
+        return resolver2SAT(clausulas, traza);
+    }
+
+    //resuelve y muestra el resultado de un conjunto de cláusulas ya compilado
+    public static boolean resolver2SAT(ClausulasCompiladas clausulas) {
+        return resolver2SAT(clausulas, new TrazaConsola(NivelTraza.PASO));
+    }
+
+    public static boolean resolver2SAT(ClausulasCompiladas clausulas, EscuchaTraza traza) {
+        boolean pasos = traza.activo(NivelTraza.PASO);
+        boolean resumen = traza.activo(NivelTraza.RESUMEN);
+
+        // 1. PRIMERO: Preprocesar (propagación de unitarias, literales equivalentes, cláusulas satisfechas y repetidas)
+        Preprocesador.Resultado preprocesado = Preprocesador.procesar(clausulas);
+        if (resumen) {
+            traza.mensaje(NivelTraza.RESUMEN, "Número de cláusulas: " + clausulas.numClausulas());
+            traza.mensaje(NivelTraza.RESUMEN, preprocesado.informe());
+        }
+
+        // 2. Variables únicas (ya numeradas en la forma compilada)
+        if (pasos) {
+            List<Integer> variables = new ArrayList<>();
+            for (int v = 0; v < clausulas.numVariables(); v++) {
+                variables.add(clausulas.valor(v));
+            }
+            Map<Integer, Boolean> valoresForzados = new LinkedHashMap<>();
+            for (int literal : preprocesado.rastro()) {
+                valoresForzados.put(clausulas.valor(ClausulasCompiladas.variable(literal)),
+                        !ClausulasCompiladas.esNegativo(literal));
             }
+            traza.mensaje(NivelTraza.PASO, "Variables encontradas: " + variables);
+            traza.mensaje(NivelTraza.PASO, "Asignaciones forzadas por propagación de unitarias: " + valoresForzados);
         }
 
-        System.out.println("Variables encontradas: " + variables);
-        System.out.println("Asignaciones forzadas por cláusulas unitarias: " + forzadas);
-        System.out.println("Número de cláusulas: " + clausulas.size());
+        if (preprocesado.esInsatisfacible()) {
+            if (resumen) {
+                String variable = String.valueOf(clausulas.valor(preprocesado.conflicto()));
+                traza.mensaje(NivelTraza.RESUMEN, "CONTRADICCIÓN: " + variable + " debe ser true y false al mismo tiempo");
+                traza.mensaje(NivelTraza.RESUMEN, "NO SATISFACIBLE (contradicción al propagar unitarias o entre literales equivalentes)");
+                traza.mensaje(NivelTraza.RESUMEN, "=====================================================\n");
+            }
+            return false;  // Hay A y ¬A forzadas al mismo tiempo → imposible
+        }
 
         // Si no hay variables, es trivialmente satisfacible
-        if (variables.isEmpty()) {
-            System.out.println("¡SATISFACIBLE! (sin variables)");
+        if (clausulas.numVariables() == 0) {
+            if (resumen) {
+                traza.mensaje(NivelTraza.RESUMEN, "¡SATISFACIBLE! (sin variables)");
+            }
             return true;
         }
 
-        // 3. REMOVER variables ya asignadas (optimización)
-        variables.removeAll(forzadas.keySet());
-        System.out.println("Variables por probar (después de quitar forzadas): " + variables);
-
-        // 4. Intentar combinaciones para las variables RESTANTES
-        int n = variables.size();
-        List<String> listaVariables = new ArrayList<>(variables);
-
-        System.out.println("Probando " + (1 << n) + " combinaciones posibles...");
-
-        for (int i = 0; i < (1 << n); i++) {
-            // 4a. Empezar con las asignaciones forzadas
-            Map<String, Boolean> asignacion = new HashMap<>(forzadas);
+        // 3. Resolver lo que quedó con el grafo de implicaciones y sus componentes fuertemente conexas
+        if (resumen) {
+            traza.mensaje(NivelTraza.RESUMEN, "Resolviendo por componentes fuertemente conexas (Tarjan)...");
+        }
+        boolean[] modeloReducido = Resolvedor2SAT.resolver(preprocesado.reducidas());
+        boolean[] modelo = modeloReducido == null ? null : preprocesado.reconstruir(modeloReducido);
 
-            // 4b. Agregar valores para variables no forzadas
-            for (int j = 0; j < n; j++) {
-                String variable = listaVariables.get(j);
-                boolean valor = ((i >> j) & 1) == 1;
-                asignacion.put(variable, valor);
+        if (modelo != null) {
+            if (resumen) {
+                traza.mensaje(NivelTraza.RESUMEN, "¡SATISFACIBLE!");
             }
 
-            // 4c. Verificar si satisface TODAS las cláusulas
-            if (esSatisfacible(clausulas, asignacion)) {
-                System.out.println("¡SATISFACIBLE!");
-                System.out.println("Asignación que satisface:");
+            if (pasos) {
+                traza.mensaje(NivelTraza.PASO, "Asignación que satisface:");
 
-                // Ordenar para mejor visualización
-                List<String> claves = new ArrayList<>(asignacion.keySet());
-                Collections.sort(claves);
-                for (String clave : claves) {
-                    System.out.println("  " + clave + " = " + asignacion.get(clave));
+                // Variables en orden ascendente
+                for (int v = 0; v < modelo.length; v++) {
+                    traza.mensaje(NivelTraza.PASO, "  " + clausulas.valor(v) + " = " + modelo[v]);
                 }
 
                 // Verificación detallada (opcional)
-                System.out.println("\nVerificación por cláusula:");
-                for (Clausula c : clausulas) {
-                    boolean resultado = evaluarClausula(c, asignacion);
-                    System.out.println("  " + c + " = " + resultado +
-                            (c.esUnitaria() ? " (unitaria)" : ""));
-                }
-
-                return true;
-            }
-        }
-
-        System.out.println("NO SATISFACIBLE");
-        System.out.println("No existe asignación que satisfaga todas las cláusulas");
-        System.out.println("=====================================================\n");
-        return false;
-    }
-
-    // Optimización: procesar cláusulas unitarias primero
-    private static Map<String, Boolean> extraerAsignacionesForzadas(Set<Clausula> clausulas) {
-        Map<String, Boolean> forzadas = new HashMap<>();
-
-        for (Clausula c : clausulas) {
-            if (c.esUnitaria()) {
-                String variable = extraerVariable(c.literal1);
-                boolean valor;
-
-                // Determinar valor forzado
-                if (c.literal1.startsWith("-") || c.literal1.startsWith("¬")) {
-                    valor = false;  // (¬A) fuerza A = false
-                } else {
-                    valor = true;   // (A) fuerza A = true
+                traza.mensaje(NivelTraza.PASO, "\nVerificación por cláusula:");
+                for (int i = 0; i < clausulas.numUnitarias(); i++) {
+                    boolean resultado = ClausulasCompiladas.evaluar(clausulas.unitaria(i), modelo);
+                    traza.mensaje(NivelTraza.PASO, "  " + clausulas.clausulaUnitaria(i) + " = " + resultado + " (unitaria)");
                 }
-
-                // Verificar contradicción
-                if (forzadas.containsKey(variable)) {
-                    boolean valorAnterior = forzadas.get(variable);
-                    if (valorAnterior != valor) {
-                        System.out.println("CONTRADICCIÓN: " + variable +
-                                " debe ser " + valorAnterior + " y " + valor + " al mismo tiempo");
-                        System.out.println("Por las cláusulas: (" +
-                                (valorAnterior ? variable : "-" + variable) +
-                                ") y (" + (valor ? variable : "-" + variable) + ")");
-                        return null;  // Insatisfacible
-                    }
+                for (int i = 0; i < clausulas.numBinarias(); i++) {
+                    boolean resultado = ClausulasCompiladas.evaluar(clausulas.literal1(i), modelo) ||
+                            ClausulasCompiladas.evaluar(clausulas.literal2(i), modelo);
+                    traza.mensaje(NivelTraza.PASO, "  " + clausulas.clausulaBinaria(i) + " = " + resultado);
                 }
-
-                forzadas.put(variable, valor);
-                System.out.println("Cláusula unitaria " + c + " fuerza " +
-                        variable + " = " + valor);
-            }
-        }
-
-        return forzadas;
-    }
-
-    //metodo auxiliar para evaluar una cláusula con una asignación dada
-    private static boolean evaluarClausula(Clausula c, Map<String, Boolean> asignacion) {
-        if (c.esUnitaria()) {
-            // Cláusula unitaria: (A)
-            String variable = extraerVariable(c.literal1);
-            boolean valor = asignacion.get(variable);
-            if (c.literal1.startsWith("-")) {
-                return !valor; // Si es -A, entonces debe ser false
-            } else {
-                return valor;  // Si es A, entonces debe ser true
             }
-        } else {
-            // Cláusula binaria: (A ∨ B)
-            String var1 = extraerVariable(c.literal1);
-            String var2 = extraerVariable(c.literal2);
-
-            boolean val1 = asignacion.get(var1);
-            boolean val2 = asignacion.get(var2);
-
-            // Aplicar negaciones si es necesario
-            if (c.literal1.startsWith("-")) val1 = !val1;
-            if (c.literal2.startsWith("-")) val2 = !val2;
 
-            return val1 || val2; // OR lógico
+            return true;
         }
-    }
 
-    // metodo auxiliar para verificar si una asignación satisface todas las cláusulas
-    private static boolean esSatisfacible(Set<Clausula> clausulas, Map<String, Boolean> asignacion) {
-        for (Clausula c : clausulas) {
-            if (!evaluarClausula(c, asignacion)) {
-                return false; // Si una cláusula no se satisface, toda la fórmula falla
-            }
+        if (resumen) {
+            traza.mensaje(NivelTraza.RESUMEN, "NO SATISFACIBLE");
+            traza.mensaje(NivelTraza.RESUMEN, "No existe asignación que satisfaga todas las cláusulas");
+            traza.mensaje(NivelTraza.RESUMEN, "=====================================================\n");
         }
-        return true;
+        return false;
     }// fin de metodos para resolucion 2-SAT==========================================================
 
 
@@ -405,124 +337,144 @@ public class ConversorClausulas {
     private static void mostrarGrafoTexto(Set<Clausula> clausulas) {
         System.out.println("\n=== REPRESENTACIÓN TEXTUAL DEL GRAFO ===");
 
-        Map<String, Set<String>> grafo = new HashMap<>();
-
-        // Construir grafo en memoria
         for (Clausula c : clausulas) {
             if (!c.esUnitaria()) {
-                String implicacion1 = obtenerComplemento(c.literal1) + " → " + c.literal2;
-                String implicacion2 = obtenerComplemento(c.literal2) + " → " + c.literal1;
-
-                String desde1 = obtenerComplemento(c.literal1);
-                String desde2 = obtenerComplemento(c.literal2);
-
-                grafo.computeIfAbsent(desde1, k -> new HashSet<>()).add(c.literal2);
-                grafo.computeIfAbsent(desde2, k -> new HashSet<>()).add(c.literal1);
-
-                System.out.println("  " + implicacion1);
-                System.out.println("  " + implicacion2);
+                System.out.println("  " + obtenerComplemento(c.literal1) + " → " + c.literal2);
+                System.out.println("  " + obtenerComplemento(c.literal2) + " → " + c.literal1);
             }
         }
 
+        // Sucesores de cada literal leidos del grafo indexado (sin armar otro mapa)
+        ClausulasCompiladas compiladas = ClausulasCompiladas.desdeClausulas(clausulas);
+        GrafoImplicaciones grafo = GrafoImplicaciones.desdeBinarias(compiladas);
         System.out.println("\nResumen del grafo:");
-        for (Map.Entry<String, Set<String>> entry : grafo.entrySet()) {
-            System.out.println("  " + entry.getKey() + " → " + entry.getValue());
+        for (int u = 0; u < grafo.numNodos(); u++) {
+            if (grafo.fin(u) == grafo.inicio(u)) continue;
+            StringBuilder linea = new StringBuilder("  " + compiladas.nombreLiteral(u) + " → [");
+            for (int e = grafo.inicio(u); e < grafo.fin(u); e++) {
+                if (e > grafo.inicio(u)) linea.append(", ");
+                linea.append(compiladas.nombreLiteral(grafo.sucesor(e)));
+            }
+            System.out.println(linea.append(']'));
         }
     }
 
 
     //5. Metodos para clausulas transitivas
     //calcula y muestra clausulas transitivas por resolucion
-    public static void calcularClausurasTransitivas(Set<Par> relacion) {
-        System.out.println("\n=====================================================");
-        System.out.println("=== CLAUSURAS TRANSITIVAS POR RESOLUCIÓN ===");
+    //T(l) son los literales alcanzables desde l en el grafo de implicaciones de las binarias (CSR)
+    //devuelve T(·) de todos los literales, numerados como en la relacion compilada
+    public static ClausurasLiterales calcularClausurasTransitivas(Set<Par> relacion) {
+        return calcularClausurasTransitivas(relacion, new TrazaConsola(NivelTraza.PASO));
+    }
 
-        Set<Clausula> clausulas = convertirRelacionAClausulas(relacion);
+    //con la traza en RESUMEN solo se informan los totales; en PASO cada T(l) y sus inconsistencias
+    public static ClausurasLiterales calcularClausurasTransitivas(Set<Par> relacion, EscuchaTraza traza) {
+        return calcularClausurasTransitivas(relacion, traza, null);
+    }
 
-        // Obtener todos los literales únicos
-        Set<String> todosLiterales = new HashSet<>();
-        for (Clausula c : clausulas) {
-            if (!c.esUnitaria()) {
-                todosLiterales.add(c.literal1);
-                todosLiterales.add(c.literal2);
-                todosLiterales.add(obtenerComplemento(c.literal1));
-                todosLiterales.add(obtenerComplemento(c.literal2));
-            } else {
-                todosLiterales.add(c.literal1);
-                todosLiterales.add(obtenerComplemento(c.literal1));
-            }
+    //igual, tomando T(·) de la cache si la relacion ya se resolvio (cache puede ser null)
+    public static ClausurasLiterales calcularClausurasTransitivas(Set<Par> relacion, EscuchaTraza traza,
+                                                                  CacheResultados cache) {
+        boolean pasos = traza.activo(NivelTraza.PASO);
+        boolean resumen = traza.activo(NivelTraza.RESUMEN);
+        if (resumen) {
+            traza.mensaje(NivelTraza.RESUMEN, "\n=====================================================");
+            traza.mensaje(NivelTraza.RESUMEN, "=== CLAUSURAS TRANSITIVAS POR RESOLUCIÓN ===");
         }
 
-        // Calcular clausura para cada literal
-        List<String> listaLiterales = new ArrayList<>(todosLiterales);
-        Collections.sort(listaLiterales);
-
-        for (String literal : listaLiterales) {
-
-            if (!literal.startsWith("-")) {
-                // Solo calcular para literales positivos para evitar duplicados
-                Set<String> clausuraPositivo = calcularClausuraLiteral(literal, clausulas);
-                Set<String> clausuraNegativo = calcularClausuraLiteral("-" + literal, clausulas);
-
-                System.out.println("T(" + literal + ") = " + clausuraPositivo);
-                System.out.println("T(-" + literal + ") = " + clausuraNegativo);
-
-                // Verificar inconsistencias
-                verificarInconsistencias(clausuraPositivo, literal);
-                verificarInconsistencias(clausuraNegativo, "-" + literal);
-                System.out.println(); // Línea en blanco para separar
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(relacion);
+        if (pasos) {
+            traza.mensaje(NivelTraza.PASO, "\n");
+        }
+        // T(·) de todos los literales de una vez sobre la condensación del grafo de implicaciones
+        ClausurasLiterales clausuras = cache != null ? cache.clausurasLiterales(clausulas)
+                : ClausurasLiterales.calcular(GrafoImplicaciones.desdeBinarias(clausulas));
+        int inconsistentes = 0;
+
+        // Variables en orden ascendente: T(x) y T(-x) para cada una
+        for (int v = 0; v < clausulas.numVariables(); v++) {
+            int positivo = ClausulasCompiladas.literalPositivo(v);
+            int negativo = ClausulasCompiladas.complemento(positivo);
+
+            if (pasos) {
+                traza.mensaje(NivelTraza.PASO, "T(" + clausulas.nombreLiteral(positivo) + ") = " + nombres(clausuras.clausura(positivo), clausulas));
+                traza.mensaje(NivelTraza.PASO, "T(" + clausulas.nombreLiteral(negativo) + ") = " + nombres(clausuras.clausura(negativo), clausulas));
             }
 
+            // Verificar inconsistencias
+            if (verificarInconsistencias(clausuras, positivo, clausulas, traza)) inconsistentes++;
+            if (verificarInconsistencias(clausuras, negativo, clausulas, traza)) inconsistentes++;
+            if (pasos) {
+                traza.mensaje(NivelTraza.PASO, ""); // Línea en blanco para separar
+            }
         }
-        System.out.println("=====================================================\n");
+        if (resumen) {
+            traza.mensaje(NivelTraza.RESUMEN, "Literales: " + clausulas.numLiterales() +
+                    " | T(l) con inconsistencias: " + inconsistentes);
+            traza.mensaje(NivelTraza.RESUMEN, "=====================================================\n");
+        }
+        return clausuras;
     }
 
     //calcula clausulas de un literal
     public static Set<String> calcularClausuraLiteral(String literalInicial, Set<Clausula> clausulas) {
-        Set<String> clausura = new HashSet<>();
-        clausura.add(literalInicial);
-
-        boolean cambio;
-        do {
-            cambio = false;
-            Set<String> nuevosLiterales = new HashSet<>();
-
-            // Aplicar resolución unitaria con todos los literales actuales
-            for (String literal : clausura) {
-                for (Clausula c : clausulas) {
-                    if (!c.esUnitaria()) {
-                        // Si tenemos ¬A y la cláusula (A ∨ B), entonces podemos derivar B
-                        String complemento = obtenerComplemento(literal);
-
-                        if (c.literal1.equals(complemento) && !clausura.contains(c.literal2)) {
-                            nuevosLiterales.add(c.literal2);
-                            cambio = true;
-                        }
-                        if (c.literal2.equals(complemento) && !clausura.contains(c.literal1)) {
-                            nuevosLiterales.add(c.literal1);
-                            cambio = true;
-                        }
-                    }
-                }
+        Set<String> clausura = new LinkedHashSet<>();
+
+        // Las cláusulas unitarias no generan resolución unitaria: solo se usan las binarias
+        Set<Clausula> binarias = new HashSet<>();
+        for (Clausula c : clausulas) {
+            if (!c.esUnitaria()) {
+                binarias.add(c);
             }
+        }
 
-            clausura.addAll(nuevosLiterales);
+        ClausulasCompiladas compiladas = ClausulasCompiladas.desdeClausulas(binarias);
+        int v = compiladas.variableDeValor(Integer.parseInt(extraerVariable(literalInicial)));
+        if (v < 0) {
+            // El literal no aparece en ninguna cláusula binaria
+            clausura.add(literalInicial);
+            return clausura;
+        }
 
-        } while (cambio);
+        int literal = ClausulasCompiladas.literalPositivo(v);
+        if (literalInicial.startsWith("-") || literalInicial.startsWith("¬")) {
+            literal = ClausulasCompiladas.complemento(literal);
+        }
 
+        GrafoImplicaciones grafo = GrafoImplicaciones.desde(compiladas);
+        clausura.addAll(nombres(grafo.alcanzables(literal, new boolean[grafo.numNodos()]), compiladas));
         return clausura;
     }
 
-    //detecta inconsistencias dentro de una clausula
-    private static void verificarInconsistencias(Set<String> clausura, String literal) {
+    //detecta inconsistencias dentro de una clausula; devuelve true si contiene algun x y -x
+    //la comprobacion es O(1) (¬l ∈ T(l)); los pares solo se enumeran para la traza en PASO
+    private static boolean verificarInconsistencias(ClausurasLiterales clausuras, int literal,
+                                                    ClausulasCompiladas clausulas, EscuchaTraza traza) {
 
-        for (String l : clausura) {
-            String complemento = obtenerComplemento(l);
-            if (clausura.contains(complemento)) {
-                System.out.println("   X  INCONSISTENCIA en T(" + literal + "): contiene " + l + " y " + complemento);
+        if (!clausuras.esInconsistente(literal)) {
+            return false;
+        }
+        if (traza.activo(NivelTraza.PASO)) {
+            for (int l : clausuras.clausura(literal)) {
+                int complemento = ClausulasCompiladas.complemento(l);
+                if (clausuras.alcanza(literal, complemento)) {
+                    traza.mensaje(NivelTraza.PASO, "   X  INCONSISTENCIA en T(" + clausulas.nombreLiteral(literal) + "): contiene " +
+                            clausulas.nombreLiteral(l) + " y " + clausulas.nombreLiteral(complemento));
+                }
             }
         }
+        return true;
 
+    }
+
+    //nombres de los literales para mostrar
+    private static List<String> nombres(int[] literales, ClausulasCompiladas clausulas) {
+        List<String> nombres = new ArrayList<>(literales.length);
+        for (int l : literales) {
+            nombres.add(clausulas.nombreLiteral(l));
+        }
+        return nombres;
     }// fin de metodos para las clusulas transitivas
 
 
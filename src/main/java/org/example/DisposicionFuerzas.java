@@ -0,0 +1,311 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class DisposicionFuerzas {
+
+    //disposicion dirigida por fuerzas (Fruchterman-Reingold) para el grafo de implicaciones:
+    //los nodos se repelen con k²/d, las aristas atraen con d²/k y un poco de gravedad junta las componentes sueltas.
+    //Cada nodo se mueve a lo mas la temperatura, que baja geometricamente hasta k/100 en el presupuesto de iteraciones
+    //La repulsion entre todos los pares se aproxima con Barnes-Hut: en cada iteracion se arma un quadtree y
+    //un grupo lejano (lado/d < THETA) actua como una sola masa en su centro, asi cada iteracion es O(n log n)
+    //
+    //no usa Swing: VisualizadorImplicaciones la ejecuta en un hilo aparte y solo recibe copias de las posiciones
+
+    private static final double THETA = 0.8;
+    private static final int PROFUNDIDAD_MAXIMA = 32;   // puntos casi repetidos quedan juntos en una hoja
+    private static final double GRAVEDAD = 0.01;
+
+    private final int n;
+    private final int[] origen;
+    private final int[] destino;
+    private final int numAristas;
+    private final double[] x;
+    private final double[] y;
+    private final double[] dx;
+    private final double[] dy;
+
+    private final double k;              // distancia ideal entre nodos
+    private final double temperaturaMinima;
+    private final double enfriamiento;
+    private final int iteraciones;
+    private double temperatura;
+    private int iteracion;
+    private boolean terminada;
+
+    //quadtree en arreglos: la celda c cubre orden[inicio[c], fin[c]) y sus hijos estan en hijos[4c..4c+3] (-1 si no hay)
+    private final int[] orden;
+    private int numCeldas;
+    private int[] inicio = new int[64];
+    private int[] fin = new int[64];
+    private int[] hijos = new int[256];
+    private double[] lado = new double[64];
+    private double[] centroX = new double[64];
+    private double[] centroY = new double[64];
+    private int[] pila = new int[64];
+
+    //posiciones iniciales x, y (se copian) y aristas origen[i] → destino[i] entre indices de nodo;
+    //el area ancho x alto fija la distancia ideal y la temperatura inicial (el resultado se escala al copiar las posiciones)
+    public DisposicionFuerzas(double[] x, double[] y, int[] origen, int[] destino, int numAristas,
+                              double ancho, double alto, int iteraciones) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Las coordenadas x e y deben tener el mismo largo");
+        }
+        if (iteraciones <= 0) {
+            throw new IllegalArgumentException("El número de iteraciones debe ser positivo: " + iteraciones);
+        }
+        this.n = x.length;
+        this.x = x.clone();
+        this.y = y.clone();
+        this.origen = origen;
+        this.destino = destino;
+        this.numAristas = numAristas;
+        this.dx = new double[n];
+        this.dy = new double[n];
+        this.orden = new int[n];
+
+        this.k = Math.sqrt(ancho * alto / Math.max(1, n));
+        this.temperatura = Math.max(ancho, alto) / 10;
+        this.temperaturaMinima = k / 100;
+        this.iteraciones = iteraciones;
+        this.enfriamiento = Math.pow(temperaturaMinima / temperatura, 1.0 / iteraciones);
+        this.terminada = n == 0;
+    }
+
+
+    //1. Iteraciones
+    //hace una iteracion; devuelve false si ya se agoto el presupuesto o los nodos dejaron de moverse
+    public boolean iterar() {
+        if (terminada) {
+            return false;
+        }
+
+        Arrays.fill(dx, 0);
+        Arrays.fill(dy, 0);
+        construirArbol();
+        for (int i = 0; i < n; i++) {
+            repeler(i);
+        }
+        atraer();
+        atraerAlCentro();
+
+        //cada nodo se mueve a lo mas 'temperatura' en la direccion de su fuerza
+        double movimiento = 0;
+        for (int i = 0; i < n; i++) {
+            double d = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+            if (d > 0) {
+                double paso = Math.min(d, temperatura);
+                x[i] += dx[i] / d * paso;
+                y[i] += dy[i] / d * paso;
+                movimiento += paso;
+            }
+        }
+
+        temperatura = Math.max(temperaturaMinima, temperatura * enfriamiento);
+        iteracion++;
+        terminada = iteracion >= iteraciones || movimiento / n < temperaturaMinima / 10;
+        return !terminada;
+    }
+
+    public int iteracion() {
+        return iteracion;
+    }
+
+    public int iteraciones() {
+        return iteraciones;
+    }
+
+    public boolean terminada() {
+        return terminada;
+    }
+
+    //copia las posiciones escaladas para que quepan en ancho x alto dejando 'margen' por lado (sin deformar)
+    public void copiarPosiciones(int[] destinoX, int[] destinoY, int ancho, int alto, int margen) {
+        if (n == 0) return;
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        double anchoUtil = ancho - 2.0 * margen;
+        double altoUtil = alto - 2.0 * margen;
+        double factor = Math.min(anchoUtil / Math.max(maxX - minX, 1e-9), altoUtil / Math.max(maxY - minY, 1e-9));
+        double desplazamientoX = margen + (anchoUtil - (maxX - minX) * factor) / 2;
+        double desplazamientoY = margen + (altoUtil - (maxY - minY) * factor) / 2;
+        for (int i = 0; i < n; i++) {
+            destinoX[i] = (int) Math.round(desplazamientoX + (x[i] - minX) * factor);
+            destinoY[i] = (int) Math.round(desplazamientoY + (y[i] - minY) * factor);
+        }
+    }
+
+
+    //2. Fuerzas
+    //repulsion sobre i recorriendo el quadtree: grupos lejanos como una masa, hojas cercanas nodo por nodo
+    private void repeler(int i) {
+        double k2 = k * k;
+        int tope = 0;
+        pila[tope++] = 0;
+        while (tope > 0) {
+            int c = pila[--tope];
+            int cuenta = fin[c] - inicio[c];
+            double ddx = x[i] - centroX[c];
+            double ddy = y[i] - centroY[c];
+            double d2 = ddx * ddx + ddy * ddy;
+
+            if (hijos[4 * c] == -1 && hijos[4 * c + 1] == -1 && hijos[4 * c + 2] == -1 && hijos[4 * c + 3] == -1) {
+                for (int p = inicio[c]; p < fin[c]; p++) {
+                    int j = orden[p];
+                    if (j != i) {
+                        repelerPar(i, j, k2);
+                    }
+                }
+            } else if (lado[c] * lado[c] < THETA * THETA * d2) {
+                //f = k²/d por cada nodo del grupo, en la direccion (ddx, ddy)/d
+                double f = k2 * cuenta / d2;
+                dx[i] += ddx * f;
+                dy[i] += ddy * f;
+            } else {
+                if (tope + 4 > pila.length) {
+                    pila = Arrays.copyOf(pila, 2 * pila.length);
+                }
+                for (int q = 0; q < 4; q++) {
+                    if (hijos[4 * c + q] != -1) {
+                        pila[tope++] = hijos[4 * c + q];
+                    }
+                }
+            }
+        }
+    }
+
+    private void repelerPar(int i, int j, double k2) {
+        double ddx = x[i] - x[j];
+        double ddy = y[i] - y[j];
+        double d2 = ddx * ddx + ddy * ddy;
+        if (d2 < 1e-12) {
+            //nodos en el mismo punto: se separan en una direccion fija segun sus indices
+            ddx = i < j ? 0.01 * k : -0.01 * k;
+            ddy = 0;
+            d2 = ddx * ddx;
+        }
+        double f = k2 / d2;
+        dx[i] += ddx * f;
+        dy[i] += ddy * f;
+    }
+
+    //cada arista acerca sus extremos con d²/k
+    private void atraer() {
+        for (int e = 0; e < numAristas; e++) {
+            int u = origen[e];
+            int v = destino[e];
+            if (u == v) continue;
+            double ddx = x[u] - x[v];
+            double ddy = y[u] - y[v];
+            double f = Math.sqrt(ddx * ddx + ddy * ddy) / k;
+            dx[u] -= ddx * f;
+            dy[u] -= ddy * f;
+            dx[v] += ddx * f;
+            dy[v] += ddy * f;
+        }
+    }
+
+    //gravedad proporcional a la distancia al centro de masa para que las componentes sueltas no se alejen
+    private void atraerAlCentro() {
+        double cx = 0, cy = 0;
+        for (int i = 0; i < n; i++) {
+            cx += x[i];
+            cy += y[i];
+        }
+        cx /= n;
+        cy /= n;
+        for (int i = 0; i < n; i++) {
+            dx[i] -= GRAVEDAD * (x[i] - cx);
+            dy[i] -= GRAVEDAD * (y[i] - cy);
+        }
+    }
+
+
+    //3. Quadtree
+    private void construirArbol() {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        numCeldas = 0;
+        construir(0, n, minX, minY, Math.max(maxX - minX, maxY - minY) + 1e-9, 0);
+    }
+
+    //crea la celda de orden[desde, hasta) con esquina (x0, y0) y su subarbol; devuelve su indice
+    private int construir(int desde, int hasta, double x0, double y0, double l, int profundidad) {
+        int c = nuevaCelda();
+        inicio[c] = desde;
+        fin[c] = hasta;
+        lado[c] = l;
+
+        double sumaX = 0, sumaY = 0;
+        for (int p = desde; p < hasta; p++) {
+            sumaX += x[orden[p]];
+            sumaY += y[orden[p]];
+        }
+        centroX[c] = sumaX / (hasta - desde);
+        centroY[c] = sumaY / (hasta - desde);
+
+        if (hasta - desde == 1 || profundidad == PROFUNDIDAD_MAXIMA) {
+            return c;
+        }
+
+        //cuadrantes: arriba-izquierda, arriba-derecha, abajo-izquierda, abajo-derecha
+        double mitad = l / 2;
+        int medio = particionar(desde, hasta, y, y0 + mitad);
+        int cortes0 = particionar(desde, medio, x, x0 + mitad);
+        int cortes1 = particionar(medio, hasta, x, x0 + mitad);
+        int[] limites = {desde, cortes0, medio, cortes1, hasta};
+        for (int q = 0; q < 4; q++) {
+            if (limites[q] < limites[q + 1]) {
+                int hijo = construir(limites[q], limites[q + 1],
+                        x0 + (q & 1) * mitad, y0 + (q >> 1) * mitad, mitad, profundidad + 1);
+                hijos[4 * c + q] = hijo;
+            }
+        }
+        return c;
+    }
+
+    //deja primero los nodos con coordenada < corte; devuelve donde empiezan los demas
+    private int particionar(int desde, int hasta, double[] coordenada, double corte) {
+        int i = desde;
+        int j = hasta - 1;
+        while (i <= j) {
+            if (coordenada[orden[i]] < corte) {
+                i++;
+            } else {
+                int t = orden[i];
+                orden[i] = orden[j];
+                orden[j--] = t;
+            }
+        }
+        return i;
+    }
+
+    private int nuevaCelda() {
+        if (numCeldas == inicio.length) {
+            int capacidad = 2 * numCeldas;
+            inicio = Arrays.copyOf(inicio, capacidad);
+            fin = Arrays.copyOf(fin, capacidad);
+            lado = Arrays.copyOf(lado, capacidad);
+            centroX = Arrays.copyOf(centroX, capacidad);
+            centroY = Arrays.copyOf(centroY, capacidad);
+            hijos = Arrays.copyOf(hijos, 4 * capacidad);
+        }
+        int c = numCeldas++;
+        Arrays.fill(hijos, 4 * c, 4 * c + 4, -1);
+        return c;
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.example;
+
+public interface EscuchaTraza {
+
+    //receptor de los mensajes que reportan los algoritmos
+    //los algoritmos consultan activo(nivel) antes de construir un mensaje, de modo que con APAGADO
+    //los ciclos internos no concatenan cadenas ni hacen E/S
+
+    //traza que no registra nada
+    EscuchaTraza APAGADA = new EscuchaTraza() {
+        @Override
+        public NivelTraza nivel() {
+            return NivelTraza.APAGADO;
+        }
+
+        @Override
+        public void mensaje(NivelTraza nivel, String texto) {
+        }
+    };
+
+    NivelTraza nivel();
+
+    //recibe un mensaje del nivel indicado (solo se llama si activo(nivel) es true)
+    void mensaje(NivelTraza nivel, String texto);
+
+    //indica si los mensajes del nivel dado se registran
+    default boolean activo(NivelTraza nivel) {
+        return nivel != NivelTraza.APAGADO && nivel().compareTo(nivel) >= 0;
+    }
+
+}
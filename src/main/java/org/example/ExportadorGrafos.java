@@ -0,0 +1,402 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class ExportadorGrafos {
+
+    //exporta a GraphML, DOT o CSV (lista de aristas 'origen,destino') el grafo de implicaciones, su condensacion
+    //en componentes fuertes o una clausura, recorriendo directamente el CSR o la matriz de bits:
+    //cada nodo y cada arista se escribe en cuanto se visita, sin armar un grafo de objetos ni guardar las aristas
+    //la memoria extra es a lo mas proporcional al numero de nodos (agrupar componentes), nunca al de aristas
+    //
+    //los nodos se identifican por su nombre: el literal ("x" o "-x"), la componente ("C3") o el elemento de la clausura
+
+    //buffer del archivo: se escriben muchos nombres cortos, 64 KB en vez de los 8 KB de newBufferedWriter
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    public enum Formato {
+        GRAPHML, DOT, CSV;
+
+        //formato segun la extension del archivo: .graphml, .dot o .gv, .csv
+        public static Formato desdeArchivo(Path archivo) {
+            String nombre = archivo.getFileName().toString().toLowerCase();
+            if (nombre.endsWith(".graphml")) return GRAPHML;
+            if (nombre.endsWith(".dot") || nombre.endsWith(".gv")) return DOT;
+            if (nombre.endsWith(".csv")) return CSV;
+            throw new IllegalArgumentException("Extensión no reconocida (use .graphml, .dot, .gv o .csv): " + nombre);
+        }
+    }
+
+    //recorrido de un grafo; nodos y aristas llegan como claves enteras que 'nombre' convierte en texto
+    private interface Fuente {
+        void paraCadaNodo(IntConsumer accion);
+
+        void paraCadaArista(RelacionPrimitiva.ConsumidorPar accion);
+
+        String nombre(int nodo);
+
+        //valor del atributo k del nodo (en el orden de 'atributos')
+        default String atributo(int nodo, int k) {
+            return null;
+        }
+    }
+
+    private final String nombreGrafo;
+    private final String[] atributos;   // atributos de nodo
+    private final String[] tipos;       // tipo GraphML de cada atributo: int, boolean o string
+    private final Fuente fuente;
+
+    private ExportadorGrafos(String nombreGrafo, String[] atributos, String[] tipos, Fuente fuente) {
+        this.nombreGrafo = nombreGrafo;
+        this.atributos = atributos;
+        this.tipos = tipos;
+        this.fuente = fuente;
+    }
+
+
+    //1. Grafos que se pueden exportar
+    //grafo de implicaciones completo: (A ∨ B) da ¬A → B y ¬B → A, (A) da ¬A → A
+    //cada literal lleva el numero de su componente fuerte
+    public static ExportadorGrafos deImplicaciones(ClausulasCompiladas clausulas) {
+        GrafoImplicaciones grafo = GrafoImplicaciones.desde(clausulas);
+        ComponentesFuertes componentes = ComponentesFuertes.calcular(grafo);
+
+        return new ExportadorGrafos("implicaciones", new String[]{"componente"}, new String[]{"int"}, new Fuente() {
+            @Override
+            public void paraCadaNodo(IntConsumer accion) {
+                for (int l = 0; l < grafo.numNodos(); l++) {
+                    accion.accept(l);
+                }
+            }
+
+            @Override
+            public void paraCadaArista(RelacionPrimitiva.ConsumidorPar accion) {
+                for (int u = 0; u < grafo.numNodos(); u++) {
+                    for (int e = grafo.inicio(u); e < grafo.fin(u); e++) {
+                        accion.aceptar(u, grafo.sucesor(e));
+                    }
+                }
+            }
+
+            @Override
+            public String nombre(int nodo) {
+                return clausulas.nombreLiteral(nodo);
+            }
+
+            @Override
+            public String atributo(int nodo, int k) {
+                return String.valueOf(componentes.componente(nodo));
+            }
+        });
+    }
+
+    //condensacion del grafo de implicaciones: un nodo por componente fuerte ("C" + numero, en orden topologico inverso)
+    //con sus literales, y una arista por par de componentes conectadas; 'contradictoria' marca las que tienen x y ¬x
+    public static ExportadorGrafos deCondensacion(ClausulasCompiladas clausulas) {
+        GrafoImplicaciones grafo = GrafoImplicaciones.desde(clausulas);
+        ComponentesFuertes componentes = ComponentesFuertes.calcular(grafo);
+        int n = grafo.numNodos();
+        int c = componentes.cantidad();
+
+        //literales agrupados por componente (ordenamiento por conteo): miembros[inicio[k] .. inicio[k+1])
+        int[] inicio = new int[c + 1];
+        for (int u = 0; u < n; u++) {
+            inicio[componentes.componente(u) + 1]++;
+        }
+        for (int k = 0; k < c; k++) {
+            inicio[k + 1] += inicio[k];
+        }
+        int[] miembros = new int[n];
+        int[] posicion = Arrays.copyOf(inicio, c);
+        for (int u = 0; u < n; u++) {
+            miembros[posicion[componentes.componente(u)]++] = u;
+        }
+
+        return new ExportadorGrafos("condensacion", new String[]{"tamano", "contradictoria", "literales"},
+                new String[]{"int", "boolean", "string"}, new Fuente() {
+            @Override
+            public void paraCadaNodo(IntConsumer accion) {
+                for (int k = 0; k < c; k++) {
+                    accion.accept(k);
+                }
+            }
+
+            //'ultima[j] == k' indica que la arista k → j ya se escribio
+            @Override
+            public void paraCadaArista(RelacionPrimitiva.ConsumidorPar accion) {
+                int[] ultima = new int[c];
+                Arrays.fill(ultima, -1);
+                for (int k = 0; k < c; k++) {
+                    for (int p = inicio[k]; p < inicio[k + 1]; p++) {
+                        int u = miembros[p];
+                        for (int e = grafo.inicio(u); e < grafo.fin(u); e++) {
+                            int j = componentes.componente(grafo.sucesor(e));
+                            if (j != k && ultima[j] != k) {
+                                ultima[j] = k;
+                                accion.aceptar(k, j);
+                            }
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String nombre(int nodo) {
+                return "C" + nodo;
+            }
+
+            @Override
+            public String atributo(int nodo, int k) {
+                switch (k) {
+                    case 0:
+                        return String.valueOf(inicio[nodo + 1] - inicio[nodo]);
+                    case 1:
+                        //los literales de una variable son consecutivos en miembros (orden creciente)
+                        for (int p = inicio[nodo]; p + 1 < inicio[nodo + 1]; p++) {
+                            if ((miembros[p] ^ 1) == miembros[p + 1]) return "true";
+                        }
+                        return "false";
+                    default:
+                        StringBuilder literales = new StringBuilder();
+                        for (int p = inicio[nodo]; p < inicio[nodo + 1]; p++) {
+                            if (p > inicio[nodo]) literales.append(' ');
+                            literales.append(clausulas.nombreLiteral(miembros[p]));
+                        }
+                        return literales.toString();
+                }
+            }
+        });
+    }
+
+    //clausura calculada con calcularClausura: una arista por par (x,y), incluidos los reflexivos
+    public static ExportadorGrafos deClausura(ClausuraRelacion clausura) {
+        return deClausura(new Fuente() {
+            @Override
+            public void paraCadaNodo(IntConsumer accion) {
+                for (int i = 0; i < clausura.numElementos(); i++) {
+                    accion.accept(clausura.valor(i));
+                }
+            }
+
+            @Override
+            public void paraCadaArista(RelacionPrimitiva.ConsumidorPar accion) {
+                for (int i = 0; i < clausura.numElementos(); i++) {
+                    int x = clausura.valor(i);
+                    for (var sucesores = clausura.sucesores(x); sucesores.hasNext(); ) {
+                        accion.aceptar(x, sucesores.nextInt());
+                    }
+                }
+            }
+
+            @Override
+            public String nombre(int nodo) {
+                return String.valueOf(nodo);
+            }
+        });
+    }
+
+    //clausura fuera del heap (en memoria nativa o mapeada), leida palabra por palabra
+    public static ExportadorGrafos deClausura(MatrizSegmento matriz) {
+        return deClausura(new Fuente() {
+            @Override
+            public void paraCadaNodo(IntConsumer accion) {
+                for (int i = 0; i < matriz.tamano(); i++) {
+                    accion.accept(matriz.valor(i));
+                }
+            }
+
+            @Override
+            public void paraCadaArista(RelacionPrimitiva.ConsumidorPar accion) {
+                for (int i = 0; i < matriz.tamano(); i++) {
+                    int x = matriz.valor(i);
+                    for (int w = 0; w < matriz.palabras; w++) {
+                        long palabra = matriz.palabra(i, w);
+                        while (palabra != 0) {
+                            accion.aceptar(x, matriz.valor((w << 6) + Long.numberOfTrailingZeros(palabra)));
+                            palabra &= palabra - 1;
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String nombre(int nodo) {
+                return String.valueOf(nodo);
+            }
+        });
+    }
+
+    //clausura dispersa: las filas se arman una a la vez
+    public static ExportadorGrafos deClausura(ClausuraDispersa clausura) {
+        return deClausura(new Fuente() {
+            @Override
+            public void paraCadaNodo(IntConsumer accion) {
+                for (int i = 0; i < clausura.numElementos(); i++) {
+                    accion.accept(clausura.valor(i));
+                }
+            }
+
+            @Override
+            public void paraCadaArista(RelacionPrimitiva.ConsumidorPar accion) {
+                for (int i = 0; i < clausura.numElementos(); i++) {
+                    int x = clausura.valor(i);
+                    for (int j : clausura.alcanzablesDesde(i)) {
+                        accion.aceptar(x, clausura.valor(j));
+                    }
+                }
+            }
+
+            @Override
+            public String nombre(int nodo) {
+                return String.valueOf(nodo);
+            }
+        });
+    }
+
+    private static ExportadorGrafos deClausura(Fuente fuente) {
+        return new ExportadorGrafos("clausura", new String[0], new String[0], fuente);
+    }
+
+
+    //2. Escritura
+    //escribe en el archivo con el formato de su extension
+    public void escribir(Path archivo) throws IOException {
+        escribir(archivo, Formato.desdeArchivo(archivo));
+    }
+
+    public void escribir(Path archivo, Formato formato) throws IOException {
+        try (Writer salida = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(archivo),
+                StandardCharsets.UTF_8), TAMANO_BUFFER)) {
+            escribir(salida, formato);
+        }
+    }
+
+    //escribe en 'salida' (que no se cierra); conviene que tenga buffer
+    public void escribir(Writer salida, Formato formato) throws IOException {
+        try {
+            switch (formato) {
+                case GRAPHML -> escribirGraphml(salida);
+                case DOT -> escribirDot(salida);
+                case CSV -> escribirCsv(salida);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // los recorridos no pueden lanzar IOException
+        }
+        salida.flush();
+    }
+
+    private void escribirGraphml(Writer salida) {
+        poner(salida, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        poner(salida, "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        for (int k = 0; k < atributos.length; k++) {
+            poner(salida, "  <key id=\"" + atributos[k] + "\" for=\"node\" attr.name=\"" + atributos[k]
+                    + "\" attr.type=\"" + tipos[k] + "\"/>\n");
+        }
+        poner(salida, "  <graph id=\"" + nombreGrafo + "\" edgedefault=\"directed\">\n");
+
+        fuente.paraCadaNodo(nodo -> {
+            poner(salida, "    <node id=\"");
+            poner(salida, escaparXml(fuente.nombre(nodo)));
+            if (atributos.length == 0) {
+                poner(salida, "\"/>\n");
+                return;
+            }
+            poner(salida, "\">");
+            for (int k = 0; k < atributos.length; k++) {
+                poner(salida, "<data key=\"" + atributos[k] + "\">");
+                poner(salida, escaparXml(fuente.atributo(nodo, k)));
+                poner(salida, "</data>");
+            }
+            poner(salida, "</node>\n");
+        });
+
+        fuente.paraCadaArista((origen, destino) -> {
+            poner(salida, "    <edge source=\"");
+            poner(salida, escaparXml(fuente.nombre(origen)));
+            poner(salida, "\" target=\"");
+            poner(salida, escaparXml(fuente.nombre(destino)));
+            poner(salida, "\"/>\n");
+        });
+
+        poner(salida, "  </graph>\n</graphml>\n");
+    }
+
+    private void escribirDot(Writer salida) {
+        poner(salida, "digraph " + nombreGrafo + " {\n");
+
+        fuente.paraCadaNodo(nodo -> {
+            poner(salida, "  ");
+            poner(salida, escaparDot(fuente.nombre(nodo)));
+            if (atributos.length > 0) {
+                poner(salida, " [");
+                for (int k = 0; k < atributos.length; k++) {
+                    if (k > 0) poner(salida, ", ");
+                    poner(salida, atributos[k] + "=");
+                    poner(salida, escaparDot(fuente.atributo(nodo, k)));
+                }
+                poner(salida, "]");
+            }
+            poner(salida, ";\n");
+        });
+
+        fuente.paraCadaArista((origen, destino) -> {
+            poner(salida, "  ");
+            poner(salida, escaparDot(fuente.nombre(origen)));
+            poner(salida, " -> ");
+            poner(salida, escaparDot(fuente.nombre(destino)));
+            poner(salida, ";\n");
+        });
+
+        poner(salida, "}\n");
+    }
+
+    //solo aristas; los nodos sin aristas no aparecen
+    private void escribirCsv(Writer salida) {
+        poner(salida, "origen,destino\n");
+        fuente.paraCadaArista((origen, destino) -> {
+            poner(salida, escaparCsv(fuente.nombre(origen)));
+            poner(salida, ",");
+            poner(salida, escaparCsv(fuente.nombre(destino)));
+            poner(salida, "\n");
+        });
+    }
+
+
+    //3. Metodos auxiliares
+    private static void poner(Writer salida, String texto) {
+        try {
+            salida.write(texto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String escaparXml(String texto) {
+        if (texto.indexOf('&') < 0 && texto.indexOf('<') < 0 && texto.indexOf('>') < 0 && texto.indexOf('"') < 0) {
+            return texto;
+        }
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    //los identificadores de DOT van siempre entre comillas: "-1" no es un identificador valido sin ellas
+    private static String escaparDot(String texto) {
+        return "\"" + texto.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String escaparCsv(String texto) {
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0) {
+            return texto;
+        }
+        return "\"" + texto.replace("\"", "\"\"") + "\"";
+    }
+
+}
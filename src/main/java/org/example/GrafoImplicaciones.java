@@ -0,0 +1,133 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class GrafoImplicaciones {
+
+    //grafo de implicaciones en formato de filas comprimidas (CSR):
+    //los sucesores del literal u estan en sucesores[inicio[u] .. inicio[u+1])
+    //(A ∨ B) genera ¬A → B y ¬B → A, (A) genera ¬A → A
+
+    final int numNodos;
+    final int[] inicio;
+    final int[] sucesores;
+
+    GrafoImplicaciones(int numNodos, int[] inicio, int[] sucesores) {
+        this.numNodos = numNodos;
+        this.inicio = inicio;
+        this.sucesores = sucesores;
+    }
+
+    public static GrafoImplicaciones desde(ClausulasCompiladas clausulas) {
+        return desde(clausulas, true);
+    }
+
+    //solo las implicaciones de las clausulas binarias (la resolucion por literal no usa las unitarias)
+    public static GrafoImplicaciones desdeBinarias(ClausulasCompiladas clausulas) {
+        return desde(clausulas, false);
+    }
+
+    private static GrafoImplicaciones desde(ClausulasCompiladas clausulas, boolean conUnitarias) {
+        int n = clausulas.numLiterales();
+        int m = (conUnitarias ? clausulas.numUnitarias() : 0) + 2 * clausulas.numBinarias();
+        int[] origen = new int[m];
+        int[] destino = new int[m];
+        int e = 0;
+
+        if (conUnitarias) {
+            for (int i = 0; i < clausulas.numUnitarias(); i++) {
+                int a = clausulas.unitaria(i);
+                origen[e] = a ^ 1;
+                destino[e++] = a;
+            }
+        }
+        for (int i = 0; i < clausulas.numBinarias(); i++) {
+            int a = clausulas.literal1(i);
+            int b = clausulas.literal2(i);
+            origen[e] = a ^ 1;
+            destino[e++] = b;
+            origen[e] = b ^ 1;
+            destino[e++] = a;
+        }
+
+        return desdeAristas(n, origen, destino, m);
+    }
+
+    //construye el CSR a partir de las primeras m aristas (origen[e] → destino[e])
+    static GrafoImplicaciones desdeAristas(int n, int[] origen, int[] destino, int m) {
+        int[] inicio = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            inicio[origen[e] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            inicio[u + 1] += inicio[u];
+        }
+        int[] sucesores = new int[m];
+        int[] posicion = Arrays.copyOf(inicio, n);
+        for (int e = 0; e < m; e++) {
+            sucesores[posicion[origen[e]]++] = destino[e];
+        }
+        return new GrafoImplicaciones(n, inicio, sucesores);
+    }
+
+    //mismo grafo con las aristas invertidas: los sucesores de u en el resultado son sus predecesores aqui
+    public GrafoImplicaciones invertido() {
+        int m = sucesores.length;
+        int[] origen = new int[m];
+        for (int u = 0; u < numNodos; u++) {
+            for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+                origen[e] = u;
+            }
+        }
+        return desdeAristas(numNodos, sucesores, origen, m);
+    }
+
+    public int numNodos() {
+        return numNodos;
+    }
+
+    public int numAristas() {
+        return sucesores.length;
+    }
+
+    //posicion de la primera arista de u
+    public int inicio(int u) {
+        return inicio[u];
+    }
+
+    //posicion siguiente a la ultima arista de u
+    public int fin(int u) {
+        return inicio[u + 1];
+    }
+
+    public int sucesor(int e) {
+        return sucesores[e];
+    }
+
+    //literales alcanzables desde 'origen' (incluido), en orden de recorrido en anchura
+    //'marca' debe tener numNodos posiciones en false y se deja igual al terminar
+    public int[] alcanzables(int origen, boolean[] marca) {
+        int[] cola = new int[numNodos];
+        int fin = 0;
+        cola[fin++] = origen;
+        marca[origen] = true;
+
+        for (int frente = 0; frente < fin; frente++) {
+            int u = cola[frente];
+            for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+                int w = sucesores[e];
+                if (!marca[w]) {
+                    marca[w] = true;
+                    cola[fin++] = w;
+                }
+            }
+        }
+
+        int[] resultado = Arrays.copyOf(cola, fin);
+        for (int w : resultado) {
+            marca[w] = false;
+        }
+        return resultado;
+    }
+
+}
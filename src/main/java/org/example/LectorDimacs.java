@@ -0,0 +1,284 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class LectorDimacs {
+
+    //carga archivos DIMACS 'p cnf' directamente a ClausulasCompiladas
+    //lee por bloques desde un FileChannel y analiza los bytes sin crear un String por linea
+    //la variable DIMACS k (1..V) es la variable k-1; su valor para mostrar es k
+
+    private static final int TAMANO_BLOQUE = 1 << 20;
+
+    //resultado de la carga con los datos del encabezado y lo que no se pudo cargar
+    public static class Resultado {
+        public final ClausulasCompiladas clausulas;
+        public final int variablesDeclaradas;
+        public final long clausulasDeclaradas;
+        public final long clausulasLeidas;
+        public final long clausulasDescartadas;   // mas de dos literales
+        public final long clausulasVacias;        // la formula es insatisfacible
+
+        Resultado(ClausulasCompiladas clausulas, int variablesDeclaradas, long clausulasDeclaradas,
+                  long clausulasLeidas, long clausulasDescartadas, long clausulasVacias) {
+            this.clausulas = clausulas;
+            this.variablesDeclaradas = variablesDeclaradas;
+            this.clausulasDeclaradas = clausulasDeclaradas;
+            this.clausulasLeidas = clausulasLeidas;
+            this.clausulasDescartadas = clausulasDescartadas;
+            this.clausulasVacias = clausulasVacias;
+        }
+
+        //true si se cargaron todas las clausulas: solo entonces un modelo de 'clausulas' lo es del archivo
+        //(si la parte cargada es insatisfacible, el archivo tambien lo es)
+        public boolean esCompleto() {
+            return clausulasDescartadas == 0;
+        }
+    }
+
+
+    //1. Carga
+    //estricto = true rechaza el archivo ante la primera clausula de mas de dos literales;
+    //en otro caso se descartan y se cuentan en el resultado
+    public static Resultado cargar(Path archivo, boolean estricto) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return new LectorDimacs(canal).leer(estricto);
+        }
+    }
+
+    private final FileChannel canal;
+    private final ByteBuffer bloque = ByteBuffer.allocateDirect(TAMANO_BLOQUE);
+    private boolean finArchivo;
+
+    private LectorDimacs(FileChannel canal) {
+        this.canal = canal;
+        bloque.flip(); // vacio hasta la primera lectura
+    }
+
+    private Resultado leer(boolean estricto) throws IOException {
+
+        //encabezado: se saltan comentarios 'c' hasta la linea 'p cnf V C'
+        int c = saltarEspacios();
+        while (c == 'c') {
+            saltarLinea();
+            c = saltarEspacios();
+        }
+        if (c != 'p') {
+            throw new IllegalArgumentException("Formato DIMACS inválido: falta la línea 'p cnf'");
+        }
+        if (saltarEspacios() != 'c' || leerByte() != 'n' || leerByte() != 'f') {
+            throw new IllegalArgumentException("Formato DIMACS inválido: solo se admite 'p cnf'");
+        }
+        long variablesDeclaradas = leerEntero(saltarEspacios());
+        long clausulasDeclaradas = leerEntero(saltarEspacios());
+        if (variablesDeclaradas < 0 || variablesDeclaradas > Integer.MAX_VALUE / 2 || clausulasDeclaradas < 0) {
+            throw new IllegalArgumentException("Formato DIMACS inválido: encabezado fuera de rango");
+        }
+        int numVariables = (int) variablesDeclaradas;
+
+        int capacidad = (int) Math.min(clausulasDeclaradas, 1 << 24);
+        int[] unitarias = new int[Math.max(16, capacidad / 8)];
+        int[] literales1 = new int[Math.max(16, capacidad)];
+        int[] literales2 = new int[Math.max(16, capacidad)];
+        int numUnitarias = 0;
+        int numBinarias = 0;
+        long leidas = 0;
+        long descartadas = 0;
+        long vacias = 0;
+
+        //clausulas: enteros terminados en 0, pueden ocupar varias lineas
+        int[] actual = new int[2];
+        int enClausula = 0;
+
+        while (true) {
+            c = saltarEspacios();
+            if (c == -1 || c == '%') {
+                break; // algunos archivos SATLIB terminan con '%'
+            }
+            if (c == 'c') {
+                saltarLinea();
+                continue;
+            }
+
+            long k = leerEntero(c);
+            if (k != 0) {
+                if (k > numVariables || -k > numVariables) {
+                    throw new IllegalArgumentException("Formato DIMACS inválido: literal " + k +
+                            " fuera de las " + numVariables + " variables declaradas");
+                }
+                if (enClausula < 2) {
+                    actual[enClausula] = k > 0 ? 2 * (int) (k - 1) : 2 * (int) (-k - 1) + 1;
+                }
+                enClausula++;
+                continue;
+            }
+
+            //fin de clausula
+            leidas++;
+            if (enClausula == 0) {
+                vacias++;
+            } else if (enClausula == 1) {
+                if (numUnitarias == unitarias.length) {
+                    unitarias = Arrays.copyOf(unitarias, 2 * unitarias.length);
+                }
+                unitarias[numUnitarias++] = actual[0];
+            } else if (enClausula == 2) {
+                if (numBinarias == literales1.length) {
+                    literales1 = Arrays.copyOf(literales1, 2 * literales1.length);
+                    literales2 = Arrays.copyOf(literales2, 2 * literales2.length);
+                }
+                literales1[numBinarias] = actual[0];
+                literales2[numBinarias] = actual[1];
+                numBinarias++;
+            } else {
+                if (estricto) {
+                    throw new IllegalArgumentException("La cláusula " + leidas + " tiene " + enClausula +
+                            " literales: el solucionador solo admite 2-CNF");
+                }
+                descartadas++;
+            }
+            enClausula = 0;
+        }
+
+        if (enClausula != 0) {
+            throw new IllegalArgumentException("Formato DIMACS inválido: la última cláusula no termina en 0");
+        }
+
+        int[] valores = new int[numVariables];
+        for (int v = 0; v < numVariables; v++) {
+            valores[v] = v + 1;
+        }
+
+        ClausulasCompiladas clausulas = ClausulasCompiladas.crear(valores, unitarias, numUnitarias,
+                literales1, literales2, numBinarias);
+        return new Resultado(clausulas, numVariables, clausulasDeclaradas, leidas, descartadas, vacias);
+    }
+
+
+    //2. Lectura de bytes
+    //siguiente byte o -1 al final del archivo
+    private int leerByte() throws IOException {
+        if (!bloque.hasRemaining()) {
+            if (finArchivo) {
+                return -1;
+            }
+            bloque.clear();
+            int leidos;
+            do {
+                leidos = canal.read(bloque);
+            } while (leidos == 0);
+            bloque.flip();
+            if (leidos < 0) {
+                finArchivo = true;
+                return -1;
+            }
+        }
+        return bloque.get() & 0xFF;
+    }
+
+    //primer byte que no sea espacio, tabulador o salto de linea
+    private int saltarEspacios() throws IOException {
+        int c;
+        do {
+            c = leerByte();
+        } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+        return c;
+    }
+
+    private void saltarLinea() throws IOException {
+        int c;
+        do {
+            c = leerByte();
+        } while (c != '\n' && c != -1);
+    }
+
+    //entero con signo cuyo primer byte ya se leyo; consume el separador que lo sigue
+    private long leerEntero(int c) throws IOException {
+        boolean negativo = false;
+        if (c == '-') {
+            negativo = true;
+            c = leerByte();
+        }
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Formato DIMACS inválido: se esperaba un número");
+        }
+        long valor = 0;
+        while (c >= '0' && c <= '9') {
+            valor = valor * 10 + (c - '0');
+            if (valor > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Formato DIMACS inválido: número demasiado grande");
+            }
+            c = leerByte();
+        }
+        if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != -1) {
+            throw new IllegalArgumentException("Formato DIMACS inválido: carácter inesperado '" + (char) c + "'");
+        }
+        return negativo ? -valor : valor;
+    }
+
+
+    //3. Ejecucion directa: java org.example.LectorDimacs archivo.cnf [--estricto]
+    //el estado de salida sigue la convencion de las competencias SAT:
+    //  - SALIDA_SATISFACIBLE (10) y SALIDA_INSATISFACIBLE (20)
+    //  - SALIDA_DESCONOCIDO (0): se descartaron clausulas y la parte 2-CNF es satisfacible; las descartadas
+    //    podrian hacer insatisfacible la formula
+    //  - SALIDA_ERROR (1): uso incorrecto, archivo ilegible o mal formado; el mensaje va a la salida de errores
+    static final int SALIDA_DESCONOCIDO = 0;
+    static final int SALIDA_ERROR = 1;
+    static final int SALIDA_SATISFACIBLE = 10;
+    static final int SALIDA_INSATISFACIBLE = 20;
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2 || (args.length == 2 && !args[1].equals("--estricto"))) {
+            System.err.println("Uso: LectorDimacs <archivo.cnf> [--estricto]");
+            System.exit(SALIDA_ERROR);
+        }
+        boolean estricto = args.length > 1;
+
+        long inicio = System.nanoTime();
+        Resultado r;
+        try {
+            r = cargar(Path.of(args[0]), estricto);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(SALIDA_ERROR);
+            return;
+        } catch (IOException e) {
+            System.err.println("Error: no se pudo leer " + args[0] + " (" + e + ")");
+            System.exit(SALIDA_ERROR);
+            return;
+        }
+        long carga = System.nanoTime() - inicio;
+
+        System.out.println("Variables: " + r.variablesDeclaradas +
+                " | Cláusulas declaradas: " + r.clausulasDeclaradas +
+                " | leídas: " + r.clausulasLeidas +
+                " | descartadas (>2 literales): " + r.clausulasDescartadas);
+        System.out.println("Carga: " + carga / 1_000_000 + " ms");
+
+        if (!r.esCompleto()) {
+            System.out.println("AVISO: se descartaron cláusulas de más de dos literales; solo se resuelve la parte 2-CNF");
+        }
+
+        inicio = System.nanoTime();
+        boolean satisfacible = r.clausulasVacias == 0 && Resolvedor2SAT.resolver(r.clausulas) != null;
+        long resolucion = System.nanoTime() - inicio;
+
+        if (!satisfacible) {
+            System.out.println("RESULTADO 2-SAT: NO SATISFACIBLE");
+        } else if (r.esCompleto()) {
+            System.out.println("RESULTADO 2-SAT: SATISFACIBLE");
+        } else {
+            System.out.println("RESULTADO 2-SAT: DESCONOCIDO (la parte 2-CNF es satisfacible; no se comprobaron " +
+                    r.clausulasDescartadas + " cláusulas descartadas)");
+        }
+        System.out.println("Resolución: " + resolucion / 1_000_000 + " ms");
+        System.exit(!satisfacible ? SALIDA_INSATISFACIBLE : r.esCompleto() ? SALIDA_SATISFACIBLE : SALIDA_DESCONOCIDO);
+    }
+
+}
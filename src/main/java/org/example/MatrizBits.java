@@ -0,0 +1,97 @@
+package org.example;
+
+public class MatrizBits {
+
+    //matriz booleana n x n empaquetada por filas en palabras de 64 bits
+    //la celda (i,j) es el bit (j % 64) de la palabra (j / 64) de la fila i
+
+    final int n;
+    final int palabras;
+    final long[][] filas;
+
+    public MatrizBits(int n) {
+        this.n = n;
+        this.palabras = (n + 63) >>> 6;
+        this.filas = new long[n][palabras];
+    }
+
+    public int tamano() {
+        return n;
+    }
+
+    public boolean get(int i, int j) {
+        return (filas[i][j >>> 6] & (1L << j)) != 0;
+    }
+
+    public void set(int i, int j) {
+        filas[i][j >>> 6] |= 1L << j;
+    }
+
+    public void quitar(int i, int j) {
+        filas[i][j >>> 6] &= ~(1L << j);
+    }
+
+    //fila i como arreglo de palabras (sin copia)
+    public long[] fila(int i) {
+        return filas[i];
+    }
+
+    //numero total de celdas en true
+    public long contarUnos() {
+        long total = 0;
+        for (long[] fila : filas) {
+            for (long palabra : fila) {
+                total += Long.bitCount(palabra);
+            }
+        }
+        return total;
+    }
+
+    //copia profunda
+    public MatrizBits copia() {
+        MatrizBits copia = new MatrizBits(n);
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(filas[i], 0, copia.filas[i], 0, palabras);
+        }
+        return copia;
+    }
+
+    //conversion a la representacion de un byte por celda
+    public boolean[][] aMatrizBooleana() {
+        boolean[][] matriz = new boolean[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matriz[i][j] = get(i, j);
+            }
+        }
+        return matriz;
+    }
+
+    //paso de Warshall para un k fijo sobre la fila i: si R[i][k] entonces fila_i |= fila_k
+    //procesa 64 columnas por palabra y devuelve cuantas celdas nuevas se activaron
+    static int orSiAlcanza(long[] filaI, long[] filaK, int k) {
+        if ((filaI[k >>> 6] & (1L << k)) == 0) {
+            return 0;
+        }
+        int nuevos = 0;
+        for (int w = 0; w < filaI.length; w++) {
+            long agregados = filaK[w] & ~filaI[w];
+            if (agregados != 0) {
+                nuevos += Long.bitCount(agregados);
+                filaI[w] |= agregados;
+            }
+        }
+        return nuevos;
+    }
+
+    //Warshall completo sobre la matriz (sin mensajes), modifica la matriz en sitio
+    public void cerrarTransitivamente() {
+        for (int k = 0; k < n; k++) {
+            long[] filaK = filas[k];
+            for (int i = 0; i < n; i++) {
+                orSiAlcanza(filas[i], filaK, k);
+            }
+        }
+    }
+
+}
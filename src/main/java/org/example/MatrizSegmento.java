@@ -0,0 +1,254 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MatrizSegmento implements AutoCloseable {
+
+    //matriz booleana n x n empaquetada por filas (igual que MatrizBits) pero fuera del heap, en un MemorySegment:
+    //reservado en un Arena, o mapeado desde un archivo para universos mas grandes que la memoria
+    //el heap usado no depende de n y el archivo se puede volver a abrir sin recalcular la clausura
+    //
+    //formato (little-endian, igual en memoria y en archivo):
+    //  0  long  firma "CLAUSURA"
+    //  8  int   version
+    //  12 int   n
+    //  16 int   1 si la matriz ya esta cerrada transitivamente
+    //  20 int   reservado
+    //  24 long  reservado
+    //  32       valores[n] (int, ascendentes), completado a multiplo de 8
+    //  ...      filas: n filas de 'palabras' long
+
+    private static final long FIRMA = 0x4152555355414C43L; // "CLAUSURA" en little-endian
+    private static final int VERSION = 1;
+    private static final long ENCABEZADO = 32;
+
+    private static final ValueLayout.OfLong PALABRA = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt ENTERO = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    final int n;
+    final int palabras;
+    private final Arena arena;
+    private final MemorySegment datos;
+    private final long inicioFilas;
+    private final boolean mapeada;
+    private final boolean soloLectura;
+
+    private MatrizSegmento(Arena arena, MemorySegment datos, int n, boolean mapeada, boolean soloLectura) {
+        this.n = n;
+        this.palabras = (n + 63) >>> 6;
+        this.arena = arena;
+        this.datos = datos;
+        this.inicioFilas = inicioFilas(n);
+        this.mapeada = mapeada;
+        this.soloLectura = soloLectura;
+    }
+
+
+    //1. Creacion y apertura
+    //matriz vacia en memoria fuera del heap; valores ascendentes y sin repetidos (indice = fila/columna)
+    public static MatrizSegmento enMemoria(int[] valores) {
+        Arena arena = Arena.ofShared();
+        MemorySegment datos = arena.allocate(tamanoTotal(valores.length), Long.BYTES); // queda en ceros
+        MatrizSegmento matriz = new MatrizSegmento(arena, datos, valores.length, false, false);
+        matriz.escribirEncabezado(valores);
+        return matriz;
+    }
+
+    //matriz vacia mapeada en el archivo (se crea o se sobrescribe)
+    public static MatrizSegmento enArchivo(Path archivo, int[] valores) throws IOException {
+        long tamano = tamanoTotal(valores.length);
+        Arena arena = Arena.ofShared();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            //el archivo se extiende escribiendo su ultimo byte; el resto queda en ceros
+            canal.write(ByteBuffer.allocate(1), tamano - 1);
+            MemorySegment datos = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano, arena);
+            MatrizSegmento matriz = new MatrizSegmento(arena, datos, valores.length, true, false);
+            matriz.escribirEncabezado(valores);
+            return matriz;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    //abre una matriz guardada con enArchivo (cerrada o no) sin copiarla al heap, solo para consultarla:
+    //el archivo puede ser de solo lectura o estar en un montaje de solo lectura
+    public static MatrizSegmento abrir(Path archivo) throws IOException {
+        return abrir(archivo, false);
+    }
+
+    //con escritura, para seguir modificando la matriz (por ejemplo cerrar una que se guardo sin cerrar)
+    public static MatrizSegmento abrir(Path archivo, boolean escritura) throws IOException {
+        Arena arena = Arena.ofShared();
+        StandardOpenOption[] opciones = escritura
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel canal = FileChannel.open(archivo, opciones)) {
+            long tamano = canal.size();
+            if (tamano < ENCABEZADO) {
+                throw new IllegalArgumentException("Archivo de matriz inválido: demasiado corto");
+            }
+            MemorySegment datos = canal.map(escritura ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, tamano, arena);
+            if (datos.get(PALABRA, 0) != FIRMA) {
+                throw new IllegalArgumentException("Archivo de matriz inválido: firma desconocida");
+            }
+            if (datos.get(ENTERO, 8) != VERSION) {
+                throw new IllegalArgumentException("Archivo de matriz inválido: versión " + datos.get(ENTERO, 8));
+            }
+            int n = datos.get(ENTERO, 12);
+            if (n < 0 || tamanoTotal(n) != tamano) {
+                throw new IllegalArgumentException("Archivo de matriz inválido: tamaño no corresponde a n = " + n);
+            }
+            return new MatrizSegmento(arena, datos, n, true, !escritura);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private static long inicioFilas(int n) {
+        return ENCABEZADO + ((4L * n + 7) & ~7L);
+    }
+
+    private static long tamanoTotal(int n) {
+        return inicioFilas(n) + (long) n * ((n + 63) >>> 6) * Long.BYTES;
+    }
+
+    private void escribirEncabezado(int[] valores) {
+        datos.set(PALABRA, 0, FIRMA);
+        datos.set(ENTERO, 8, VERSION);
+        datos.set(ENTERO, 12, n);
+        datos.set(ENTERO, 16, 0);
+        for (int i = 0; i < n; i++) {
+            datos.set(ENTERO, ENCABEZADO + 4L * i, valores[i]);
+        }
+    }
+
+
+    //2. Acceso
+    public int tamano() {
+        return n;
+    }
+
+    //elemento original del indice i
+    public int valor(int i) {
+        return datos.get(ENTERO, ENCABEZADO + 4L * i);
+    }
+
+    //indice del elemento (busqueda binaria sobre los valores guardados), o -1 si no esta
+    public int indiceDe(int valor) {
+        int bajo = 0;
+        int alto = n - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int actual = valor(medio);
+            if (actual < valor) {
+                bajo = medio + 1;
+            } else if (actual > valor) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    //desplazamiento en bytes de la palabra w de la fila i
+    private long posicion(int i, int w) {
+        return inicioFilas + ((long) i * palabras + w) * Long.BYTES;
+    }
+
+    public long palabra(int i, int w) {
+        return datos.get(PALABRA, posicion(i, w));
+    }
+
+    public boolean get(int i, int j) {
+        return (palabra(i, j >>> 6) & (1L << j)) != 0;
+    }
+
+    //un par nuevo puede romper la clausura: se quita la marca de cerrada (y en el archivo, si esta mapeada)
+    public void set(int i, int j) {
+        verificarEscritura();
+        long p = posicion(i, j >>> 6);
+        datos.set(PALABRA, p, datos.get(PALABRA, p) | (1L << j));
+        if (datos.get(ENTERO, 16) == 1) {
+            datos.set(ENTERO, 16, 0);
+        }
+    }
+
+    //(x,y) pertenece a la matriz, por elementos originales
+    public boolean alcanza(int x, int y) {
+        int i = indiceDe(x);
+        int j = indiceDe(y);
+        return i >= 0 && j >= 0 && get(i, j);
+    }
+
+    //numero total de celdas en true
+    public long contarUnos() {
+        long total = 0;
+        long fin = inicioFilas + (long) n * palabras * Long.BYTES;
+        for (long p = inicioFilas; p < fin; p += Long.BYTES) {
+            total += Long.bitCount(datos.get(PALABRA, p));
+        }
+        return total;
+    }
+
+    public boolean estaCerrada() {
+        return datos.get(ENTERO, 16) == 1;
+    }
+
+
+    //3. Clausura
+    //Warshall directamente sobre el segmento: con k fijo, si R[i][k] entonces fila_i |= fila_k
+    //al terminar se marca como cerrada en el encabezado (y en el archivo, si esta mapeada)
+    public void cerrarTransitivamente() {
+        verificarEscritura();
+        for (int k = 0; k < n; k++) {
+            long filaK = posicion(k, 0);
+            long columnaK = (long) (k >>> 6) * Long.BYTES;
+            long bitK = 1L << k;
+
+            for (int i = 0; i < n; i++) {
+                long filaI = posicion(i, 0);
+                if ((datos.get(PALABRA, filaI + columnaK) & bitK) == 0) continue;
+
+                for (long o = 0; o < (long) palabras * Long.BYTES; o += Long.BYTES) {
+                    long agregados = datos.get(PALABRA, filaK + o);
+                    if (agregados != 0) {
+                        datos.set(PALABRA, filaI + o, datos.get(PALABRA, filaI + o) | agregados);
+                    }
+                }
+            }
+        }
+        datos.set(ENTERO, 16, 1);
+        if (mapeada) {
+            datos.force();
+        }
+    }
+
+    private void verificarEscritura() {
+        if (soloLectura) {
+            throw new IllegalStateException("La matriz se abrió solo para lectura");
+        }
+    }
+
+    //libera la memoria o el mapeo (los cambios de una matriz mapeada quedan en el archivo)
+    @Override
+    public void close() {
+        if (mapeada && !soloLectura && arena.scope().isAlive()) {
+            datos.force();
+        }
+        arena.close();
+    }
+
+}
@@ -0,0 +1,438 @@
+package org.example;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ModoLote {
+
+    //modo no interactivo: lee el conjunto y la relacion de un archivo o de la entrada estandar,
+    //calcula la clausura reflexiva-transitiva y resuelve 2-SAT, y escribe un resultado compacto
+    //no usa Scanner ni carga clases de AWT/Swing
+    //
+    //formato de entrada (mismo orden que el menu interactivo):
+    //  elementos del conjunto, uno o varios por linea, hasta 'fin'
+    //  pares 'x,y' o 'x', uno por linea, hasta 'fin' o el final del archivo
+    //  las lineas que empiezan con '#' son comentarios; si el conjunto esta vacio
+    //  se toma como universo lo que aparezca en los pares
+
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    //por encima de este tamano de matriz densa (en bytes) se usa la clausura dispersa
+    private static final long LIMITE_MATRIZ_DENSA = 256L << 20;
+
+    private final InputStream entrada;
+    private final byte[] buffer = new byte[TAMANO_BUFFER];
+    private int posicion;
+    private int limite;
+
+    //conjunto universo y relacion en arreglos primitivos
+    private int[] universo = new int[64];
+    private int numUniverso;
+    private int[] xs = new int[1024];
+    private int[] ys = new int[1024];
+    private int numPares;
+    private int[] individuales = new int[64];
+    private int numIndividuales;
+    private long lineasRechazadas;
+
+    private ModoLote(InputStream entrada) {
+        this.entrada = entrada;
+    }
+
+
+    //1. Punto de entrada
+    //argumentos: <archivo|-> [--clausura] [--hilos N] [--dispersa] [--fuera-heap] [--mapeada archivo]
+    //            [--exportar implicaciones|componentes|clausura archivo.{graphml,dot,csv}] (se puede repetir)
+    public static void ejecutar(String[] args) throws IOException {
+        String origen = "-";
+        boolean escribirClausura = false;
+        boolean dispersa = false;
+        boolean fueraHeap = false;
+        Path mapeada = null;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        List<String> exportaciones = new ArrayList<>(); // pares tipo, archivo
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--clausura" -> escribirClausura = true;
+                case "--hilos" -> hilos = Integer.parseInt(args[++i]);
+                case "--dispersa" -> dispersa = true;
+                case "--fuera-heap" -> fueraHeap = true;
+                case "--mapeada" -> mapeada = Path.of(args[++i]);
+                case "--exportar" -> {
+                    String tipo = args[++i];
+                    if (!tipo.equals("implicaciones") && !tipo.equals("componentes") && !tipo.equals("clausura")) {
+                        throw new IllegalArgumentException("Tipo de exportación desconocido: " + tipo);
+                    }
+                    exportaciones.add(tipo);
+                    exportaciones.add(args[++i]);
+                }
+                default -> origen = args[i];
+            }
+        }
+
+        InputStream entrada = origen.equals("-") ? System.in : Files.newInputStream(Path.of(origen));
+        OutputStream salida = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), TAMANO_BUFFER);
+
+        try (entrada) {
+            ModoLote lote = new ModoLote(entrada);
+            lote.leer();
+            lote.resolver(salida, escribirClausura, hilos, dispersa, fueraHeap, mapeada, exportaciones);
+        }
+        salida.flush();
+    }
+
+
+    //2. Lectura
+    private void leer() throws IOException {
+        //seccion 1: conjunto
+        while (true) {
+            int c = saltarEspacios();
+            if (c == -1) return;
+            if (c == '#') {
+                saltarLinea();
+            } else if (c == 'f' || c == 'F') {
+                if (leerFin()) break;
+                lineasRechazadas++;
+            } else if (esInicioNumero(c)) {
+                leerElementos(c);
+            } else {
+                lineasRechazadas++;
+                saltarLinea();
+            }
+        }
+
+        Arrays.sort(universo, 0, numUniverso);
+
+        //seccion 2: relacion
+        while (true) {
+            int c = saltarEspacios();
+            if (c == -1) return;
+            if (c == '#') {
+                saltarLinea();
+            } else if (c == 'f' || c == 'F') {
+                if (leerFin()) return;
+                lineasRechazadas++;
+            } else if (esInicioNumero(c)) {
+                leerPar(c);
+            } else {
+                lineasRechazadas++;
+                saltarLinea();
+            }
+        }
+    }
+
+    //uno o varios elementos separados por espacios o comas
+    private void leerElementos(int c) throws IOException {
+        while (true) {
+            long valor = leerEntero(c);
+            if (valor == Long.MIN_VALUE) {
+                lineasRechazadas++;
+                saltarLinea();
+                return;
+            }
+            if (numUniverso == universo.length) {
+                universo = Arrays.copyOf(universo, 2 * numUniverso);
+            }
+            universo[numUniverso++] = (int) valor;
+
+            c = siguienteEnLinea();
+            if (c == '\n' || c == -1) return;
+            if (c == ',') c = siguienteEnLinea();
+            if (!esInicioNumero(c)) {
+                lineasRechazadas++;
+                if (c != '\n' && c != -1) saltarLinea();
+                return;
+            }
+        }
+    }
+
+    //'x,y' o 'x'; se rechaza si algun elemento no esta en el conjunto
+    private void leerPar(int c) throws IOException {
+        long x = leerEntero(c);
+        long y = Long.MIN_VALUE;
+        if (x != Long.MIN_VALUE) {
+            c = siguienteEnLinea();
+            if (c == ',') {
+                y = leerEntero(siguienteEnLinea());
+                if (y == Long.MIN_VALUE) x = Long.MIN_VALUE;
+                c = siguienteEnLinea();
+            }
+            if (c != '\n' && c != -1) x = Long.MIN_VALUE;
+        }
+
+        if (x == Long.MIN_VALUE || !enUniverso((int) x) || (y != Long.MIN_VALUE && !enUniverso((int) y))) {
+            lineasRechazadas++;
+            if (c != '\n' && c != -1) saltarLinea();
+            return;
+        }
+
+        if (y == Long.MIN_VALUE) {
+            if (numIndividuales == individuales.length) {
+                individuales = Arrays.copyOf(individuales, 2 * numIndividuales);
+            }
+            individuales[numIndividuales++] = (int) x;
+        } else {
+            if (numPares == xs.length) {
+                xs = Arrays.copyOf(xs, 2 * numPares);
+                ys = Arrays.copyOf(ys, 2 * numPares);
+            }
+            xs[numPares] = (int) x;
+            ys[numPares] = (int) y;
+            numPares++;
+        }
+    }
+
+    private boolean enUniverso(int x) {
+        return numUniverso == 0 || Arrays.binarySearch(universo, 0, numUniverso, x) >= 0;
+    }
+
+
+    //3. Resolucion y salida compacta
+    private void resolver(OutputStream salida, boolean escribirClausura, int hilos, boolean dispersa,
+                          boolean fueraHeap, Path mapeada, List<String> exportaciones) throws IOException {
+        //elementos ordenados y numerados igual que en calcularClausura; las clausulas tienen una variable por |x|
+        int[] elementos = ClausuraTransitivaReflexiva.elementosOrdenados(xs, ys, numPares, individuales, numIndividuales);
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(xs, ys, numPares, individuales, numIndividuales);
+        int n = elementos.length;
+
+        //los grafos se escriben antes de calcular la clausura; la clausura, cuando ya esta lista
+        for (int i = 0; i < exportaciones.size(); i += 2) {
+            Path archivo = Path.of(exportaciones.get(i + 1));
+            switch (exportaciones.get(i)) {
+                case "implicaciones" -> ExportadorGrafos.deImplicaciones(clausulas).escribir(archivo);
+                case "componentes" -> ExportadorGrafos.deCondensacion(clausulas).escribir(archivo);
+            }
+        }
+
+        if (fueraHeap || mapeada != null) {
+            //matriz fuera del heap (en memoria nativa o mapeada en archivo)
+            try (MatrizSegmento S = mapeada == null ? MatrizSegmento.enMemoria(elementos)
+                    : MatrizSegmento.enArchivo(mapeada, elementos)) {
+                for (int i = 0; i < numPares; i++) {
+                    S.set(Arrays.binarySearch(elementos, xs[i]), Arrays.binarySearch(elementos, ys[i]));
+                }
+                for (int i = 0; i < n; i++) {
+                    S.set(i, i); // reflexividad
+                }
+                S.cerrarTransitivamente();
+                for (Path archivo : archivosDeClausura(exportaciones)) {
+                    ExportadorGrafos.deClausura(S).escribir(archivo);
+                }
+
+                escribirResumen(salida, n, clausulas, S.contarUnos());
+                if (escribirClausura) {
+                    for (int i = 0; i < n; i++) {
+                        for (int w = 0; w < S.palabras; w++) {
+                            long palabra = S.palabra(i, w);
+                            while (palabra != 0) {
+                                int j = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                                escribirPar(salida, elementos[i], elementos[j]);
+                                palabra &= palabra - 1;
+                            }
+                        }
+                    }
+                }
+            }
+            return;
+        }
+
+        //matriz densa con Warshall paralelo, o clausura dispersa si la matriz no cabe razonablemente
+        MatrizBits R = null;
+        ClausuraDispersa D = null;
+        if (dispersa || (long) n * n / 8 > LIMITE_MATRIZ_DENSA) {
+            D = ClausuraDispersa.calcular(xs, ys, numPares, individuales, numIndividuales);
+        } else {
+            R = new MatrizBits(n);
+            for (int i = 0; i < numPares; i++) {
+                R.set(Arrays.binarySearch(elementos, xs[i]), Arrays.binarySearch(elementos, ys[i]));
+            }
+            for (int i = 0; i < n; i++) {
+                R.set(i, i); // reflexividad
+            }
+            if (n > 0) {
+                WarshallParalelo.cerrar(R, hilos);
+            }
+        }
+
+        for (Path archivo : archivosDeClausura(exportaciones)) {
+            ExportadorGrafos exportador = R != null
+                    ? ExportadorGrafos.deClausura(new ClausuraRelacion(elementos, R))
+                    : ExportadorGrafos.deClausura(D);
+            exportador.escribir(archivo);
+        }
+
+        escribirResumen(salida, n, clausulas, R != null ? R.contarUnos() : D.cardinalidad());
+
+        if (escribirClausura && R != null) {
+            for (int i = 0; i < n; i++) {
+                long[] fila = R.fila(i);
+                for (int w = 0; w < fila.length; w++) {
+                    long palabra = fila[w];
+                    while (palabra != 0) {
+                        int j = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                        escribirPar(salida, elementos[i], elementos[j]);
+                        palabra &= palabra - 1;
+                    }
+                }
+            }
+        } else if (escribirClausura) {
+            for (int i = 0; i < n; i++) {
+                for (int j : D.alcanzablesDesde(i)) {
+                    escribirPar(salida, D.valor(i), D.valor(j));
+                }
+            }
+        }
+    }
+
+    private static List<Path> archivosDeClausura(List<String> exportaciones) {
+        List<Path> archivos = new ArrayList<>();
+        for (int i = 0; i < exportaciones.size(); i += 2) {
+            if (exportaciones.get(i).equals("clausura")) {
+                archivos.add(Path.of(exportaciones.get(i + 1)));
+            }
+        }
+        return archivos;
+    }
+
+    //conteos, resultado de 2-SAT y modelo
+    private void escribirResumen(OutputStream salida, int n, ClausulasCompiladas clausulas, long cardinalidad)
+            throws IOException {
+        boolean[] modelo = Resolvedor2SAT.resolver(clausulas);
+
+        escribir(salida, "elementos ");
+        escribir(salida, n);
+        escribir(salida, "\npares ");
+        escribir(salida, numPares + numIndividuales);
+        escribir(salida, "\nrechazados ");
+        escribir(salida, lineasRechazadas);
+        escribir(salida, "\nclausura ");
+        escribir(salida, cardinalidad);
+        escribir(salida, modelo != null ? "\n2sat SATISFACIBLE\n" : "\n2sat NO_SATISFACIBLE\n");
+
+        //modelo estilo DIMACS: x si es verdadero, -x si es falso
+        if (modelo != null) {
+            escribir(salida, "modelo");
+            for (int v = 0; v < clausulas.numVariables(); v++) {
+                salida.write(' ');
+                if (!modelo[v]) salida.write('-');
+                escribir(salida, clausulas.valor(v));
+            }
+            salida.write('\n');
+        }
+    }
+
+    private static void escribirPar(OutputStream salida, int x, int y) throws IOException {
+        escribir(salida, x);
+        salida.write(',');
+        escribir(salida, y);
+        salida.write('\n');
+    }
+
+    static void escribir(OutputStream salida, String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            salida.write(texto.charAt(i));
+        }
+    }
+
+    //escribe el entero en decimal sin crear cadenas
+    static void escribir(OutputStream salida, long valor) throws IOException {
+        if (valor < 0) {
+            salida.write('-');
+            valor = -valor;
+        }
+        long divisor = 1;
+        while (valor / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            salida.write((int) ('0' + valor / divisor % 10));
+            divisor /= 10;
+        }
+    }
+
+
+    //4. Lectura de bytes
+    private int leerByte() throws IOException {
+        if (posicion == limite) {
+            limite = entrada.read(buffer, 0, buffer.length);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return -1;
+            }
+        }
+        return buffer[posicion++] & 0xFF;
+    }
+
+    //primer byte util, saltando espacios y lineas vacias
+    private int saltarEspacios() throws IOException {
+        int c;
+        do {
+            c = leerByte();
+        } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+        return c;
+    }
+
+    //siguiente byte de la misma linea que no sea espacio ('\n' o -1 al terminar la linea)
+    private int siguienteEnLinea() throws IOException {
+        int c;
+        do {
+            c = leerByte();
+        } while (c == ' ' || c == '\t' || c == '\r');
+        return c;
+    }
+
+    private void saltarLinea() throws IOException {
+        int c;
+        do {
+            c = leerByte();
+        } while (c != '\n' && c != -1);
+    }
+
+    private static boolean esInicioNumero(int c) {
+        return c == '-' || (c >= '0' && c <= '9');
+    }
+
+    //reconoce 'fin' (sin importar mayusculas) con la 'f' ya leida; siempre consume la linea completa
+    private boolean leerFin() throws IOException {
+        int i = leerByte();
+        if (i == '\n' || i == -1) return false;
+        int n = leerByte();
+        if (n == '\n' || n == -1) return false;
+        int c = siguienteEnLinea();
+        boolean esFin = (i | 0x20) == 'i' && (n | 0x20) == 'n' && (c == '\n' || c == -1);
+        if (c != '\n' && c != -1) saltarLinea();
+        return esFin;
+    }
+
+    //entero cuyo primer byte ya se leyo; deja sin consumir el byte que lo sigue
+    //devuelve Long.MIN_VALUE si no es un entero valido de 32 bits
+    private long leerEntero(int c) throws IOException {
+        boolean negativo = false;
+        if (c == '-') {
+            negativo = true;
+            c = leerByte();
+        }
+        if (c < '0' || c > '9') {
+            if (c != -1) posicion--;
+            return Long.MIN_VALUE;
+        }
+        long valor = 0;
+        while (c >= '0' && c <= '9') {
+            valor = valor * 10 + (c - '0');
+            if (valor > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+            c = leerByte();
+        }
+        if (c != -1) posicion--;
+        valor = negativo ? -valor : valor;
+        return valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE ? Long.MIN_VALUE : valor;
+    }
+
+}
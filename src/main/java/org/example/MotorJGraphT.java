@@ -0,0 +1,101 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.TransitiveClosure;
+import org.jgrapht.alg.connectivity.GabowStrongConnectivityInspector;
+import org.jgrapht.alg.connectivity.KosarajuStrongConnectivityInspector;
+import org.jgrapht.alg.interfaces.StrongConnectivityAlgorithm;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleDirectedGraph;
+import org.jgrapht.traverse.TopologicalOrderIterator;
+
+import java.util.Set;
+
+public class MotorJGraphT implements MotorRelaciones {
+
+    //los mismos calculos hechos con jgrapht-core, para contrastar la implementacion propia:
+    //  clausura: la relacion sin lazos en un SimpleDirectedGraph, TransitiveClosure y luego los pares (x,x)
+    //  2-SAT: el grafo de implicaciones en un DefaultDirectedGraph, componentes fuertes con Kosaraju o Gabow
+    //         y orden topologico de la condensacion; x es verdadero si su componente va despues que la de ¬x
+    //los vertices son Integer (los grafos de enteros primitivos de JGraphT estan en jgrapht-opt, que no se usa)
+
+    public enum Inspector { KOSARAJU, GABOW }
+
+    private final Inspector inspector;
+
+    public MotorJGraphT(Inspector inspector) {
+        this.inspector = inspector;
+    }
+
+    @Override
+    public String nombre() {
+        return "jgrapht-" + inspector.name().toLowerCase();
+    }
+
+    @Override
+    public Set<Par> calcularClausura(Set<Par> relacion) {
+        //TransitiveClosure solo acepta grafos simples: los lazos se agregan al final como pares reflexivos
+        SimpleDirectedGraph<Integer, DefaultEdge> grafo = new SimpleDirectedGraph<>(DefaultEdge.class);
+        for (Par p : relacion) {
+            grafo.addVertex(p.x);
+            if (p.y != null) {
+                grafo.addVertex(p.y);
+                if (!p.x.equals(p.y)) {
+                    grafo.addEdge(p.x, p.y);
+                }
+            }
+        }
+
+        TransitiveClosure.INSTANCE.closeSimpleDirectedGraph(grafo);
+
+        RelacionPrimitiva clausura = new RelacionPrimitiva(grafo.edgeSet().size() + grafo.vertexSet().size());
+        for (DefaultEdge e : grafo.edgeSet()) {
+            clausura.agregar(grafo.getEdgeSource(e), grafo.getEdgeTarget(e));
+        }
+        for (int x : grafo.vertexSet()) {
+            clausura.agregar(x, x);
+        }
+        return clausura;
+    }
+
+    @Override
+    public boolean[] resolver2SAT(ClausulasCompiladas clausulas) {
+        GrafoImplicaciones implicaciones = GrafoImplicaciones.desde(clausulas);
+        Graph<Integer, DefaultEdge> grafo = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (int l = 0; l < implicaciones.numNodos(); l++) {
+            grafo.addVertex(l);
+        }
+        for (int u = 0; u < implicaciones.numNodos(); u++) {
+            for (int e = implicaciones.inicio(u); e < implicaciones.fin(u); e++) {
+                grafo.addEdge(u, implicaciones.sucesor(e)); // las aristas repetidas se ignoran
+            }
+        }
+
+        StrongConnectivityAlgorithm<Integer, DefaultEdge> componentes = inspector == Inspector.KOSARAJU
+                ? new KosarajuStrongConnectivityInspector<>(grafo)
+                : new GabowStrongConnectivityInspector<>(grafo);
+
+        //posicion de la componente de cada literal en un orden topologico de la condensacion
+        int[] orden = new int[implicaciones.numNodos()];
+        int posicion = 0;
+        TopologicalOrderIterator<Graph<Integer, DefaultEdge>, DefaultEdge> recorrido =
+                new TopologicalOrderIterator<>(componentes.getCondensation());
+        while (recorrido.hasNext()) {
+            for (int l : recorrido.next().vertexSet()) {
+                orden[l] = posicion;
+            }
+            posicion++;
+        }
+
+        boolean[] modelo = new boolean[clausulas.numVariables()];
+        for (int v = 0; v < modelo.length; v++) {
+            if (orden[2 * v] == orden[2 * v + 1]) {
+                return null;
+            }
+            modelo[v] = orden[2 * v] > orden[2 * v + 1];
+        }
+        return modelo;
+    }
+
+}
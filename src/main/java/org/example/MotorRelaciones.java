@@ -0,0 +1,36 @@
+package org.example;
+
+import java.util.Set;
+
+public interface MotorRelaciones {
+
+    //implementacion intercambiable de los dos calculos principales, para comparar sobre las mismas entradas
+    //la implementacion propia (NATIVO) contra una biblioteca (MotorJGraphT)
+
+    //calcularClausura y Resolvedor2SAT sin traza
+    MotorRelaciones NATIVO = new MotorRelaciones() {
+        @Override
+        public String nombre() {
+            return "nativo";
+        }
+
+        @Override
+        public Set<Par> calcularClausura(Set<Par> relacion) {
+            return ClausuraTransitivaReflexiva.calcularClausura(relacion, EscuchaTraza.APAGADA);
+        }
+
+        @Override
+        public boolean[] resolver2SAT(ClausulasCompiladas clausulas) {
+            return Resolvedor2SAT.resolver(clausulas);
+        }
+    };
+
+    String nombre();
+
+    //clausura reflexiva-transitiva: pares (x,y), incluido (x,x) para cada elemento de la relacion
+    Set<Par> calcularClausura(Set<Par> relacion);
+
+    //modelo[v] para cada variable de las clausulas, o null si no son satisfacibles
+    boolean[] resolver2SAT(ClausulasCompiladas clausulas);
+
+}
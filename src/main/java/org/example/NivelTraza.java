@@ -0,0 +1,10 @@
+package org.example;
+
+//niveles de detalle de la traza, de menor a mayor
+public enum NivelTraza {
+
+    APAGADO,    // sin mensajes: los algoritmos no construyen ninguna cadena
+    RESUMEN,    // encabezados, totales y resultado final
+    PASO        // salida didactica completa: matrices, celdas nuevas, asignaciones y verificaciones
+
+}
@@ -0,0 +1,331 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class Preprocesador {
+
+    //preprocesamiento de clausulas antes de resolver 2-SAT, en rondas hasta que no aparezcan unitarias nuevas:
+    //1. propagacion de unitarias por las implicaciones binarias (lineal, con rastro de literales fijados)
+    //2. se quitan las clausulas satisfechas (toda clausula con un literal falso ya tiene el otro verdadero)
+    //3. los literales de una misma componente fuertemente conexa son equivalentes: se reemplazan por
+    //   un representante (el menor literal de la componente, asi rep(¬l) = ¬rep(l))
+    //4. al reescribir, (a ∨ ¬a) es tautologia y se quita; (a ∨ a) es una unitaria nueva para la ronda siguiente
+    //al final se quitan las repetidas: en 2-CNF una binaria solo la subsume otra igual
+    //(una unitaria (a) subsume a (a ∨ b), y esas ya salieron como satisfechas)
+    //
+    //las variables que quedan se renumeran; reconstruir() devuelve el modelo de la formula original
+
+    //resultado del preprocesamiento con las estadisticas de reduccion
+    public static class Resultado {
+        final ClausulasCompiladas original;
+        final ClausulasCompiladas reducidas;   // null si se encontro una contradiccion
+        final int[] asignacion;                // por variable original: 1, -1 o 0 (libre)
+        final int[] representante;             // por literal original: su representante
+        final int[] variableReducida;          // por variable original: variable en 'reducidas' o -1
+        final int[] rastro;                    // literales fijados en el orden de propagacion
+        final int conflicto;                   // variable con valor contradictorio, o -1
+
+        public final int rondas;
+        public final int literalesFijados;
+        public final int variablesFusionadas;
+        public final int tautologias;
+        public final int satisfechas;
+        public final int repetidas;
+
+        Resultado(ClausulasCompiladas original, ClausulasCompiladas reducidas, int[] asignacion, int[] representante,
+                  int[] variableReducida, int[] rastro, int conflicto, int rondas, int variablesFusionadas,
+                  int tautologias, int satisfechas, int repetidas) {
+            this.original = original;
+            this.reducidas = reducidas;
+            this.asignacion = asignacion;
+            this.representante = representante;
+            this.variableReducida = variableReducida;
+            this.rastro = rastro;
+            this.conflicto = conflicto;
+            this.rondas = rondas;
+            this.literalesFijados = rastro.length;
+            this.variablesFusionadas = variablesFusionadas;
+            this.tautologias = tautologias;
+            this.satisfechas = satisfechas;
+            this.repetidas = repetidas;
+        }
+
+        public boolean esInsatisfacible() {
+            return reducidas == null;
+        }
+
+        //clausulas que quedan para el solucionador (renumeradas), o null si ya es insatisfacible
+        public ClausulasCompiladas reducidas() {
+            return reducidas;
+        }
+
+        //variable original cuyo valor resulto contradictorio, o -1
+        public int conflicto() {
+            return conflicto;
+        }
+
+        //valor fijado de la variable original v: 1, -1 o 0 si quedo libre
+        public int asignacion(int v) {
+            return asignacion[v];
+        }
+
+        //literales fijados por propagacion, en orden
+        public int[] rastro() {
+            return rastro.clone();
+        }
+
+        //modelo de la formula original a partir de un modelo de las reducidas
+        public boolean[] reconstruir(boolean[] modeloReducido) {
+            boolean[] modelo = new boolean[original.numVariables()];
+            for (int v = 0; v < modelo.length; v++) {
+                int r = representante[2 * v];
+                int w = r >>> 1;
+                boolean valorRep;
+                if (asignacion[w] != 0) {
+                    valorRep = asignacion[w] > 0;
+                } else if (variableReducida[w] >= 0) {
+                    valorRep = modeloReducido[variableReducida[w]];
+                } else {
+                    valorRep = false; // no aparece en ninguna clausula restante
+                }
+                modelo[v] = valorRep != ClausulasCompiladas.esNegativo(r);
+            }
+            return modelo;
+        }
+
+        //resumen de cuanto se redujo la instancia
+        public String informe() {
+            int variablesAntes = original.numVariables();
+            int clausulasAntes = original.numClausulas();
+            if (reducidas == null) {
+                return "Preprocesamiento: contradicción en la variable " + original.valor(conflicto) +
+                        " tras fijar " + literalesFijados + " literales";
+            }
+            return "Preprocesamiento: " + clausulasAntes + " → " + reducidas.numClausulas() + " cláusulas, " +
+                    variablesAntes + " → " + reducidas.numVariables() + " variables" +
+                    " (fijados " + literalesFijados + ", fusionadas " + variablesFusionadas +
+                    ", satisfechas " + satisfechas + ", tautologías " + tautologias +
+                    ", repetidas " + repetidas + ", rondas " + rondas + ")";
+        }
+    }
+
+
+    //1. Preprocesamiento
+    public static Resultado procesar(ClausulasCompiladas clausulas) {
+        int n = clausulas.numLiterales();
+        int[] asignacion = new int[clausulas.numVariables()];
+        int[] representante = new int[n];
+        for (int l = 0; l < n; l++) {
+            representante[l] = l;
+        }
+
+        int[] rastro = new int[clausulas.numVariables()];
+        int numRastro = 0;
+        int tautologias = 0;
+        int satisfechas = 0;
+        int fusionadas = 0;
+
+        //unitarias pendientes de propagar
+        int[] unitarias = new int[Math.max(1, clausulas.numUnitarias())];
+        int numUnitarias = 0;
+        for (int i = 0; i < clausulas.numUnitarias(); i++) {
+            unitarias[numUnitarias++] = clausulas.unitaria(i);
+        }
+
+        //binarias vigentes (sin tautologias)
+        int m = clausulas.numBinarias();
+        int[] l1 = new int[m];
+        int[] l2 = new int[m];
+        int numBinarias = 0;
+        for (int i = 0; i < m; i++) {
+            int a = clausulas.literal1(i);
+            int b = clausulas.literal2(i);
+            if (a == (b ^ 1)) {
+                tautologias++;
+            } else if (a == b) {
+                unitarias = agregar(unitarias, numUnitarias++, a);
+            } else {
+                l1[numBinarias] = a;
+                l2[numBinarias] = b;
+                numBinarias++;
+            }
+        }
+
+        int[] origen = new int[2 * m];
+        int[] destino = new int[2 * m];
+        int rondas = 0;
+
+        while (true) {
+            rondas++;
+
+            //1. propagacion de unitarias sobre las binarias vigentes
+            int e = 0;
+            for (int i = 0; i < numBinarias; i++) {
+                origen[e] = l1[i] ^ 1;
+                destino[e++] = l2[i];
+                origen[e] = l2[i] ^ 1;
+                destino[e++] = l1[i];
+            }
+            GrafoImplicaciones grafo = GrafoImplicaciones.desdeAristas(n, origen, destino, e);
+
+            int inicioRonda = numRastro;
+            for (int k = 0; k < numUnitarias; k++) {
+                int u = unitarias[k];
+                int v = u >>> 1;
+                int valor = (u & 1) == 0 ? 1 : -1;
+                if (asignacion[v] == -valor) {
+                    return contradiccion(clausulas, asignacion, representante, rastro, numRastro, v, rondas,
+                            fusionadas, tautologias, satisfechas);
+                }
+                if (asignacion[v] == 0) {
+                    asignacion[v] = valor;
+                    rastro[numRastro++] = u;
+                }
+            }
+            numUnitarias = 0;
+
+            //el rastro hace de cola: cada literal fijado fuerza a sus sucesores
+            for (int frente = inicioRonda; frente < numRastro; frente++) {
+                int u = rastro[frente];
+                for (int a = grafo.inicio(u); a < grafo.fin(u); a++) {
+                    int w = grafo.sucesor(a);
+                    int v = w >>> 1;
+                    int valor = (w & 1) == 0 ? 1 : -1;
+                    if (asignacion[v] == -valor) {
+                        return contradiccion(clausulas, asignacion, representante, rastro, numRastro, v, rondas,
+                                fusionadas, tautologias, satisfechas);
+                    }
+                    if (asignacion[v] == 0) {
+                        asignacion[v] = valor;
+                        rastro[numRastro++] = w;
+                    }
+                }
+            }
+
+            //2. quitar las satisfechas: tras propagar, toda binaria con un literal asignado tiene uno verdadero
+            int quedan = 0;
+            for (int i = 0; i < numBinarias; i++) {
+                if (asignacion[l1[i] >>> 1] != 0 || asignacion[l2[i] >>> 1] != 0) {
+                    satisfechas++;
+                } else {
+                    l1[quedan] = l1[i];
+                    l2[quedan] = l2[i];
+                    quedan++;
+                }
+            }
+            numBinarias = quedan;
+
+            //3. literales equivalentes: componentes fuertemente conexas de las binarias restantes
+            e = 0;
+            for (int i = 0; i < numBinarias; i++) {
+                origen[e] = l1[i] ^ 1;
+                destino[e++] = l2[i];
+                origen[e] = l2[i] ^ 1;
+                destino[e++] = l1[i];
+            }
+            ComponentesFuertes scc = ComponentesFuertes.calcular(GrafoImplicaciones.desdeAristas(n, origen, destino, e));
+
+            //menor literal de cada componente (se recorren en orden ascendente)
+            int[] menor = new int[scc.cantidad()];
+            Arrays.fill(menor, -1);
+            for (int l = 0; l < n; l++) {
+                int c = scc.componente(l);
+                if (menor[c] == -1) {
+                    menor[c] = l;
+                }
+            }
+            for (int v = 0; v < asignacion.length; v++) {
+                if (scc.componente(2 * v) == scc.componente(2 * v + 1)) {
+                    return contradiccion(clausulas, asignacion, representante, rastro, numRastro, v, rondas,
+                            fusionadas, tautologias, satisfechas);
+                }
+                if (menor[scc.componente(2 * v)] != 2 * v) {
+                    fusionadas++;
+                }
+            }
+            for (int l = 0; l < n; l++) {
+                representante[l] = menor[scc.componente(representante[l])];
+            }
+
+            //4. reescribir con representantes
+            quedan = 0;
+            for (int i = 0; i < numBinarias; i++) {
+                int a = menor[scc.componente(l1[i])];
+                int b = menor[scc.componente(l2[i])];
+                if (a == (b ^ 1)) {
+                    tautologias++;
+                } else if (a == b) {
+                    unitarias = agregar(unitarias, numUnitarias++, a);
+                } else {
+                    l1[quedan] = a;
+                    l2[quedan] = b;
+                    quedan++;
+                }
+            }
+            numBinarias = quedan;
+
+            if (numUnitarias == 0) {
+                break;
+            }
+        }
+
+        //renumerar las variables que siguen apareciendo (en orden ascendente, como en ClausulasCompiladas)
+        int[] variableReducida = new int[asignacion.length];
+        Arrays.fill(variableReducida, -1);
+        for (int i = 0; i < numBinarias; i++) {
+            variableReducida[l1[i] >>> 1] = 0;
+            variableReducida[l2[i] >>> 1] = 0;
+        }
+        int numReducidas = 0;
+        for (int v = 0; v < asignacion.length; v++) {
+            if (variableReducida[v] == 0) {
+                variableReducida[v] = numReducidas++;
+            }
+        }
+        int[] valores = new int[numReducidas];
+        for (int v = 0; v < asignacion.length; v++) {
+            if (variableReducida[v] >= 0) {
+                valores[variableReducida[v]] = clausulas.valor(v);
+            }
+        }
+        for (int i = 0; i < numBinarias; i++) {
+            l1[i] = 2 * variableReducida[l1[i] >>> 1] + (l1[i] & 1);
+            l2[i] = 2 * variableReducida[l2[i] >>> 1] + (l2[i] & 1);
+        }
+
+        //crear quita las repetidas
+        ClausulasCompiladas reducidas = ClausulasCompiladas.crear(valores, new int[0], 0, l1, l2, numBinarias);
+        int repetidas = numBinarias - reducidas.numBinarias();
+
+        return new Resultado(clausulas, reducidas, asignacion, representante, variableReducida,
+                Arrays.copyOf(rastro, numRastro), -1, rondas, fusionadas, tautologias, satisfechas, repetidas);
+    }
+
+    //preprocesa y resuelve; devuelve el modelo de la formula original o null si es insatisfacible
+    public static boolean[] resolver(ClausulasCompiladas clausulas) {
+        Resultado resultado = procesar(clausulas);
+        if (resultado.esInsatisfacible()) {
+            return null;
+        }
+        boolean[] modeloReducido = Resolvedor2SAT.resolver(resultado.reducidas());
+        return modeloReducido == null ? null : resultado.reconstruir(modeloReducido);
+    }
+
+
+    //2. Metodos auxiliares
+    private static Resultado contradiccion(ClausulasCompiladas clausulas, int[] asignacion, int[] representante,
+                                           int[] rastro, int numRastro, int variable, int rondas, int fusionadas,
+                                           int tautologias, int satisfechas) {
+        return new Resultado(clausulas, null, asignacion, representante, new int[0],
+                Arrays.copyOf(rastro, numRastro), variable, rondas, fusionadas, tautologias, satisfechas, 0);
+    }
+
+    private static int[] agregar(int[] arreglo, int posicion, int valor) {
+        if (posicion == arreglo.length) {
+            arreglo = Arrays.copyOf(arreglo, 2 * arreglo.length);
+        }
+        arreglo[posicion] = valor;
+        return arreglo;
+    }
+
+}
@@ -0,0 +1,404 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+public class RelacionPrimitiva extends AbstractSet<Par> {
+
+    //relacion guardada sin objetos: cada par (x,y) se empaqueta en un long (x en los 32 bits altos, y en los bajos)
+    //dentro de una tabla hash de direccionamiento abierto (sondeo lineal); los individuales (x) van en otra tabla igual
+    //agregar y consultar no crean objetos; con carga maxima 3/4 cada par ocupa entre ~11 y ~21 bytes
+    //(un Par en un HashSet ocupa ~80: nodo, Par y dos Integer)
+    //
+    //tambien es un Set<Par>, asi se puede pasar a cualquier metodo existente; los algoritmos que la reconocen
+    //(ClausulasCompiladas.compilar, ClausuraDispersa.calcular, construirMatriz) la recorren con los metodos primitivos
+
+    //recibe cada par (x,y) de la relacion
+    @FunctionalInterface
+    public interface ConsumidorPar {
+        void aceptar(int x, int y);
+    }
+
+    private final TablaLargos pares;
+    private final TablaLargos individuales;
+
+    public RelacionPrimitiva() {
+        this(16);
+    }
+
+    //reserva espacio para 'paresEsperados' pares sin tener que redimensionar al agregarlos
+    public RelacionPrimitiva(int paresEsperados) {
+        if (paresEsperados < 0) {
+            throw new IllegalArgumentException("La cantidad de pares esperados no puede ser negativa: " + paresEsperados);
+        }
+        this.pares = new TablaLargos(paresEsperados);
+        this.individuales = new TablaLargos(16);
+    }
+
+    //copia una relacion de pares
+    public static RelacionPrimitiva desde(Set<Par> relacion) {
+        RelacionPrimitiva r = new RelacionPrimitiva(relacion.size());
+        for (Par p : relacion) {
+            r.add(p);
+        }
+        return r;
+    }
+
+
+    //1. Operaciones primitivas
+    //agrega (x,y); devuelve false si ya estaba
+    public boolean agregar(int x, int y) {
+        return pares.agregar(empaquetar(x, y));
+    }
+
+    //agrega el individual (x); devuelve false si ya estaba
+    public boolean agregar(int x) {
+        return individuales.agregar(x);
+    }
+
+    public boolean contiene(int x, int y) {
+        return pares.contiene(empaquetar(x, y));
+    }
+
+    public boolean contieneIndividual(int x) {
+        return individuales.contiene(x);
+    }
+
+    public boolean eliminar(int x, int y) {
+        return pares.eliminar(empaquetar(x, y));
+    }
+
+    public boolean eliminarIndividual(int x) {
+        return individuales.eliminar(x);
+    }
+
+    public int numPares() {
+        return pares.tamano;
+    }
+
+    public int numIndividuales() {
+        return individuales.tamano;
+    }
+
+    //recorre los pares (x,y) sin crear objetos (en orden de la tabla)
+    public void paraCadaPar(ConsumidorPar accion) {
+        if (pares.tieneCero) {
+            accion.aceptar(0, 0);
+        }
+        long[] claves = pares.claves;
+        for (long clave : claves) {
+            if (clave != 0) {
+                accion.aceptar(primero(clave), segundo(clave));
+            }
+        }
+    }
+
+    //recorre los individuales (x) sin crear objetos
+    public void paraCadaIndividual(IntConsumer accion) {
+        if (individuales.tieneCero) {
+            accion.accept(0);
+        }
+        long[] claves = individuales.claves;
+        for (long clave : claves) {
+            if (clave != 0) {
+                accion.accept((int) clave);
+            }
+        }
+    }
+
+    //copia los pares en xs[i], ys[i] (de al menos numPares()); devuelve cuantos copio
+    public int copiarPares(int[] xs, int[] ys) {
+        int k = 0;
+        if (pares.tieneCero) {
+            xs[k] = 0;
+            ys[k++] = 0;
+        }
+        for (long clave : pares.claves) {
+            if (clave != 0) {
+                xs[k] = primero(clave);
+                ys[k++] = segundo(clave);
+            }
+        }
+        return k;
+    }
+
+    //copia los individuales en destino (de al menos numIndividuales()); devuelve cuantos copio
+    public int copiarIndividuales(int[] destino) {
+        int k = 0;
+        if (individuales.tieneCero) {
+            destino[k++] = 0;
+        }
+        for (long clave : individuales.claves) {
+            if (clave != 0) {
+                destino[k++] = (int) clave;
+            }
+        }
+        return k;
+    }
+
+    private static long empaquetar(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int primero(long clave) {
+        return (int) (clave >>> 32);
+    }
+
+    private static int segundo(long clave) {
+        return (int) clave;
+    }
+
+
+    //2. Vista Set<Par> (los Par se crean solo al recorrerla)
+    @Override
+    public int size() {
+        return pares.tamano + individuales.tamano;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Par p) || p.x == null) {
+            return false;
+        }
+        return p.y == null ? contieneIndividual(p.x) : contiene(p.x, p.y);
+    }
+
+    @Override
+    public boolean add(Par p) {
+        return p.y == null ? agregar(p.x) : agregar(p.x, p.y);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Par p) || p.x == null) {
+            return false;
+        }
+        return p.y == null ? eliminarIndividual(p.x) : eliminar(p.x, p.y);
+    }
+
+    @Override
+    public void clear() {
+        pares.vaciar();
+        individuales.vaciar();
+    }
+
+    //el iterador no admite remove (el borrado mueve claves dentro de la tabla), asi que los borrados
+    //en bloque de AbstractSet se reemplazan: primero se juntan las claves a quitar y despues se borran
+    @Override
+    public boolean removeIf(Predicate<? super Par> filtro) {
+        Objects.requireNonNull(filtro);
+        boolean cambio = pares.eliminarSi(clave -> filtro.test(new Par(primero(clave), segundo(clave))));
+        return individuales.eliminarSi(clave -> filtro.test(new Par((int) clave))) || cambio;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        if (size() <= c.size()) {
+            return removeIf(c::contains);
+        }
+        boolean cambio = false;
+        for (Object o : c) {
+            cambio |= remove(o);
+        }
+        return cambio;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(p -> !c.contains(p));
+    }
+
+    //primero los pares y despues los individuales; no admite remove durante el recorrido
+    @Override
+    public Iterator<Par> iterator() {
+        return new Iterator<>() {
+            TablaLargos tabla = pares;
+            int posicion = tabla.tieneCero ? -1 : siguiente(0);
+
+            //siguiente posicion ocupada desde 'desde', o claves.length si no hay mas
+            private int siguiente(int desde) {
+                long[] claves = tabla.claves;
+                while (desde < claves.length && claves[desde] == 0) {
+                    desde++;
+                }
+                return desde;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (posicion < tabla.claves.length) {
+                    return true;
+                }
+                if (tabla == pares) {
+                    tabla = individuales;
+                    posicion = tabla.tieneCero ? -1 : siguiente(0);
+                    return posicion < tabla.claves.length;
+                }
+                return false;
+            }
+
+            @Override
+            public Par next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long clave = posicion < 0 ? 0 : tabla.claves[posicion];
+                posicion = siguiente(posicion + 1);
+                return tabla == pares ? new Par(primero(clave), segundo(clave)) : new Par((int) clave);
+            }
+        };
+    }
+
+
+    //3. Tabla hash de long con direccionamiento abierto
+    //la clave 0 marca una celda vacia, por eso se guarda aparte con tieneCero
+    //el borrado desplaza hacia atras las claves siguientes del grupo (sin marcas de borrado)
+    private static final class TablaLargos {
+
+        private static final int CAPACIDAD_MAXIMA = 1 << 30;
+
+        long[] claves;
+        int tamano;           // incluye la clave 0 si esta
+        boolean tieneCero;
+        private int mascara;
+        private int limite;   // tamano maximo antes de duplicar (3/4 de la capacidad)
+
+        TablaLargos(int esperados) {
+            int capacidad = 16;
+            while (capacidad < CAPACIDAD_MAXIMA && capacidad / 4 * 3 < esperados) {
+                capacidad <<= 1;
+            }
+            asignar(capacidad);
+        }
+
+        private void asignar(int capacidad) {
+            claves = new long[capacidad];
+            mascara = capacidad - 1;
+            limite = capacidad == CAPACIDAD_MAXIMA ? CAPACIDAD_MAXIMA - 1 : capacidad / 4 * 3;
+        }
+
+        //mezcla de 64 bits (finalizador de MurmurHash3) para que claves consecutivas no formen grupos
+        private int posicion(long clave) {
+            clave ^= clave >>> 33;
+            clave *= 0xFF51AFD7ED558CCDL;
+            clave ^= clave >>> 33;
+            clave *= 0xC4CEB9FE1A85EC53L;
+            clave ^= clave >>> 33;
+            return (int) clave & mascara;
+        }
+
+        boolean agregar(long clave) {
+            if (clave == 0) {
+                if (tieneCero) return false;
+                tieneCero = true;
+                tamano++;
+                return true;
+            }
+            int i = posicion(clave);
+            while (claves[i] != 0) {
+                if (claves[i] == clave) return false;
+                i = (i + 1) & mascara;
+            }
+            if (tamano >= limite) {
+                if (claves.length == CAPACIDAD_MAXIMA) {
+                    throw new IllegalStateException("La relación superó la capacidad máxima de " + limite + " pares");
+                }
+                duplicar();
+                i = posicion(clave);
+                while (claves[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+            }
+            claves[i] = clave;
+            tamano++;
+            return true;
+        }
+
+        boolean contiene(long clave) {
+            if (clave == 0) {
+                return tieneCero;
+            }
+            int i = posicion(clave);
+            while (claves[i] != 0) {
+                if (claves[i] == clave) return true;
+                i = (i + 1) & mascara;
+            }
+            return false;
+        }
+
+        boolean eliminar(long clave) {
+            if (clave == 0) {
+                if (!tieneCero) return false;
+                tieneCero = false;
+                tamano--;
+                return true;
+            }
+            int i = posicion(clave);
+            while (claves[i] != clave) {
+                if (claves[i] == 0) return false;
+                i = (i + 1) & mascara;
+            }
+
+            //mover hacia el hueco las claves cuya posicion ideal no queda entre el hueco y donde estan
+            int hueco = i;
+            int j = (i + 1) & mascara;
+            while (claves[j] != 0) {
+                int ideal = posicion(claves[j]);
+                if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+                    claves[hueco] = claves[j];
+                    hueco = j;
+                }
+                j = (j + 1) & mascara;
+            }
+            claves[hueco] = 0;
+            tamano--;
+            return true;
+        }
+
+        //quita las claves que cumplen el filtro; devuelve si quito alguna
+        boolean eliminarSi(LongPredicate filtro) {
+            long[] quitar = new long[16];
+            int numQuitar = 0;
+            if (tieneCero && filtro.test(0)) {
+                quitar[numQuitar++] = 0;
+            }
+            for (long clave : claves) {
+                if (clave != 0 && filtro.test(clave)) {
+                    if (numQuitar == quitar.length) {
+                        quitar = Arrays.copyOf(quitar, 2 * numQuitar);
+                    }
+                    quitar[numQuitar++] = clave;
+                }
+            }
+            for (int i = 0; i < numQuitar; i++) {
+                eliminar(quitar[i]);
+            }
+            return numQuitar > 0;
+        }
+
+        void vaciar() {
+            Arrays.fill(claves, 0);
+            tieneCero = false;
+            tamano = 0;
+        }
+
+        private void duplicar() {
+            long[] anteriores = claves;
+            asignar(anteriores.length << 1);
+            for (long clave : anteriores) {
+                if (clave != 0) {
+                    int i = posicion(clave);
+                    while (claves[i] != 0) {
+                        i = (i + 1) & mascara;
+                    }
+                    claves[i] = clave;
+                }
+            }
+        }
+    }
+
+}
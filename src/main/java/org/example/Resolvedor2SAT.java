@@ -0,0 +1,79 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class Resolvedor2SAT {
+
+    //resuelve 2-SAT en tiempo lineal con el grafo de implicaciones y sus componentes fuertemente conexas
+    //devuelve modelo[v] para cada variable o null si x y ¬x quedan en la misma componente
+
+    public static boolean[] resolver(ClausulasCompiladas clausulas) {
+        return resolver(GrafoImplicaciones.desde(clausulas), clausulas.numVariables());
+    }
+
+    public static boolean[] resolver(GrafoImplicaciones grafo, int numVariables) {
+        ComponentesFuertes scc = ComponentesFuertes.calcular(grafo);
+
+        //las componentes estan en orden topologico inverso,
+        //asi que el literal con la componente menor es el que va "despues" y se hace verdadero
+        boolean[] modelo = new boolean[numVariables];
+        for (int v = 0; v < numVariables; v++) {
+            int positivo = scc.componente[2 * v];
+            int negativo = scc.componente[2 * v + 1];
+            if (positivo == negativo) {
+                return null;
+            }
+            modelo[v] = positivo < negativo;
+        }
+
+        return modelo;
+    }
+
+    //igual que resolver(clausulas), con el grafo y las componentes en los arreglos de 'buffers':
+    //solo el modelo se crea en cada llamada. El CSR se arma directo de las clausulas, con las aristas
+    //en el mismo orden que GrafoImplicaciones.desde, asi el modelo es el mismo
+    static boolean[] resolver(ClausulasCompiladas clausulas, BuffersTrabajo buffers) {
+        int n = clausulas.numLiterales();
+        int m = clausulas.numUnitarias() + 2 * clausulas.numBinarias();
+
+        int[] inicio = buffers.enteros(BuffersTrabajo.INICIO, n + 1);
+        Arrays.fill(inicio, 0, n + 1, 0);
+        for (int i = 0; i < clausulas.numUnitarias(); i++) {
+            inicio[(clausulas.unitaria(i) ^ 1) + 1]++;
+        }
+        for (int i = 0; i < clausulas.numBinarias(); i++) {
+            inicio[(clausulas.literal1(i) ^ 1) + 1]++;
+            inicio[(clausulas.literal2(i) ^ 1) + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            inicio[u + 1] += inicio[u];
+        }
+
+        int[] posicion = buffers.enteros(BuffersTrabajo.POSICION, n);
+        System.arraycopy(inicio, 0, posicion, 0, n);
+        int[] sucesores = buffers.enteros(BuffersTrabajo.SUCESORES, m);
+        for (int i = 0; i < clausulas.numUnitarias(); i++) {
+            int a = clausulas.unitaria(i);
+            sucesores[posicion[a ^ 1]++] = a;
+        }
+        for (int i = 0; i < clausulas.numBinarias(); i++) {
+            int a = clausulas.literal1(i);
+            int b = clausulas.literal2(i);
+            sucesores[posicion[a ^ 1]++] = b;
+            sucesores[posicion[b ^ 1]++] = a;
+        }
+
+        int[] componente = buffers.enteros(BuffersTrabajo.COMPONENTE, n);
+        ComponentesFuertes.calcular(n, inicio, sucesores, componente, buffers);
+
+        boolean[] modelo = new boolean[clausulas.numVariables()];
+        for (int v = 0; v < modelo.length; v++) {
+            if (componente[2 * v] == componente[2 * v + 1]) {
+                return null;
+            }
+            modelo[v] = componente[2 * v] < componente[2 * v + 1];
+        }
+        return modelo;
+    }
+
+}
@@ -0,0 +1,389 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class ResolvedorLotes implements AutoCloseable {
+
+    //resuelve muchas relaciones independientes a la vez: clausura reflexiva-transitiva y 2-SAT de cada una
+    //  - enviar() admite a lo mas 'maxEnCurso' trabajos sin entregar; si no hay lugar se bloquea (contrapresion),
+    //    asi la memoria queda acotada aunque la fuente produzca mas rapido de lo que se resuelve
+    //  - los resultados llegan al receptor en orden de envio (EN_ORDEN) o segun terminan (AL_TERMINAR);
+    //    las llamadas al receptor nunca se solapan: se hacen fuera del monitor, desde un solo hilo a la vez (el que
+    //    termina un trabajo y encuentra la entrega libre), y el lugar se libera justo antes de llamarlo. Un receptor
+    //    lento no detiene a los demas hilos ni a estadisticas(); puede enviar() sin esperar lugar (si no lo hay,
+    //    IllegalStateException) pero no esperar() ni close()
+    //  - cada trabajo toma un BuffersTrabajo de una reserva y lo devuelve al terminar, asi el grafo de implicaciones
+    //    y Tarjan no piden arreglos nuevos en cada trabajo. Con hilos virtuales (uno por trabajo) un ThreadLocal
+    //    no se reutilizaria nunca; la reserva sirve igual con ambos ejecutores
+    //  - estadisticas(): trabajos, rendimiento y latencias desde que se admite el trabajo hasta que termina
+    //
+    //la clausura usa la matriz de bits densa: relaciones con mas de MAXIMO_ELEMENTOS elementos terminan con error
+    //(para esas esta ModoLote con la clausura dispersa)
+
+    public static final int MAXIMO_ELEMENTOS = 8192;   // matriz de 8 MB
+
+    public enum Entrega { EN_ORDEN, AL_TERMINAR }
+
+    public static final class Resultado {
+        public final long secuencia;            // numero que devolvio enviar
+        public final ClausuraRelacion clausura; // null si se envio la forma compilada o hubo error
+        public final boolean[] modelo;          // null si no es satisfacible o hubo error
+        public final boolean satisfacible;
+        public final Throwable error;           // null si se resolvio
+        public final long latenciaNanos;
+
+        Resultado(long secuencia, ClausuraRelacion clausura, boolean[] modelo, Throwable error, long latenciaNanos) {
+            this.secuencia = secuencia;
+            this.clausura = clausura;
+            this.modelo = modelo;
+            this.satisfacible = modelo != null;
+            this.error = error;
+            this.latenciaNanos = latenciaNanos;
+        }
+    }
+
+    public static final class Estadisticas {
+        public final long enviados;
+        public final long terminados;
+        public final long fallidos;
+        public final double segundos;        // del primer envio a la ultima entrega
+        public final double porSegundo;
+        public final double p50, p90, p99;   // latencia en ms (con ~6% de error por el histograma)
+        public final double maximo;
+
+        Estadisticas(long enviados, long terminados, long fallidos, double segundos,
+                     double p50, double p90, double p99, double maximo) {
+            this.enviados = enviados;
+            this.terminados = terminados;
+            this.fallidos = fallidos;
+            this.segundos = segundos;
+            this.porSegundo = segundos > 0 ? terminados / segundos : 0;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.maximo = maximo;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d trabajos en %.2f s (%.0f/s) | latencia ms: p50 %.3f, p90 %.3f, p99 %.3f, máx %.3f"
+                    + " | fallidos %d", terminados, segundos, porSegundo, p50, p90, p99, maximo, fallidos);
+        }
+    }
+
+    //histograma de latencias en microsegundos: 16 cubetas exactas y luego 16 por cada potencia de 2
+    static final int CUBETAS = 62 * 16;
+
+    private final ExecutorService ejecutor;
+    private final int maxEnCurso;
+    private final Semaphore lugares;
+    private final Entrega entrega;
+    private final Consumer<Resultado> receptor;
+    private final ConcurrentLinkedDeque<BuffersTrabajo> reserva = new ConcurrentLinkedDeque<>();
+    private final AtomicLong siguienteSecuencia = new AtomicLong();
+    private volatile boolean cerrado;
+
+    //entrega y estadisticas (protegidas por 'this')
+    private final Resultado[] enEspera;   // EN_ORDEN: terminados antes que alguno anterior, en secuencia % maxEnCurso
+    private final ArrayDeque<Resultado> listos = new ArrayDeque<>();   // listos para el receptor, en orden de entrega
+    private volatile Thread entregador;   // hilo que esta llamando al receptor, null si ninguno
+    private long siguienteEntrega;
+    private long entregados;
+    private Throwable errorReceptor;
+    private final long[] histograma = new long[CUBETAS];
+    private long terminados;
+    private long fallidos;
+    private long latenciaMaxima;
+    private long primerEnvio = -1;
+    private long ultimaEntrega;
+
+    //con un ejecutor dado; el resolvedor lo detiene al cerrarse
+    ResolvedorLotes(ExecutorService ejecutor, int maxEnCurso, Entrega entrega, Consumer<Resultado> receptor) {
+        if (maxEnCurso < 1) {
+            ejecutor.shutdown();
+            throw new IllegalArgumentException("El número de trabajos en curso debe ser al menos 1: " + maxEnCurso);
+        }
+        this.ejecutor = ejecutor;
+        this.maxEnCurso = maxEnCurso;
+        this.lugares = new Semaphore(maxEnCurso);
+        this.entrega = entrega;
+        this.receptor = receptor;
+        this.enEspera = new Resultado[maxEnCurso];
+    }
+
+    //un hilo virtual por trabajo
+    public static ResolvedorLotes conHilosVirtuales(int maxEnCurso, Entrega entrega, Consumer<Resultado> receptor) {
+        return new ResolvedorLotes(Executors.newVirtualThreadPerTaskExecutor(), maxEnCurso, entrega, receptor);
+    }
+
+    //'hilos' hilos fijos; conviene maxEnCurso >= hilos para que ninguno quede sin trabajo
+    public static ResolvedorLotes conHilos(int hilos, int maxEnCurso, Entrega entrega, Consumer<Resultado> receptor) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("El número de hilos debe ser al menos 1: " + hilos);
+        }
+        return new ResolvedorLotes(Executors.newFixedThreadPool(hilos), maxEnCurso, entrega, receptor);
+    }
+
+
+    //1. Envio
+    //encola la relacion y devuelve su numero de secuencia; se bloquea si ya hay maxEnCurso trabajos sin entregar
+    public long enviar(Set<Par> relacion) throws InterruptedException {
+        return enviar(relacion, null);
+    }
+
+    //solo 2-SAT: la forma compilada no conserva la direccion de los pares, asi que no tiene clausura
+    public long enviar(ClausulasCompiladas clausulas) throws InterruptedException {
+        return enviar(null, clausulas);
+    }
+
+    //envia las relaciones del flujo una por una, con la misma contrapresion que enviar
+    public void enviarTodas(Stream<? extends Set<Par>> relaciones) throws InterruptedException {
+        Iterator<? extends Set<Par>> iterador = relaciones.iterator();
+        while (iterador.hasNext()) {
+            enviar(iterador.next());
+        }
+    }
+
+    private long enviar(Set<Par> relacion, ClausulasCompiladas clausulas) throws InterruptedException {
+        if (cerrado) {
+            throw new IllegalStateException("El resolvedor de lotes ya está cerrado");
+        }
+        if (entregador == Thread.currentThread()) {
+            //desde el receptor no se espera lugar: la entrega que lo liberaria es la de este mismo hilo
+            if (!lugares.tryAcquire()) {
+                throw new IllegalStateException("El receptor no puede enviar: ya hay " + maxEnCurso
+                        + " trabajos sin entregar");
+            }
+        } else {
+            lugares.acquire();
+        }
+        long secuencia = siguienteSecuencia.getAndIncrement();
+        long admitido = System.nanoTime();
+        synchronized (this) {
+            if (primerEnvio < 0) primerEnvio = admitido;
+        }
+        try {
+            ejecutor.execute(() -> resolver(secuencia, admitido, relacion, clausulas));
+        } catch (RejectedExecutionException e) {
+            //el ejecutor ya se detuvo (un envio que compitio con close): se entrega igual para no dejar un hueco
+            //en la secuencia (EN_ORDEN esperaria para siempre)
+            entregar(new Resultado(secuencia, null, null, e, System.nanoTime() - admitido));
+        }
+        return secuencia;
+    }
+
+
+    //2. Resolucion
+    private void resolver(long secuencia, long admitido, Set<Par> relacion, ClausulasCompiladas compiladas) {
+        BuffersTrabajo buffers = reserva.pollFirst();
+        if (buffers == null) {
+            buffers = new BuffersTrabajo();
+        }
+
+        Resultado resultado;
+        try {
+            ClausuraRelacion clausura = null;
+            if (compiladas == null) {
+                //pares e individuales a los buffers, sin crear Par si la relacion es primitiva
+                int[] xs, ys, individuales;
+                int numPares = 0;
+                int numIndividuales = 0;
+                if (relacion instanceof RelacionPrimitiva primitiva) {
+                    xs = buffers.enteros(BuffersTrabajo.PARES_X, primitiva.numPares());
+                    ys = buffers.enteros(BuffersTrabajo.PARES_Y, primitiva.numPares());
+                    individuales = buffers.enteros(BuffersTrabajo.INDIVIDUALES, primitiva.numIndividuales());
+                    numPares = primitiva.copiarPares(xs, ys);
+                    numIndividuales = primitiva.copiarIndividuales(individuales);
+                } else {
+                    xs = buffers.enteros(BuffersTrabajo.PARES_X, relacion.size());
+                    ys = buffers.enteros(BuffersTrabajo.PARES_Y, relacion.size());
+                    individuales = buffers.enteros(BuffersTrabajo.INDIVIDUALES, relacion.size());
+                    for (Par p : relacion) {
+                        if (p.y == null) {
+                            individuales[numIndividuales++] = p.x;
+                        } else {
+                            xs[numPares] = p.x;
+                            ys[numPares++] = p.y;
+                        }
+                    }
+                }
+                compiladas = ClausulasCompiladas.compilar(xs, ys, numPares, individuales, numIndividuales);
+                clausura = cerrar(xs, ys, numPares, individuales, numIndividuales);
+            }
+            boolean[] modelo = Resolvedor2SAT.resolver(compiladas, buffers);
+            resultado = new Resultado(secuencia, clausura, modelo, null, System.nanoTime() - admitido);
+        } catch (Throwable e) {
+            //toda falla queda en el resultado: si escapara, el trabajo no se entregaria y su lugar no se liberaria
+            resultado = new Resultado(secuencia, null, null, e, System.nanoTime() - admitido);
+        } finally {
+            buffers.recortar();
+            reserva.offerFirst(buffers);
+        }
+        entregar(resultado);
+    }
+
+    private static ClausuraRelacion cerrar(int[] xs, int[] ys, int numPares, int[] individuales, int numIndividuales) {
+        int[] elementos = ClausuraTransitivaReflexiva.elementosOrdenados(xs, ys, numPares, individuales, numIndividuales);
+        int n = elementos.length;
+        if (n > MAXIMO_ELEMENTOS) {
+            throw new IllegalArgumentException("La relación tiene " + n + " elementos; el máximo por trabajo es "
+                    + MAXIMO_ELEMENTOS);
+        }
+        return ClausuraTransitivaReflexiva.calcularClausura(elementos, xs, ys, numPares);
+    }
+
+
+    //3. Entrega
+    //pasa el resultado a 'listos' (en EN_ORDEN, junto con los que esperaban por el) y, si nadie esta entregando,
+    //este hilo los entrega todos, incluidos los que otros agreguen mientras tanto
+    private void entregar(Resultado resultado) {
+        synchronized (this) {
+            registrar(resultado);
+            if (entrega == Entrega.AL_TERMINAR) {
+                listos.add(resultado);
+            } else {
+                //la secuencia cabe en el anillo: hay a lo mas maxEnCurso sin entregar a partir de siguienteEntrega
+                enEspera[(int) (resultado.secuencia % maxEnCurso)] = resultado;
+                while (true) {
+                    int posicion = (int) (siguienteEntrega % maxEnCurso);
+                    Resultado siguiente = enEspera[posicion];
+                    if (siguiente == null || siguiente.secuencia != siguienteEntrega) break;
+                    enEspera[posicion] = null;
+                    siguienteEntrega++;
+                    listos.add(siguiente);
+                }
+            }
+            if (entregador != null) return;
+            entregador = Thread.currentThread();
+        }
+
+        Resultado siguiente = null;
+        while (true) {
+            synchronized (this) {
+                if (siguiente != null) {
+                    entregados++;
+                    notifyAll();
+                }
+                siguiente = listos.poll();
+                if (siguiente == null) {
+                    entregador = null;
+                    return;
+                }
+            }
+            //el lugar se libera al entregar (no al terminar): en EN_ORDEN los que esperan tambien cuentan
+            lugares.release();
+            avisar(siguiente);
+        }
+    }
+
+    private void avisar(Resultado resultado) {
+        try {
+            receptor.accept(resultado);
+        } catch (Throwable e) {
+            synchronized (this) {
+                if (errorReceptor == null) errorReceptor = e;
+            }
+        }
+    }
+
+    private void registrar(Resultado resultado) {
+        terminados++;
+        if (resultado.error != null) fallidos++;
+        long micros = resultado.latenciaNanos / 1000;
+        histograma[cubeta(micros)]++;
+        latenciaMaxima = Math.max(latenciaMaxima, resultado.latenciaNanos);
+        ultimaEntrega = System.nanoTime();
+    }
+
+    static int cubeta(long micros) {
+        if (micros < 16) return (int) Math.max(0, micros);
+        int exponente = 63 - Long.numberOfLeadingZeros(micros);
+        return (exponente - 3) * 16 + (int) ((micros >>> (exponente - 4)) & 15);
+    }
+
+    //menor latencia (en microsegundos) que cae en la cubeta c
+    private static long valorCubeta(int c) {
+        if (c < 16) return c;
+        return (16L + c % 16) << (c / 16 - 1);
+    }
+
+
+    //4. Espera, estadisticas y cierre
+    //espera a que el receptor reciba todos los trabajos enviados hasta ahora
+    public void esperar() throws InterruptedException {
+        verificarFueraDelReceptor();
+        long enviados = siguienteSecuencia.get();
+        synchronized (this) {
+            while (entregados < enviados) {
+                wait();
+            }
+        }
+    }
+
+    public synchronized Estadisticas estadisticas() {
+        double segundos = primerEnvio < 0 || terminados == 0 ? 0 : (ultimaEntrega - primerEnvio) / 1e9;
+        return new Estadisticas(siguienteSecuencia.get(), terminados, fallidos, segundos,
+                percentil(histograma, terminados, 0.5), percentil(histograma, terminados, 0.9),
+                percentil(histograma, terminados, 0.99), latenciaMaxima / 1e6);
+    }
+
+    //latencia en ms del cuantil (0 a 1) entre 'total' latencias del histograma: el inicio de su cubeta
+    static double percentil(long[] histograma, long total, double cuantil) {
+        long rango = (long) Math.ceil(cuantil * total);
+        long acumulado = 0;
+        for (int c = 0; c < CUBETAS && total > 0; c++) {
+            acumulado += histograma[c];
+            if (acumulado >= rango) {
+                return valorCubeta(c) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    //no admite mas envios, espera a que se entregue todo lo enviado y detiene el ejecutor;
+    //si el receptor lanzo una excepcion, se relanza aqui
+    @Override
+    public void close() {
+        verificarFueraDelReceptor();
+        cerrado = true;
+        long enviados = siguienteSecuencia.get();
+        boolean interrumpido = false;
+        synchronized (this) {
+            while (entregados < enviados) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+        ejecutor.shutdown();
+
+        Throwable error;
+        synchronized (this) {
+            error = errorReceptor;
+        }
+        if (error != null) {
+            throw new IllegalStateException("El receptor de resultados lanzó una excepción", error);
+        }
+    }
+
+    //el receptor esperaria su propia entrega
+    private void verificarFueraDelReceptor() {
+        if (entregador == Thread.currentThread()) {
+            throw new IllegalStateException("El receptor no puede esperar ni cerrar el resolvedor de lotes");
+        }
+    }
+
+}
@@ -0,0 +1,806 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ServidorRelaciones implements AutoCloseable {
+
+    //servicio HTTP local (solo 127.0.0.1) para usar la clausura y 2-SAT desde otros procesos
+    //cada peticion se atiende en su propio hilo virtual, asi miles de peticiones pequenas pueden estar abiertas a la vez
+    //
+    //  POST /clausura                clausura reflexiva-transitiva
+    //  POST /clausuras-transitivas   T(l) de cada literal por resolucion (como calcularClausurasTransitivas)
+    //  POST /2sat                    satisfacibilidad y modelo
+    //  GET  /estado                  peticiones en curso, atendidas y rechazadas
+    //
+    //cuerpo JSON: {"pares": [[1,2], [2,3], [4]]} (o solo la lista); [x] es un elemento sin par
+    //cuerpo binario (Content-Type: application/octet-stream), enteros big-endian:
+    //  int numPares, int numIndividuales, numPares veces (int x, int y), numIndividuales veces int x
+    //
+    //las respuestas son JSON, salvo /clausura con cuerpo binario, que responde en binario:
+    //  int elementos, long cardinalidad, por cada elemento (byte 1, int x, int k, k veces int y),
+    //  y al final byte 0 (completa) o byte 2 (presupuesto agotado)
+    //
+    //los resultados se guardan en una CacheResultados (por huella de la relacion): una relacion repetida
+    //no se vuelve a calcular. /estado incluye sus estadisticas
+    //
+    //limites: el cuerpo no puede pasar de limiteCuerpo bytes (413), /clausuras-transitivas rechaza relaciones cuyos
+    //T(l) no caben en LIMITE_MATRIZ_DENSA (413), igual que /clausura si su clausura dispersa no cabe, y hay a lo mas
+    //maxConcurrentes peticiones
+    //en curso (503). Cada peticion tiene un presupuesto de tiempo (el cabezal X-Presupuesto-Ms puede acortarlo):
+    //si se agota antes de responder se devuelve 503, y si ya se estaba enviando la respuesta esta termina
+    //con "completa": false. Las respuestas se envian por partes mientras se recorre el resultado
+
+    public static final int LIMITE_CUERPO = 8 << 20;
+    public static final long PRESUPUESTO_MS = 10_000;
+    public static final int MAX_CONCURRENTES = 10_000;
+    public static final long BYTES_CACHE = 64L << 20;
+    public static final long MEMORIA_CALCULO = 512L << 20;
+
+    //por encima de este tamano de matriz densa (en bytes) se usa la clausura dispersa;
+    //tambien es el maximo de memoria de calculo de una peticion (matriz, T(l) o clausura dispersa)
+    private static final long LIMITE_MATRIZ_DENSA = 64L << 20;
+    //la memoria de calculo se reserva en unidades de 1 KB (los permisos del semaforo son int)
+    private static final int BYTES_POR_PERMISO = 1024;
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final HttpServer servidor;
+    private final ExecutorService hilos;
+    private final int limiteCuerpo;
+    private final long presupuestoMs;
+    private final int maxConcurrentes;
+    private final Semaphore lugares;
+    private final AtomicLong atendidas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private final CacheResultados cache;   // null si esta desactivada
+    private final long memoriaCalculo;
+    private final Semaphore memoria;        // memoria de calculo libre, compartida por todas las peticiones
+
+    public ServidorRelaciones(int puerto, int limiteCuerpo, long presupuestoMs, int maxConcurrentes) throws IOException {
+        this(puerto, limiteCuerpo, presupuestoMs, maxConcurrentes, BYTES_CACHE);
+    }
+
+    public ServidorRelaciones(int puerto, int limiteCuerpo, long presupuestoMs, int maxConcurrentes,
+                              long bytesCache) throws IOException {
+        this(puerto, limiteCuerpo, presupuestoMs, maxConcurrentes, bytesCache, MEMORIA_CALCULO);
+    }
+
+    //puerto 0 elige uno libre (ver puerto()); bytesCache 0 desactiva la cache
+    //memoriaCalculo acota la suma de las matrices y clausuras que se calculan a la vez: una peticion que no
+    //encuentra lugar espera dentro de su presupuesto y si no lo consigue recibe 503
+    public ServidorRelaciones(int puerto, int limiteCuerpo, long presupuestoMs, int maxConcurrentes,
+                              long bytesCache, long memoriaCalculo) throws IOException {
+        if (limiteCuerpo < 8) {
+            throw new IllegalArgumentException("El límite del cuerpo debe ser al menos 8 bytes: " + limiteCuerpo);
+        }
+        if (presupuestoMs <= 0) {
+            throw new IllegalArgumentException("El presupuesto debe ser positivo: " + presupuestoMs);
+        }
+        if (maxConcurrentes < 1) {
+            throw new IllegalArgumentException("El máximo de peticiones concurrentes debe ser al menos 1: " + maxConcurrentes);
+        }
+        if (memoriaCalculo < LIMITE_MATRIZ_DENSA || memoriaCalculo / BYTES_POR_PERMISO > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("La memoria de cálculo debe estar entre " + (LIMITE_MATRIZ_DENSA >> 20)
+                    + " MB y 2 TB: " + memoriaCalculo);
+        }
+        this.limiteCuerpo = limiteCuerpo;
+        this.presupuestoMs = presupuestoMs;
+        this.memoriaCalculo = memoriaCalculo;
+        this.memoria = new Semaphore((int) (memoriaCalculo / BYTES_POR_PERMISO));
+        this.maxConcurrentes = maxConcurrentes;
+        this.lugares = new Semaphore(maxConcurrentes);
+        this.cache = bytesCache > 0 ? new CacheResultados(bytesCache) : null;
+
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 1024);
+        this.hilos = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(hilos);
+        servidor.createContext("/", this::atender);
+        servidor.start();
+    }
+
+    public static ServidorRelaciones iniciar(int puerto) throws IOException {
+        return new ServidorRelaciones(puerto, LIMITE_CUERPO, PRESUPUESTO_MS, MAX_CONCURRENTES);
+    }
+
+    public int puerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    //deja de aceptar peticiones y espera hasta un segundo a las que estan en curso
+    @Override
+    public void close() {
+        servidor.stop(1);
+        hilos.shutdown();
+    }
+
+    //argumentos: [puerto] [--limite-bytes N] [--presupuesto-ms N] [--max-concurrentes N] [--cache-mb N]
+    //            [--memoria-mb N]
+    //una opcion desconocida o un valor invalido muestra el uso sin iniciar el servidor
+    public static void ejecutar(String[] args) throws IOException {
+        int puerto = 8080;
+        int limiteCuerpo = LIMITE_CUERPO;
+        long presupuestoMs = PRESUPUESTO_MS;
+        int maxConcurrentes = MAX_CONCURRENTES;
+        long bytesCache = BYTES_CACHE;
+        long memoriaCalculo = MEMORIA_CALCULO;
+
+        ServidorRelaciones servidor;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--limite-bytes" -> limiteCuerpo = entero(args, ++i);
+                    case "--presupuesto-ms" -> presupuestoMs = numero(args, ++i);
+                    case "--max-concurrentes" -> maxConcurrentes = entero(args, ++i);
+                    case "--cache-mb" -> bytesCache = numero(args, ++i) << 20;
+                    case "--memoria-mb" -> memoriaCalculo = numero(args, ++i) << 20;
+                    default -> {
+                        if (args[i].startsWith("-")) {
+                            throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                        }
+                        puerto = entero(args, i);
+                    }
+                }
+            }
+            servidor = new ServidorRelaciones(puerto, limiteCuerpo, presupuestoMs, maxConcurrentes, bytesCache,
+                    memoriaCalculo);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            System.out.println("Uso: --servidor [puerto] [--limite-bytes N] [--presupuesto-ms N]"
+                    + " [--max-concurrentes N] [--cache-mb N] [--memoria-mb N]");
+            return;
+        }
+        System.out.println("Escuchando en http://127.0.0.1:" + servidor.puerto());
+    }
+
+    //valor numerico del argumento i; el nombre de la opcion (o "puerto") va en el mensaje de error
+    private static long numero(String[] args, int i) {
+        String opcion = i > 0 && args[i - 1].startsWith("--") ? args[i - 1] : "puerto";
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de " + opcion);
+        }
+        try {
+            return Long.parseLong(args[i]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor no numérico para " + opcion + ": " + args[i]);
+        }
+    }
+
+    private static int entero(String[] args, int i) {
+        long valor = numero(args, i);
+        if (valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Valor fuera de rango: " + args[i]);
+        }
+        return (int) valor;
+    }
+
+
+    //1. Atencion de peticiones
+    private void atender(HttpExchange intercambio) {
+        if (!lugares.tryAcquire()) {
+            rechazadas.incrementAndGet();
+            try (intercambio) {
+                responderError(intercambio, 503, "Demasiadas peticiones en curso");
+            } catch (IOException e) {
+                //el cliente ya no esta
+            }
+            return;
+        }
+
+        //sin try-with-resources: el intercambio se cierra despues de responder los errores
+        try {
+            String ruta = intercambio.getRequestURI().getPath();
+            String metodo = intercambio.getRequestMethod();
+            if (ruta.equals("/estado")) {
+                if (!metodo.equals("GET")) throw new ErrorPeticion(405, "Use GET para /estado");
+                responderEstado(intercambio);
+                return;
+            }
+            if (!ruta.equals("/clausura") && !ruta.equals("/clausuras-transitivas") && !ruta.equals("/2sat")) {
+                throw new ErrorPeticion(404, "Ruta desconocida: " + ruta);
+            }
+            if (!metodo.equals("POST")) {
+                throw new ErrorPeticion(405, "Use POST para " + ruta);
+            }
+
+            Presupuesto presupuesto = new Presupuesto(presupuestoDe(intercambio));
+            String tipo = intercambio.getRequestHeaders().getFirst("Content-Type");
+            boolean binario = tipo != null && tipo.startsWith("application/octet-stream");
+            byte[] cuerpo = leerCuerpo(intercambio);
+            Relacion relacion = binario ? Relacion.deBinario(cuerpo) : Relacion.deJson(cuerpo);
+            presupuesto.verificar();
+
+            switch (ruta) {
+                case "/clausura" -> responderClausura(intercambio, relacion, binario, presupuesto);
+                case "/clausuras-transitivas" -> responderClausurasTransitivas(intercambio, relacion, presupuesto);
+                case "/2sat" -> responder2SAT(intercambio, relacion);
+            }
+            atendidas.incrementAndGet();
+        } catch (ErrorPeticion e) {
+            rechazadas.incrementAndGet();
+            responderSiSePuede(intercambio, e.codigo, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            rechazadas.incrementAndGet();
+            responderSiSePuede(intercambio, 400, e.getMessage());
+        } catch (PresupuestoAgotado e) {
+            rechazadas.incrementAndGet();
+            responderSiSePuede(intercambio, 503, "Presupuesto de tiempo agotado");
+        } catch (IOException e) {
+            //el cliente cerro la conexion a mitad de la respuesta
+        } catch (RuntimeException | OutOfMemoryError e) {
+            rechazadas.incrementAndGet();
+            responderSiSePuede(intercambio, 500, String.valueOf(e));
+        } finally {
+            intercambio.close();
+            lugares.release();
+        }
+    }
+
+    //presupuesto del servidor o el del cabezal X-Presupuesto-Ms si es menor
+    private long presupuestoDe(HttpExchange intercambio) {
+        String cabezal = intercambio.getRequestHeaders().getFirst("X-Presupuesto-Ms");
+        if (cabezal == null) return presupuestoMs;
+        try {
+            long pedido = Long.parseLong(cabezal.trim());
+            if (pedido <= 0) throw new ErrorPeticion(400, "X-Presupuesto-Ms debe ser positivo: " + cabezal);
+            return Math.min(pedido, presupuestoMs);
+        } catch (NumberFormatException e) {
+            throw new ErrorPeticion(400, "X-Presupuesto-Ms no es un número: " + cabezal);
+        }
+    }
+
+    //cuerpo completo; se corta en limiteCuerpo + 1 bytes sin leer el resto
+    private byte[] leerCuerpo(HttpExchange intercambio) throws IOException {
+        String largo = intercambio.getRequestHeaders().getFirst("Content-Length");
+        if (largo != null) {
+            try {
+                if (Long.parseLong(largo.trim()) > limiteCuerpo) {
+                    throw new ErrorPeticion(413, "El cuerpo supera el límite de " + limiteCuerpo + " bytes");
+                }
+            } catch (NumberFormatException e) {
+                throw new ErrorPeticion(400, "Content-Length inválido: " + largo);
+            }
+        }
+        try (InputStream entrada = intercambio.getRequestBody()) {
+            byte[] cuerpo = entrada.readNBytes(limiteCuerpo + 1);
+            if (cuerpo.length > limiteCuerpo) {
+                throw new ErrorPeticion(413, "El cuerpo supera el límite de " + limiteCuerpo + " bytes");
+            }
+            return cuerpo;
+        }
+    }
+
+
+    //2. Respuestas
+    private void responderClausura(HttpExchange intercambio, Relacion relacion, boolean binario,
+                                   Presupuesto presupuesto) throws IOException {
+        int[] elementos = relacion.elementos();
+        int n = elementos.length;
+
+        //matriz densa con Warshall interrumpible, o clausura dispersa si la matriz no cabe razonablemente;
+        //ambas reservan su memoria hasta terminar de responder y la dispersa no puede pasar de LIMITE_MATRIZ_DENSA
+        boolean dispersa = (long) n * n / 8 > LIMITE_MATRIZ_DENSA;
+        int permisos = reservar(dispersa ? LIMITE_MATRIZ_DENSA : (long) n * ((n + 63) / 64) * 8, presupuesto);
+        try {
+            responderClausura(intercambio, relacion, binario, presupuesto, elementos, dispersa);
+        } finally {
+            memoria.release(permisos);
+        }
+    }
+
+    private void responderClausura(HttpExchange intercambio, Relacion relacion, boolean binario,
+                                   Presupuesto presupuesto, int[] elementos, boolean dispersa) throws IOException {
+        int n = elementos.length;
+        MatrizBits R = null;
+        ClausuraDispersa D = null;
+        if (dispersa) {
+            try {
+                D = ClausuraDispersa.calcular(relacion.xs, relacion.ys, relacion.numPares,
+                        relacion.individuales, relacion.numIndividuales, presupuesto::verificar,
+                        LIMITE_MATRIZ_DENSA / Integer.BYTES);
+            } catch (IllegalStateException e) {
+                throw new ErrorPeticion(413, e.getMessage() + " (el límite es " + (LIMITE_MATRIZ_DENSA >> 20) + " MB)");
+            }
+        } else {
+            CacheResultados.Huella huella = cache == null ? null
+                    : CacheResultados.huellaClausura(relacion.xs, relacion.ys, relacion.numPares,
+                    relacion.individuales, relacion.numIndividuales);
+            ClausuraRelacion guardada = huella == null ? null : cache.buscarClausura(huella);
+            if (guardada != null) {
+                R = guardada.matriz();
+            } else {
+                R = new MatrizBits(n);
+                for (int i = 0; i < relacion.numPares; i++) {
+                    R.set(Arrays.binarySearch(elementos, relacion.xs[i]), Arrays.binarySearch(elementos, relacion.ys[i]));
+                }
+                for (int i = 0; i < n; i++) {
+                    R.set(i, i); // reflexividad
+                }
+                cerrar(R, presupuesto);
+                //solo se guarda si termino dentro del presupuesto
+                if (huella != null) cache.guardarClausura(huella, new ClausuraRelacion(elementos, R));
+            }
+        }
+        presupuesto.verificar();
+        long cardinalidad = R != null ? R.contarUnos() : D.cardinalidad();
+
+        intercambio.getResponseHeaders().set("Content-Type", binario ? "application/octet-stream" : "application/json");
+        intercambio.sendResponseHeaders(200, 0);
+        try (OutputStream cuerpo = new BufferedOutputStream(intercambio.getResponseBody(), TAMANO_BUFFER)) {
+            if (binario) {
+                DataOutputStream salida = new DataOutputStream(cuerpo);
+                salida.writeInt(n);
+                salida.writeLong(cardinalidad);
+                int i = 0;
+                try {
+                    for (; i < n; i++) {
+                        presupuesto.verificar();
+                        int[] sucesores = R != null ? indicesDeFila(R.fila(i)) : D.alcanzablesDesde(i);
+                        salida.writeByte(1);
+                        salida.writeInt(elementos[i]);
+                        salida.writeInt(sucesores.length);
+                        for (int j : sucesores) {
+                            salida.writeInt(elementos[j]);
+                        }
+                    }
+                } catch (PresupuestoAgotado e) {
+                    //la respuesta queda incompleta
+                }
+                salida.writeByte(i == n ? 0 : 2);
+                salida.flush();
+                return;
+            }
+
+            ModoLote.escribir(cuerpo, "{\"elementos\":");
+            ModoLote.escribir(cuerpo, n);
+            ModoLote.escribir(cuerpo, ",\"cardinalidad\":");
+            ModoLote.escribir(cuerpo, cardinalidad);
+            ModoLote.escribir(cuerpo, ",\"pares\":[");
+            boolean primero = true;
+            boolean completa = true;
+            try {
+                for (int i = 0; i < n; i++) {
+                    presupuesto.verificar();
+                    int[] sucesores = R != null ? indicesDeFila(R.fila(i)) : D.alcanzablesDesde(i);
+                    for (int j : sucesores) {
+                        if (!primero) cuerpo.write(',');
+                        primero = false;
+                        cuerpo.write('[');
+                        ModoLote.escribir(cuerpo, elementos[i]);
+                        cuerpo.write(',');
+                        ModoLote.escribir(cuerpo, elementos[j]);
+                        cuerpo.write(']');
+                    }
+                }
+            } catch (PresupuestoAgotado e) {
+                completa = false;
+            }
+            ModoLote.escribir(cuerpo, "],");
+            escribirFinal(cuerpo, completa);
+        }
+    }
+
+    private void responderClausurasTransitivas(HttpExchange intercambio, Relacion relacion,
+                                               Presupuesto presupuesto) throws IOException {
+        ClausulasCompiladas clausulas = relacion.compilar();
+        //T(l) guarda un conjunto de bits sobre las componentes por cada componente; hay a lo mas una por literal
+        long literales = clausulas.numLiterales();
+        if (literales * literales / 8 > LIMITE_MATRIZ_DENSA) {
+            throw new ErrorPeticion(413, "La relación tiene " + literales + " literales: T(l) necesitaría hasta "
+                    + (literales * literales / 8 >> 20) + " MB (el límite es " + (LIMITE_MATRIZ_DENSA >> 20) + " MB)");
+        }
+        int permisos = reservar(literales * literales / 8, presupuesto);
+        try {
+            responderClausurasTransitivas(intercambio, clausulas, presupuesto);
+        } finally {
+            memoria.release(permisos);
+        }
+    }
+
+    private void responderClausurasTransitivas(HttpExchange intercambio, ClausulasCompiladas clausulas,
+                                               Presupuesto presupuesto) throws IOException {
+        ClausurasLiterales clausuras = cache != null ? cache.clausurasLiterales(clausulas)
+                : ClausurasLiterales.calcular(GrafoImplicaciones.desdeBinarias(clausulas));
+        presupuesto.verificar();
+
+        intercambio.getResponseHeaders().set("Content-Type", "application/json");
+        intercambio.sendResponseHeaders(200, 0);
+        try (OutputStream cuerpo = new BufferedOutputStream(intercambio.getResponseBody(), TAMANO_BUFFER)) {
+            ModoLote.escribir(cuerpo, "{\"literales\":");
+            ModoLote.escribir(cuerpo, clausulas.numLiterales());
+            ModoLote.escribir(cuerpo, ",\"clausuras\":[");
+            int inconsistentes = 0;
+            boolean completa = true;
+            try {
+                //mismo orden que calcularClausurasTransitivas: x y -x de cada variable en orden ascendente
+                for (int literal = 0; literal < clausulas.numLiterales(); literal++) {
+                    presupuesto.verificar();
+                    boolean inconsistente = clausuras.esInconsistente(literal);
+                    if (inconsistente) inconsistentes++;
+                    if (literal > 0) cuerpo.write(',');
+                    ModoLote.escribir(cuerpo, "{\"literal\":\"");
+                    ModoLote.escribir(cuerpo, clausulas.nombreLiteral(literal));
+                    ModoLote.escribir(cuerpo, "\",\"T\":[");
+                    int[] alcanzables = clausuras.clausura(literal);
+                    for (int k = 0; k < alcanzables.length; k++) {
+                        if (k > 0) cuerpo.write(',');
+                        cuerpo.write('"');
+                        ModoLote.escribir(cuerpo, clausulas.nombreLiteral(alcanzables[k]));
+                        cuerpo.write('"');
+                    }
+                    ModoLote.escribir(cuerpo, inconsistente ? "],\"inconsistente\":true}" : "],\"inconsistente\":false}");
+                }
+            } catch (PresupuestoAgotado e) {
+                completa = false;
+            }
+            ModoLote.escribir(cuerpo, "],\"inconsistentes\":");
+            ModoLote.escribir(cuerpo, inconsistentes);
+            cuerpo.write(',');
+            escribirFinal(cuerpo, completa);
+        }
+    }
+
+    //2-SAT es lineal: no se revisa el presupuesto despues de leer la relacion
+    private void responder2SAT(HttpExchange intercambio, Relacion relacion) throws IOException {
+        ClausulasCompiladas clausulas = relacion.compilar();
+        boolean[] modelo = cache != null ? cache.resolver2SAT(clausulas) : Resolvedor2SAT.resolver(clausulas);
+
+        intercambio.getResponseHeaders().set("Content-Type", "application/json");
+        intercambio.sendResponseHeaders(200, 0);
+        try (OutputStream cuerpo = new BufferedOutputStream(intercambio.getResponseBody(), TAMANO_BUFFER)) {
+            ModoLote.escribir(cuerpo, "{\"elementos\":");
+            ModoLote.escribir(cuerpo, clausulas.numVariables());
+            if (modelo == null) {
+                ModoLote.escribir(cuerpo, ",\"satisfacible\":false}");
+                return;
+            }
+            //modelo como listas de elementos verdaderos y falsos
+            ModoLote.escribir(cuerpo, ",\"satisfacible\":true,\"verdaderos\":[");
+            escribirValores(cuerpo, clausulas, modelo, true);
+            ModoLote.escribir(cuerpo, "],\"falsos\":[");
+            escribirValores(cuerpo, clausulas, modelo, false);
+            ModoLote.escribir(cuerpo, "]}");
+        }
+    }
+
+    private void responderEstado(HttpExchange intercambio) throws IOException {
+        String estado = "{\"en_curso\":" + (maxConcurrentes - lugares.availablePermits())
+                + ",\"atendidas\":" + atendidas.get() + ",\"rechazadas\":" + rechazadas.get()
+                + ",\"memoria_reservada\":" + (memoriaCalculo - (long) memoria.availablePermits() * BYTES_POR_PERMISO);
+        if (cache != null) {
+            CacheResultados.Estadisticas e = cache.estadisticas();
+            estado += ",\"cache\":{\"aciertos\":" + e.aciertos + ",\"fallos\":" + e.fallos + ",\"desalojos\":"
+                    + e.desalojos + ",\"entradas\":" + e.entradas + ",\"bytes\":" + e.bytes + "}";
+        }
+        estado += "}";
+        responder(intercambio, 200, estado);
+    }
+
+    private static void escribirValores(OutputStream cuerpo, ClausulasCompiladas clausulas, boolean[] modelo,
+                                        boolean verdad) throws IOException {
+        boolean primero = true;
+        for (int v = 0; v < modelo.length; v++) {
+            if (modelo[v] != verdad) continue;
+            if (!primero) cuerpo.write(',');
+            primero = false;
+            ModoLote.escribir(cuerpo, clausulas.valor(v));
+        }
+    }
+
+    private static void escribirFinal(OutputStream cuerpo, boolean completa) throws IOException {
+        ModoLote.escribir(cuerpo, completa ? "\"completa\":true}"
+                : "\"completa\":false,\"error\":\"Presupuesto de tiempo agotado\"}");
+    }
+
+    //si la respuesta ya empezo no se puede cambiar el codigo: se deja cortada
+    private static void responderSiSePuede(HttpExchange intercambio, int codigo, String mensaje) {
+        if (intercambio.getResponseCode() != -1) return;
+        try {
+            responderError(intercambio, codigo, mensaje);
+        } catch (IOException e) {
+            //el cliente ya no esta
+        }
+    }
+
+    private static void responderError(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        responder(intercambio, codigo, "{\"error\":\"" + escaparJson(mensaje) + "\"}");
+    }
+
+    private static void responder(HttpExchange intercambio, int codigo, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(codigo, bytes.length);
+        try (OutputStream cuerpo = intercambio.getResponseBody()) {
+            cuerpo.write(bytes);
+        }
+    }
+
+    private static String escaparJson(String texto) {
+        if (texto == null) return "";
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> escapado.append("\\\"");
+                case '\\' -> escapado.append("\\\\");
+                case '\n' -> escapado.append("\\n");
+                default -> {
+                    if (c < 0x20) escapado.append(String.format("\\u%04x", (int) c));
+                    else escapado.append(c);
+                }
+            }
+        }
+        return escapado.toString();
+    }
+
+
+    //3. Clausura con presupuesto
+    //Warshall como MatrizBits.cerrarTransitivamente, revisando el presupuesto cada 64 iteraciones de k
+    private static void cerrar(MatrizBits R, Presupuesto presupuesto) {
+        int n = R.tamano();
+        for (int k = 0; k < n; k++) {
+            if ((k & 63) == 0) presupuesto.verificar();
+            long[] filaK = R.fila(k);
+            for (int i = 0; i < n; i++) {
+                MatrizBits.orSiAlcanza(R.fila(i), filaK, k);
+            }
+        }
+    }
+
+    //reserva 'bytes' de memoria de calculo esperando a lo mas lo que queda del presupuesto; devuelve los permisos
+    //que hay que liberar con memoria.release
+    private int reservar(long bytes, Presupuesto presupuesto) {
+        int permisos = (int) Math.max(1, (bytes + BYTES_POR_PERMISO - 1) / BYTES_POR_PERMISO);
+        try {
+            if (!memoria.tryAcquire(permisos, presupuesto.restanteMs(), TimeUnit.MILLISECONDS)) {
+                throw new ErrorPeticion(503, "La memoria de cálculo está ocupada por otras peticiones");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErrorPeticion(503, "La petición se interrumpió esperando memoria de cálculo");
+        }
+        return permisos;
+    }
+
+    private static int[] indicesDeFila(long[] fila) {
+        int total = 0;
+        for (long palabra : fila) {
+            total += Long.bitCount(palabra);
+        }
+        int[] indices = new int[total];
+        total = 0;
+        for (int w = 0; w < fila.length; w++) {
+            long palabra = fila[w];
+            while (palabra != 0) {
+                indices[total++] = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                palabra &= palabra - 1;
+            }
+        }
+        return indices;
+    }
+
+    private static final class Presupuesto {
+        private final long limite;
+
+        Presupuesto(long milisegundos) {
+            this.limite = System.nanoTime() + milisegundos * 1_000_000;
+        }
+
+        void verificar() {
+            if (System.nanoTime() - limite > 0) {
+                throw new PresupuestoAgotado();
+            }
+        }
+
+        long restanteMs() {
+            return Math.max(0, (limite - System.nanoTime()) / 1_000_000);
+        }
+    }
+
+    private static final class PresupuestoAgotado extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        PresupuestoAgotado() {
+            super("Presupuesto de tiempo agotado", null, false, false);
+        }
+    }
+
+    private static final class ErrorPeticion extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int codigo;
+
+        ErrorPeticion(int codigo, String mensaje) {
+            super(mensaje);
+            this.codigo = codigo;
+        }
+    }
+
+
+    //4. Lectura de la relacion
+    private static final class Relacion {
+        int[] xs = new int[16];
+        int[] ys = new int[16];
+        int numPares;
+        int[] individuales = new int[16];
+        int numIndividuales;
+
+        ClausulasCompiladas compilar() {
+            return ClausulasCompiladas.compilar(xs, ys, numPares, individuales, numIndividuales);
+        }
+
+        //elementos ordenados y numerados igual que en calcularClausura
+        int[] elementos() {
+            return ClausuraTransitivaReflexiva.elementosOrdenados(xs, ys, numPares, individuales, numIndividuales);
+        }
+
+        void agregar(int x, int y) {
+            if (numPares == xs.length) {
+                xs = Arrays.copyOf(xs, 2 * numPares);
+                ys = Arrays.copyOf(ys, 2 * numPares);
+            }
+            xs[numPares] = x;
+            ys[numPares++] = y;
+        }
+
+        void agregar(int x) {
+            if (numIndividuales == individuales.length) {
+                individuales = Arrays.copyOf(individuales, 2 * numIndividuales);
+            }
+            individuales[numIndividuales++] = x;
+        }
+
+        //int numPares, int numIndividuales, pares, individuales
+        static Relacion deBinario(byte[] cuerpo) {
+            ByteBuffer datos = ByteBuffer.wrap(cuerpo);
+            try {
+                int numPares = datos.getInt();
+                int numIndividuales = datos.getInt();
+                if (numPares < 0 || numIndividuales < 0
+                        || 8L * numPares + 4L * numIndividuales != datos.remaining()) {
+                    throw new IllegalArgumentException("El largo del cuerpo binario no coincide con " + numPares
+                            + " pares y " + numIndividuales + " elementos individuales");
+                }
+                Relacion relacion = new Relacion();
+                relacion.xs = new int[numPares];
+                relacion.ys = new int[numPares];
+                relacion.individuales = new int[numIndividuales];
+                for (int i = 0; i < numPares; i++) {
+                    relacion.agregar(datos.getInt(), datos.getInt());
+                }
+                for (int i = 0; i < numIndividuales; i++) {
+                    relacion.agregar(datos.getInt());
+                }
+                return relacion;
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException("El cuerpo binario debe empezar con dos enteros de 4 bytes");
+            }
+        }
+
+        //{"pares": [[x,y], [x], ...]} o directamente la lista
+        static Relacion deJson(byte[] cuerpo) {
+            LectorJson lector = new LectorJson(cuerpo);
+            Relacion relacion = new Relacion();
+            int c = lector.siguiente();
+            boolean objeto = c == '{';
+            if (objeto) {
+                lector.avanzar();
+                lector.esperar('"');
+                if (!lector.leerClave().equals("pares")) {
+                    throw new IllegalArgumentException("Se esperaba la clave \"pares\"");
+                }
+                lector.esperar(':');
+            }
+
+            lector.esperar('[');
+            if (lector.siguiente() == ']') {
+                lector.avanzar();
+            } else {
+                do {
+                    lector.esperar('[');
+                    int x = lector.leerEntero();
+                    if (lector.siguiente() == ',') {
+                        lector.avanzar();
+                        relacion.agregar(x, lector.leerEntero());
+                    } else {
+                        relacion.agregar(x);
+                    }
+                    lector.esperar(']');
+                } while (lector.separador());
+                lector.esperar(']');
+            }
+
+            if (objeto) lector.esperar('}');
+            if (lector.siguiente() != -1) {
+                throw new IllegalArgumentException("Contenido inesperado después de la relación en la posición "
+                        + lector.posicion);
+            }
+            return relacion;
+        }
+    }
+
+    //lo justo de JSON para la relacion: estructura, una clave sin escapes y enteros
+    private static final class LectorJson {
+        private final byte[] texto;
+        private int posicion;
+
+        LectorJson(byte[] texto) {
+            this.texto = texto;
+        }
+
+        //siguiente byte que no es espacio, sin consumirlo (-1 al final)
+        int siguiente() {
+            while (posicion < texto.length) {
+                byte c = texto[posicion];
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return c;
+                posicion++;
+            }
+            return -1;
+        }
+
+        void avanzar() {
+            posicion++;
+        }
+
+        void esperar(char esperado) {
+            if (siguiente() != esperado) {
+                throw new IllegalArgumentException("Se esperaba '" + esperado + "' en la posición " + posicion);
+            }
+            posicion++;
+        }
+
+        //',' consumida: hay otro elemento; ']' sin consumir: fin de la lista
+        boolean separador() {
+            int c = siguiente();
+            if (c == ',') {
+                posicion++;
+                return true;
+            }
+            return false;
+        }
+
+        //con la comilla inicial ya consumida
+        String leerClave() {
+            int inicio = posicion;
+            while (posicion < texto.length && texto[posicion] != '"') {
+                posicion++;
+            }
+            if (posicion == texto.length) {
+                throw new IllegalArgumentException("Clave sin cerrar en la posición " + inicio);
+            }
+            return new String(texto, inicio, posicion++ - inicio, StandardCharsets.UTF_8);
+        }
+
+        int leerEntero() {
+            siguiente();
+            int inicio = posicion;
+            boolean negativo = posicion < texto.length && texto[posicion] == '-';
+            if (negativo) posicion++;
+            long valor = 0;
+            int digitos = 0;
+            while (posicion < texto.length && texto[posicion] >= '0' && texto[posicion] <= '9') {
+                valor = valor * 10 + (texto[posicion++] - '0');
+                digitos++;
+                if (valor > (long) Integer.MAX_VALUE + 1) break;
+            }
+            valor = negativo ? -valor : valor;
+            if (digitos == 0 || valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Entero inválido en la posición " + inicio);
+            }
+            return (int) valor;
+        }
+    }
+
+}
@@ -0,0 +1,315 @@
+package org.example;
+
+import java.util.*;
+
+public class Sesion2SAT {
+
+    //sesion incremental de 2-SAT sobre un conjunto base de clausulas:
+    //se guarda el grafo de implicaciones en listas que crecen y un modelo que satisface la base,
+    //asi cada consulta con supuestos solo recorre lo que cambia en vez de reconstruir todo
+    //
+    //propagacion: desde los literales forzados se siguen las implicaciones, pero solo se expanden
+    //los literales falsos en el modelo (los verdaderos solo implican verdaderos, ya satisfechos).
+    //Si lo alcanzado no contiene x y ¬x, el modelo con esos literales encima satisface todas las clausulas;
+    //si lo contiene, la base junto con los supuestos es insatisfacible
+    //
+    //apilar()/desapilar() guardan y restauran puntos de control (push/pop) con un rastro de deshacer
+
+    //variables: el literal positivo de v es 2v y el negativo 2v+1 (igual que ClausulasCompiladas)
+    private final Map<Integer, Integer> valorAVariable = new HashMap<>();
+    private int[] valores = new int[16];
+    private int numVariables;
+
+    //grafo de implicaciones por listas de sucesores de cada literal
+    private int[][] sucesores = new int[32][];
+    private int[] numSucesores = new int[32];
+
+    //modelo de la base (valido mientras satisfacible sea true)
+    private boolean[] modelo = new boolean[16];
+    private boolean satisfacible = true;
+
+    //marcas de la ultima propagacion: marca[l] == sello si l quedo forzado
+    private int[] marca = new int[32];
+    private int sello;
+    private int[] forzados = new int[32];
+    private int numForzados;
+    private boolean consultaValida;
+
+    //rastros para deshacer: origen de cada arista agregada y variables cuyo valor cambio
+    private int[] rastroAristas = new int[64];
+    private int numRastroAristas;
+    private int[] rastroModelo = new int[64];
+    private int numRastroModelo;
+    private final Deque<int[]> puntos = new ArrayDeque<>();
+
+    //sesion vacia: las variables se crean con variable(valor) o literal(valor, negativo)
+    public Sesion2SAT() {
+    }
+
+
+    //1. Construccion
+    public static Sesion2SAT desde(Set<Par> relacion) {
+        return desde(ClausulasCompiladas.compilar(relacion));
+    }
+
+    //la base parte de las clausulas compiladas y del modelo de Resolvedor2SAT
+    public static Sesion2SAT desde(ClausulasCompiladas clausulas) {
+        Sesion2SAT sesion = new Sesion2SAT();
+        for (int v = 0; v < clausulas.numVariables(); v++) {
+            sesion.variable(clausulas.valor(v));
+        }
+        for (int i = 0; i < clausulas.numUnitarias(); i++) {
+            int a = clausulas.unitaria(i);
+            sesion.agregarArista(a ^ 1, a);
+        }
+        for (int i = 0; i < clausulas.numBinarias(); i++) {
+            int a = clausulas.literal1(i);
+            int b = clausulas.literal2(i);
+            sesion.agregarArista(a ^ 1, b);
+            sesion.agregarArista(b ^ 1, a);
+        }
+
+        boolean[] inicial = Resolvedor2SAT.resolver(clausulas);
+        if (inicial == null) {
+            sesion.satisfacible = false;
+        } else {
+            System.arraycopy(inicial, 0, sesion.modelo, 0, inicial.length);
+        }
+
+        //la base construida no se deshace
+        sesion.numRastroAristas = 0;
+        return sesion;
+    }
+
+    //2. Variables y literales
+    //variable del elemento 'valor', creandola si no existe
+    public int variable(int valor) {
+        Integer existente = valorAVariable.get(valor);
+        if (existente != null) {
+            return existente;
+        }
+
+        int v = numVariables;
+        if (v == valores.length) {
+            ampliar();
+        }
+        valores[v] = valor;
+        valorAVariable.put(valor, v);
+        modelo[v] = false; // sin clausulas, cualquier valor sirve
+        numVariables++;
+        return v;
+    }
+
+    //literal del elemento 'valor' (x o ¬x)
+    public int literal(int valor, boolean negativo) {
+        return 2 * variable(valor) + (negativo ? 1 : 0);
+    }
+
+    public int numVariables() {
+        return numVariables;
+    }
+
+    //elemento original de la variable v
+    public int valor(int v) {
+        return valores[v];
+    }
+
+
+    //3. Clausulas
+    //agrega (a ∨ b) a la base; devuelve si la base sigue siendo satisfacible
+    //si el modelo actual no la satisface, se repara forzando a (o b) y propagando solo lo que cambia
+    public boolean agregarClausula(int a, int b) {
+        verificarLiteral(a);
+        verificarLiteral(b);
+        agregarArista(a ^ 1, b);
+        if (a != b) {
+            agregarArista(b ^ 1, a);
+        }
+        consultaValida = false;
+
+        if (!satisfacible || verdadero(a) || verdadero(b)) {
+            return satisfacible;
+        }
+
+        //F ∧ (a ∨ b) es satisfacible si y solo si F ∧ a o F ∧ b lo es
+        if (propagar(new int[]{a}) || (a != b && propagar(new int[]{b}))) {
+            fijarForzados();
+        } else {
+            satisfacible = false;
+        }
+        return satisfacible;
+    }
+
+    //agrega la clausula unitaria (a)
+    public boolean agregarClausula(int a) {
+        return agregarClausula(a, a);
+    }
+
+    //agrega un par de la relacion: (x,y) → (x ∨ y), (x) → (x); un elemento -x es ¬x
+    public boolean agregarPar(Par par) {
+        int a = literalDeElemento(par.x);
+        return par.y == null ? agregarClausula(a) : agregarClausula(a, literalDeElemento(par.y));
+    }
+
+    private int literalDeElemento(int elemento) {
+        return literal(ClausulasCompiladas.valorDeElemento(elemento), elemento < 0);
+    }
+
+    public boolean esSatisfacible() {
+        return satisfacible;
+    }
+
+
+    //4. Consultas con supuestos
+    //true si la base junto con los literales supuestos es satisfacible; no modifica la base
+    //el modelo de la respuesta se consulta con valor(v) o modelo() hasta la siguiente operacion
+    public boolean resolver(int... supuestos) {
+        for (int l : supuestos) {
+            verificarLiteral(l);
+        }
+        consultaValida = satisfacible && propagar(supuestos);
+        return consultaValida;
+    }
+
+    //valor de la variable v en el modelo de la ultima consulta satisfacible (o de la base)
+    public boolean valorDe(int v) {
+        if (consultaValida) {
+            if (marca[2 * v] == sello) return true;
+            if (marca[2 * v + 1] == sello) return false;
+        }
+        return modelo[v];
+    }
+
+    //copia del modelo de la ultima consulta satisfacible, o null si la base es insatisfacible
+    public boolean[] modelo() {
+        if (!satisfacible) {
+            return null;
+        }
+        boolean[] copia = new boolean[numVariables];
+        for (int v = 0; v < numVariables; v++) {
+            copia[v] = valorDe(v);
+        }
+        return copia;
+    }
+
+
+    //5. Puntos de control (push/pop)
+    //guarda el estado actual; devuelve la profundidad despues de apilar
+    public int apilar() {
+        puntos.push(new int[]{numVariables, numRastroAristas, numRastroModelo, satisfacible ? 1 : 0});
+        return puntos.size();
+    }
+
+    //vuelve al ultimo punto guardado: quita clausulas y variables agregadas despues y restaura el modelo
+    public void desapilar() {
+        if (puntos.isEmpty()) {
+            throw new IllegalStateException("No hay puntos de control para desapilar");
+        }
+        int[] punto = puntos.pop();
+
+        //las aristas se agregaron al final de cada lista: se quitan en orden inverso
+        while (numRastroAristas > punto[1]) {
+            numSucesores[rastroAristas[--numRastroAristas]]--;
+        }
+        while (numRastroModelo > punto[2]) {
+            int v = rastroModelo[--numRastroModelo];
+            modelo[v] = !modelo[v];
+        }
+        while (numVariables > punto[0]) {
+            valorAVariable.remove(valores[--numVariables]);
+        }
+        satisfacible = punto[3] == 1;
+        consultaValida = false;
+    }
+
+    public int profundidad() {
+        return puntos.size();
+    }
+
+
+    //6. Propagacion
+    //marca con un sello nuevo lo que implican los literales dados, expandiendo solo los falsos en el modelo
+    //devuelve false si se forzaron un literal y su complemento
+    private boolean propagar(int[] literales) {
+        if (++sello == Integer.MAX_VALUE) {
+            Arrays.fill(marca, 0);
+            sello = 1;
+        }
+        numForzados = 0;
+
+        for (int l : literales) {
+            if (!forzar(l)) return false;
+        }
+        for (int frente = 0; frente < numForzados; frente++) {
+            int u = forzados[frente];
+            if (verdadero(u)) continue; // solo implica literales ya verdaderos
+            int[] lista = sucesores[u];
+            for (int k = 0; k < numSucesores[u]; k++) {
+                if (!forzar(lista[k])) return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean forzar(int l) {
+        if (marca[l] == sello) return true;
+        if (marca[l ^ 1] == sello) return false;
+        marca[l] = sello;
+        forzados[numForzados++] = l;
+        return true;
+    }
+
+    //pasa los literales de la ultima propagacion al modelo de la base, registrando los cambios
+    private void fijarForzados() {
+        for (int i = 0; i < numForzados; i++) {
+            int l = forzados[i];
+            int v = l >>> 1;
+            boolean nuevo = (l & 1) == 0;
+            if (modelo[v] != nuevo) {
+                modelo[v] = nuevo;
+                if (numRastroModelo == rastroModelo.length) {
+                    rastroModelo = Arrays.copyOf(rastroModelo, 2 * numRastroModelo);
+                }
+                rastroModelo[numRastroModelo++] = v;
+            }
+        }
+    }
+
+    private boolean verdadero(int l) {
+        return modelo[l >>> 1] == ((l & 1) == 0);
+    }
+
+
+    //7. Metodos auxiliares
+    private void agregarArista(int desde, int hasta) {
+        if (sucesores[desde] == null) {
+            sucesores[desde] = new int[4];
+        } else if (numSucesores[desde] == sucesores[desde].length) {
+            sucesores[desde] = Arrays.copyOf(sucesores[desde], 2 * numSucesores[desde]);
+        }
+        sucesores[desde][numSucesores[desde]++] = hasta;
+
+        if (numRastroAristas == rastroAristas.length) {
+            rastroAristas = Arrays.copyOf(rastroAristas, 2 * numRastroAristas);
+        }
+        rastroAristas[numRastroAristas++] = desde;
+    }
+
+    private void verificarLiteral(int l) {
+        if (l < 0 || (l >>> 1) >= numVariables) {
+            throw new IllegalArgumentException("Literal fuera de las " + numVariables + " variables de la sesión: " + l);
+        }
+    }
+
+    //duplica la capacidad de todos los arreglos por variable y por literal
+    private void ampliar() {
+        int capacidad = 2 * valores.length;
+        valores = Arrays.copyOf(valores, capacidad);
+        modelo = Arrays.copyOf(modelo, capacidad);
+        sucesores = Arrays.copyOf(sucesores, 2 * capacidad);
+        numSucesores = Arrays.copyOf(numSucesores, 2 * capacidad);
+        marca = Arrays.copyOf(marca, 2 * capacidad);
+        forzados = Arrays.copyOf(forzados, 2 * capacidad);
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.example;
+
+import java.io.PrintStream;
+
+public class TrazaConsola implements EscuchaTraza {
+
+    //traza que escribe los mensajes en consola, una linea por mensaje
+    //con NivelTraza.PASO reproduce la salida didactica del menu interactivo
+
+    private final NivelTraza nivel;
+    private final PrintStream salida;
+
+    public TrazaConsola(NivelTraza nivel) {
+        this(nivel, System.out);
+    }
+
+    public TrazaConsola(NivelTraza nivel, PrintStream salida) {
+        this.nivel = nivel;
+        this.salida = salida;
+    }
+
+    @Override
+    public NivelTraza nivel() {
+        return nivel;
+    }
+
+    @Override
+    public void mensaje(NivelTraza nivel, String texto) {
+        if (activo(nivel)) {
+            salida.println(texto);
+        }
+    }
+
+}
@@ -2,246 +2,973 @@ package org.example;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.geom.Arc2D;
+import java.awt.geom.QuadCurve2D;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class VisualizadorImplicaciones extends JPanel {
 
-    private Set<ConversorClausulas.Clausula> clausulas;
-    private Map<String, Point> posiciones;
-    private Map<String, List<String>> grafo;
-    private Set<String> nodos;
+    //el modelo es el grafo de implicaciones indexado (GrafoImplicaciones en CSR, su transpuesto y sus
+    //componentes fuertes), construido en tiempo lineal a partir de las clausulas compiladas.
+    //De el se arma la vista que se dibuja:
+    //  COMPLETA   - un nodo por literal que aparece en alguna implicacion
+    //  CONDENSADA - un nodo por componente fuerte; se marcan las que contienen x y ¬x (la formula es insatisfacible)
+    //  ENFOQUE    - solo los literales a k saltos (en cualquier sentido) de un literal elegido;
+    //               doble clic sobre otro nodo vuelve a enfocar desde ahi
+    public enum ModoVista { COMPLETA, CONDENSADA, ENFOQUE }
+
+    private final ClausulasCompiladas compiladas;
+    private final GrafoImplicaciones grafo;
+    private final GrafoImplicaciones inverso;      // predecesores, para el vecindario del enfoque
+    private final ComponentesFuertes componentes;
+    private final boolean[] contradictoria;        // por componente: contiene algun x junto con ¬x
+    private ModoVista modo;
+    private int literalFoco = -1;
+    private int saltos = SALTOS_INICIALES;
     private int centroX, centroY, radio;
 
+    //el dibujo se hace en dos capas: el grafo (estatico) se pinta una vez en una imagen que cubre
+    //lo visible mas un margen, y en cada repintado solo se copia esa imagen y se dibujan titulo y leyenda.
+    //La imagen se regenera solo si cambia la escala o si la vista sale de la region guardada;
+    //al regenerarla se descarta todo lo que queda fuera, y con la escala baja (ESCALA_DETALLE)
+    //se quitan etiquetas y puntas y las aristas se agrupan por celdas de pantalla
+
+    //constantes de dibujo: se crean una vez y no en cada repintado
+    private static final int RADIO_NODO = 25;
+    private static final Font FUENTE_TITULO = new Font("Arial", Font.BOLD, 16);
+    private static final Font FUENTE_TEXTO = new Font("Arial", Font.PLAIN, 12);
+    private static final Color ARISTA_NEGATIVA = new Color(200, 0, 0, 220);   // Rojo más opaco
+    private static final Color ARISTA_POSITIVA = new Color(0, 100, 0, 220);   // Verde más opaco
+    private static final Color BORDE_PUNTA_NEGATIVA = ARISTA_NEGATIVA.darker();
+    private static final Color BORDE_PUNTA_POSITIVA = ARISTA_POSITIVA.darker();
+    private static final Color NODO_NEGATIVO = new Color(255, 200, 200);      // Rosa claro para negativos
+    private static final Color NODO_POSITIVO = new Color(200, 230, 255);      // Azul claro para positivos
+    private static final Color NODO_COMPONENTE = new Color(225, 215, 245);    // varios literales equivalentes
+    private static final Color NODO_CONTRADICCION = new Color(255, 190, 90);  // componente con x y ¬x
+    private static final Color BORDE_CONTRADICCION = new Color(170, 0, 0);
+    private static final Color BORDE_FOCO = new Color(0, 90, 200);
+    private static final Color LEYENDA_NEGATIVA = new Color(200, 0, 0);
+    private static final Color LEYENDA_POSITIVA = new Color(0, 100, 0);
+    private static final BasicStroke TRAZO_ARISTA = new BasicStroke(2.0f);
+    private static final BasicStroke TRAZO_BORDE = new BasicStroke(2);
+    private static final BasicStroke TRAZO_RESALTADO = new BasicStroke(4);
+    private static final BasicStroke TRAZO_DELGADO = new BasicStroke(1.0f);
+    //con muchas lineas solo se usan colores opacos: los translucidos sin antialiasing caen en el camino lento de Java2D
+    private static final Color ARISTA_NEGATIVA_OPACA = sobreBlanco(ARISTA_NEGATIVA);
+    private static final Color ARISTA_POSITIVA_OPACA = sobreBlanco(ARISTA_POSITIVA);
+    private static final Color[] GRUPOS_NEGATIVOS = tonos(200, 0, 0);          // mas intenso segun cuantas aristas junta
+    private static final Color[] GRUPOS_POSITIVOS = tonos(0, 100, 0);
+
+    //tipos de nodo de la vista; indexan los colores de relleno y de los puntos sin detalle
+    private static final byte POSITIVO = 0;
+    private static final byte NEGATIVO = 1;
+    private static final byte COMPONENTE = 2;
+    private static final byte CONTRADICCION = 3;
+    private static final Color[] RELLENO_NODO = {NODO_POSITIVO, NODO_NEGATIVO, NODO_COMPONENTE, NODO_CONTRADICCION};
+    private static final Color[] PUNTO_NODO = {
+            new Color(60, 120, 200), new Color(220, 80, 80), new Color(130, 100, 190), new Color(230, 120, 0)};
+
+    //nivel de detalle y zoom
+    private static final double ESCALA_DETALLE = 0.5;   // por debajo: sin etiquetas ni puntas, aristas agrupadas
+    private static final double ESCALA_MAXIMA = 4.0;
+    private static final int CELDA_AGRUPADA = 6;        // lado en pixeles de las celdas que agrupan aristas
+    private static final int ARISTAS_SUAVIZADAS = 1500; // con mas aristas visibles se dibujan delgadas y sin antialiasing
+
+    //disposicion por fuerzas (DisposicionFuerzas en un SwingWorker)
+    private static final int NODOS_CIRCULO = 30;             // hasta aqui basta el circulo
+    private static final int ITERACIONES_DISPOSICION = 300;
+    private static final long INTERVALO_PUBLICACION = 100_000_000L; // ns entre posiciones enviadas al panel
+
+    //vistas
+    private static final int LITERALES_VISTA_COMPLETA = 5000; // con mas literales se abre condensada
+    private static final int SALTOS_INICIALES = 2;
+    private static final int MIEMBROS_EN_ETIQUETA = 3;        // literales que se nombran en una componente
+
+    //geometria precalculada en coordenadas del mundo (escala 1); el indice de nodo sigue a 'etiquetas'
+    private String[] etiquetas;
+    private int[] nodoX, nodoY;
+    private byte[] tipoNodo;
+    private int[] literalNodo;        // literal del nodo (el menor de la componente en la vista condensada)
+    private int nodoFoco = -1;
+    private int[] anchoEtiqueta;      // se mide la primera vez que se dibujan etiquetas
+    private int altoEtiqueta;
+    private int[] aristaOrigen, aristaDestino;
+    private boolean[] aristaNegativa;
+    private Shape[] curvas;
+    private Polygon[] puntas;
+    private Rectangle[] cajas;        // caja de curva y punta, para descartar lo que no se ve
+    private int anchoMundo, altoMundo;
+    private String resumen;
+
+    //estado de la vista
+    private double escala = 1.0;
+    private double escalaMinima;
+    private BufferedImage capa;
+    private Rectangle regionCapa;     // pixeles del panel que cubre la capa
+    private double escalaCapa;
+    private boolean capaVigente;      // false si cambiaron las posiciones
+    private Point inicioArrastre;
+    private SwingWorker<int[][], int[][]> disposicion;
+    private String progreso = "";
+
     //1. Metodo estatico de entrada principal
     //metodo estatico que inicia la vizualizacion
     public static void mostrarGrafo(Set<ConversorClausulas.Clausula> clausulas) {
+        mostrarGrafo(ClausulasCompiladas.desdeClausulas(clausulas));
+    }
+
+    public static void mostrarGrafo(ClausulasCompiladas clausulas) {
         JFrame frame = new JFrame("Grafo de Implicaciones");
         VisualizadorImplicaciones panel = new VisualizadorImplicaciones(clausulas);
 
-        frame.add(new JScrollPane(panel));
+        JScrollPane desplazamiento = new JScrollPane(panel);
+        //titulo y leyenda quedan fijos en la vista: copiar pixeles al desplazar los dejaria repetidos,
+        //y repintar todo solo copia la capa
+        desplazamiento.getViewport().setScrollMode(JViewport.SIMPLE_SCROLL_MODE);
+        desplazamiento.getVerticalScrollBar().setUnitIncrement(16);
+        desplazamiento.getHorizontalScrollBar().setUnitIncrement(16);
+        frame.add(desplazamiento);
         frame.pack();
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                panel.cancelarDisposicion();
+            }
+        });
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
+
+        //con muchos nodos el circulo no se lee: se acomodan por fuerzas mientras la ventana ya responde
+        if (panel.etiquetas.length > NODOS_CIRCULO) {
+            panel.iniciarDisposicion(ITERACIONES_DISPOSICION);
+        }
     }
 
 
     //2. Metodos de construccion y configuracion del grafo
-    //inicializa el panel con las clausulas
+    //inicializa el panel con las clausulas (solo las binarias generan implicaciones)
     public VisualizadorImplicaciones(Set<ConversorClausulas.Clausula> clausulas) {
-        this.clausulas = clausulas;
-        this.posiciones = new HashMap<>();
-        this.grafo = new HashMap<>();
-        this.nodos = new HashSet<>();
+        this(ClausulasCompiladas.desdeClausulas(clausulas));
+    }
+
+    public VisualizadorImplicaciones(ClausulasCompiladas clausulas) {
+        this.compiladas = clausulas;
+        this.grafo = GrafoImplicaciones.desdeBinarias(clausulas);
+        this.inverso = grafo.invertido();
+        this.componentes = ComponentesFuertes.calcular(grafo);
+        this.contradictoria = new boolean[componentes.cantidad];
+        for (int v = 0; v < clausulas.numVariables(); v++) {
+            int c = componentes.componente[2 * v];
+            if (c == componentes.componente[2 * v + 1]) {
+                contradictoria[c] = true;
+            }
+        }
+        System.out.println("Grafo de implicaciones: " + grafo.numNodos() + " literales, "
+                + grafo.numAristas() + " implicaciones, " + componentes.cantidad + " componentes fuertes");
 
-        construirGrafoReal();
-        setPreferredSize(new Dimension(800, 600));
         setBackground(Color.WHITE);
+        instalarControles();
+        construirVista(grafo.numNodos() <= LITERALES_VISTA_COMPLETA ? ModoVista.COMPLETA : ModoVista.CONDENSADA);
     }
 
-    //convierte las clausulas en estructura de grafo de implicaciones
-    private void construirGrafoReal() {
-        // PASO 1: Recolectar SOLO literales que aparecen en las cláusulas
-        Set<String> literalesEnClausulas = new HashSet<>();
+    //todos los literales con alguna implicacion
+    public void mostrarCompleto() {
+        construirVista(ModoVista.COMPLETA);
+    }
 
-        for (ConversorClausulas.Clausula c : clausulas) {
-            if (!c.esUnitaria()) {
-                literalesEnClausulas.add(c.literal1);
-                literalesEnClausulas.add(c.literal2);
-            }
+    //una supernodo por componente fuerte
+    public void mostrarCondensado() {
+        construirVista(ModoVista.CONDENSADA);
+    }
+
+    //solo los literales a lo mas 'saltos' implicaciones (hacia adelante o hacia atras) del literal "x" o "-x"
+    public void enfocar(String literal, int saltos) {
+        int l = compiladas.literalDeNombre(literal);
+        if (l < 0 || !tieneImplicaciones(l)) {
+            throw new IllegalArgumentException("El literal no aparece en el grafo de implicaciones: " + literal);
         }
+        enfocar(l, saltos);
+    }
 
-        System.out.println("Literales en cláusulas: " + literalesEnClausulas);
+    private void enfocar(int literal, int saltos) {
+        if (saltos < 0) {
+            throw new IllegalArgumentException("El número de saltos no puede ser negativo: " + saltos);
+        }
+        this.literalFoco = literal;
+        this.saltos = saltos;
+        construirVista(ModoVista.ENFOQUE);
+    }
 
-        // PASO 2: Construir grafo de implicaciones
-        for (ConversorClausulas.Clausula c : clausulas) {
-            if (!c.esUnitaria()) {
-                // Para cláusula (A ∨ B), tenemos:
-                // ¬A → B  y  ¬B → A
+    public ModoVista getModo() {
+        return modo;
+    }
 
-                String complementoA = obtenerComplemento(c.literal1);
-                String complementoB = obtenerComplemento(c.literal2);
+    //arma nodos y aristas de la vista pedida, los acomoda en circulo y, si el panel ya se muestra,
+    //lanza la disposicion por fuerzas; una disposicion en curso de la vista anterior se cancela
+    private void construirVista(ModoVista nuevo) {
+        cancelarDisposicion();
+        modo = nuevo;
+        switch (nuevo) {
+            case COMPLETA -> construirCompleta();
+            case CONDENSADA -> construirCondensada();
+            case ENFOQUE -> construirEnfoque();
+        }
+        calcularPosicionesCirculares();
+        precalcularGeometria();
 
-                // Solo crear nodos para complementos si el complemento
-                // está en las cláusulas originales
-                boolean crearComplementoA = literalesEnClausulas.contains(complementoA);
-                boolean crearComplementoB = literalesEnClausulas.contains(complementoB);
+        //escala inicial: todo el grafo cabe en 800 x 600 (1 para grafos pequeños)
+        escala = Math.min(1.0, Math.min(800.0 / anchoMundo, 600.0 / altoMundo));
+        escalaMinima = escala / 2;
+        actualizarTamano();
+        JViewport vista = vista();
+        if (vista != null) {
+            vista.setViewPosition(new Point());
+        }
+        progreso = "";
+        capaVigente = false;
+        repaint();
 
-                // Agregar nodos que SÍ existen
-                nodos.add(c.literal1);
-                nodos.add(c.literal2);
+        if (etiquetas.length > NODOS_CIRCULO && isShowing()) {
+            iniciarDisposicion(ITERACIONES_DISPOSICION);
+        }
+    }
 
-                // Agregar arista ¬A → B (solo si ¬A existe como literal)
-                if (crearComplementoA || esComplementoNecesario(complementoA, clausulas)) {
-                    nodos.add(complementoA);
-                    grafo.computeIfAbsent(complementoA, k -> new ArrayList<>()).add(c.literal2);
-                }
+    private boolean tieneImplicaciones(int literal) {
+        return grafo.fin(literal) > grafo.inicio(literal) || inverso.fin(literal) > inverso.inicio(literal);
+    }
 
-                // Agregar arista ¬B → A (solo si ¬B existe como literal)
-                if (crearComplementoB || esComplementoNecesario(complementoB, clausulas)) {
-                    nodos.add(complementoB);
-                    grafo.computeIfAbsent(complementoB, k -> new ArrayList<>()).add(c.literal1);
-                }
+    //un nodo por literal con implicaciones y una arista por implicacion
+    private void construirCompleta() {
+        int n = grafo.numNodos();
+        int[] nodoDe = new int[n];
+        int total = 0;
+        for (int l = 0; l < n; l++) {
+            nodoDe[l] = tieneImplicaciones(l) ? total++ : -1;
+        }
+        crearNodos(total);
+        for (int l = 0; l < n; l++) {
+            if (nodoDe[l] >= 0) {
+                asignarLiteral(nodoDe[l], l);
             }
         }
 
-        System.out.println("Nodos finales en grafo: " + nodos);
-        System.out.println("Grafo construido: " + grafo);
+        crearAristas(grafo.numAristas());
+        int e = 0;
+        for (int u = 0; u < n; u++) {
+            for (int p = grafo.inicio(u); p < grafo.fin(u); p++) {
+                agregarArista(e++, nodoDe[u], nodoDe[grafo.sucesor(p)], ClausulasCompiladas.esNegativo(u));
+            }
+        }
+        nodoFoco = -1;
+    }
 
-        calcularPosicionesCirculares();
+    //un nodo por componente fuerte y una arista por par de componentes conectadas (sin repetir)
+    private void construirCondensada() {
+        int n = grafo.numNodos();
+        int[] componente = componentes.componente;
+        int c = componentes.cantidad;
+
+        //literales agrupados por componente: los de k quedan en miembros[inicio[k] .. inicio[k+1])
+        int[] inicio = new int[c + 1];
+        for (int l = 0; l < n; l++) {
+            if (tieneImplicaciones(l)) inicio[componente[l] + 1]++;
+        }
+        for (int k = 0; k < c; k++) {
+            inicio[k + 1] += inicio[k];
+        }
+        int[] miembros = new int[inicio[c]];
+        int[] posicion = Arrays.copyOf(inicio, c);
+        for (int l = 0; l < n; l++) {
+            if (tieneImplicaciones(l)) miembros[posicion[componente[l]]++] = l;
+        }
+
+        int[] nodoDe = new int[c];
+        int total = 0;
+        for (int k = 0; k < c; k++) {
+            nodoDe[k] = inicio[k + 1] > inicio[k] ? total++ : -1;
+        }
+        crearNodos(total);
+        for (int k = 0; k < c; k++) {
+            int i = nodoDe[k];
+            if (i < 0) continue;
+            int tamano = inicio[k + 1] - inicio[k];
+            if (tamano == 1 && !contradictoria[k]) {
+                asignarLiteral(i, miembros[inicio[k]]);
+                continue;
+            }
+            StringBuilder etiqueta = new StringBuilder("{");
+            for (int p = inicio[k]; p < inicio[k] + Math.min(tamano, MIEMBROS_EN_ETIQUETA); p++) {
+                if (p > inicio[k]) etiqueta.append(", ");
+                etiqueta.append(compiladas.nombreLiteral(miembros[p]));
+            }
+            if (tamano > MIEMBROS_EN_ETIQUETA) {
+                etiqueta.append(", …+").append(tamano - MIEMBROS_EN_ETIQUETA);
+            }
+            etiquetas[i] = etiqueta.append('}').toString();
+            tipoNodo[i] = contradictoria[k] ? CONTRADICCION : COMPONENTE;
+            literalNodo[i] = miembros[inicio[k]];
+        }
+
+        //'ultima[j] == k' indica que la arista k → j ya se agrego
+        crearAristas(grafo.numAristas());
+        int[] ultima = new int[c];
+        Arrays.fill(ultima, -1);
+        int e = 0;
+        for (int k = 0; k < c; k++) {
+            for (int p = inicio[k]; p < inicio[k + 1]; p++) {
+                int u = miembros[p];
+                for (int q = grafo.inicio(u); q < grafo.fin(u); q++) {
+                    int j = componente[grafo.sucesor(q)];
+                    if (j != k && ultima[j] != k) {
+                        ultima[j] = k;
+                        agregarArista(e++, nodoDe[k], nodoDe[j], tipoNodo[nodoDe[k]] == NEGATIVO);
+                    }
+                }
+            }
+        }
+        recortarAristas(e);
+        nodoFoco = -1;
     }
 
-    //decide si un complemento debe incluirse como nodo
-    private boolean esComplementoNecesario(String complemento, Set<ConversorClausulas.Clausula> clausulas) {
-        // Un complemento es necesario si aparece en el lado izquierdo de alguna implicación
-        for (ConversorClausulas.Clausula c : clausulas) {
-            if (!c.esUnitaria()) {
-                String comp1 = obtenerComplemento(c.literal1);
-                String comp2 = obtenerComplemento(c.literal2);
+    //recorrido en anchura desde el literal enfocado siguiendo sucesores y predecesores hasta 'saltos' niveles;
+    //se muestran esos literales y las implicaciones entre ellos
+    private void construirEnfoque() {
+        int n = grafo.numNodos();
+        int[] nodoDe = new int[n];
+        Arrays.fill(nodoDe, -1);
+        int[] cola = new int[n];
+        int fin = 0;
+        cola[fin++] = literalFoco;
+        nodoDe[literalFoco] = 0;
 
-                if (complemento.equals(comp1) || complemento.equals(comp2)) {
-                    return true;
+        int nivel = 0;
+        int finNivel = fin;
+        for (int frente = 0; frente < fin; frente++) {
+            if (frente == finNivel) {
+                nivel++;
+                finNivel = fin;
+            }
+            if (nivel == saltos) break;
+            int u = cola[frente];
+            for (GrafoImplicaciones g : new GrafoImplicaciones[]{grafo, inverso}) {
+                for (int p = g.inicio(u); p < g.fin(u); p++) {
+                    int w = g.sucesor(p);
+                    if (nodoDe[w] < 0) {
+                        nodoDe[w] = fin;
+                        cola[fin++] = w;
+                    }
+                }
+            }
+        }
+
+        crearNodos(fin);
+        int m = 0;
+        for (int i = 0; i < fin; i++) {
+            asignarLiteral(i, cola[i]);
+            m += grafo.fin(cola[i]) - grafo.inicio(cola[i]);
+        }
+        crearAristas(m);
+        int e = 0;
+        for (int i = 0; i < fin; i++) {
+            int u = cola[i];
+            for (int p = grafo.inicio(u); p < grafo.fin(u); p++) {
+                int d = nodoDe[grafo.sucesor(p)];
+                if (d >= 0) {
+                    agregarArista(e++, i, d, ClausulasCompiladas.esNegativo(u));
                 }
             }
         }
-        return false;
+        recortarAristas(e);
+        nodoFoco = 0;
     }
 
-    //devuelve el complemento de una literal
-    private String obtenerComplemento(String literal) {
-        return literal.startsWith("-") ? literal.substring(1) : "-" + literal;
+    private void crearNodos(int n) {
+        etiquetas = new String[n];
+        tipoNodo = new byte[n];
+        literalNodo = new int[n];
+        anchoEtiqueta = null;
     }
 
-    //distribuye los nodos en circulo
+    private void asignarLiteral(int nodo, int literal) {
+        etiquetas[nodo] = compiladas.nombreLiteral(literal);
+        tipoNodo[nodo] = ClausulasCompiladas.esNegativo(literal) ? NEGATIVO : POSITIVO;
+        literalNodo[nodo] = literal;
+    }
+
+    private void crearAristas(int m) {
+        aristaOrigen = new int[m];
+        aristaDestino = new int[m];
+        aristaNegativa = new boolean[m];
+    }
+
+    private void agregarArista(int e, int origen, int destino, boolean negativa) {
+        aristaOrigen[e] = origen;
+        aristaDestino[e] = destino;
+        aristaNegativa[e] = negativa;
+    }
+
+    private void recortarAristas(int m) {
+        if (m < aristaOrigen.length) {
+            aristaOrigen = Arrays.copyOf(aristaOrigen, m);
+            aristaDestino = Arrays.copyOf(aristaDestino, m);
+            aristaNegativa = Arrays.copyOf(aristaNegativa, m);
+        }
+    }
+
+    //distribuye los nodos en circulo; el radio crece con n para que los nodos no se encimen
+    //(en el enfoque el literal elegido va al centro)
     private void calcularPosicionesCirculares() {
-        List<String> listaNodos = new ArrayList<>(nodos);
-        int n = listaNodos.size();
+        int n = etiquetas.length;
+        int enCirculo = nodoFoco >= 0 ? n - 1 : n;
 
-        centroX = 400;
-        centroY = 300;
-        radio = Math.min(250, 200 + n * 15); // Ajustar radio según cantidad de nodos
+        radio = Math.min(250, 200 + enCirculo * 15); // Ajustar radio según cantidad de nodos
+        radio = Math.max(radio, (int) Math.ceil(enCirculo * (RADIO_NODO + 10) / (2 * Math.PI)));
+        anchoMundo = Math.max(800, 2 * (radio + 2 * RADIO_NODO));
+        altoMundo = Math.max(600, 2 * (radio + 2 * RADIO_NODO));
+        centroX = anchoMundo / 2;
+        centroY = altoMundo / 2;
 
+        nodoX = new int[n];
+        nodoY = new int[n];
+        int k = 0;
         for (int i = 0; i < n; i++) {
-            double angulo = 2 * Math.PI * i / n;
-            int x = centroX + (int)(radio * Math.cos(angulo));
-            int y = centroY + (int)(radio * Math.sin(angulo));
-            posiciones.put(listaNodos.get(i), new Point(x, y));
+            if (i == nodoFoco) {
+                nodoX[i] = centroX;
+                nodoY[i] = centroY;
+                continue;
+            }
+            double angulo = 2 * Math.PI * k++ / enCirculo;
+            nodoX[i] = centroX + (int)(radio * Math.cos(angulo));
+            nodoY[i] = centroY + (int)(radio * Math.sin(angulo));
+        }
+    }
+
+    //calcula una sola vez cada curva, punta y caja
+    private void precalcularGeometria() {
+        int m = aristaOrigen.length;
+        curvas = new Shape[m];
+        puntas = new Polygon[m];
+        cajas = new Rectangle[m];
+        for (int e = 0; e < m; e++) {
+            construirFlecha(e, nodoX[aristaOrigen[e]], nodoY[aristaOrigen[e]], nodoX[aristaDestino[e]], nodoY[aristaDestino[e]]);
+        }
+
+        resumen = "Cláusulas: " + compiladas.numClausulas() + " | Nodos: " + etiquetas.length;
+        switch (modo) {
+            case COMPLETA -> resumen += " | Vista completa";
+            case CONDENSADA -> {
+                int contradicciones = 0;
+                for (byte tipo : tipoNodo) {
+                    if (tipo == CONTRADICCION) contradicciones++;
+                }
+                resumen += " | Vista condensada | Componentes con x y ¬x: " + contradicciones;
+            }
+            case ENFOQUE -> resumen += " | Enfoque en " + compiladas.nombreLiteral(literalFoco)
+                    + " a " + saltos + (saltos == 1 ? " salto" : " saltos");
         }
     }
 
 
     //3. Metodos de renderizado grafico
-    //dibuja el grafo completo, nodos, aristas texto.
+    //copia la capa del grafo (regenerandola si hace falta) y dibuja titulo y leyenda encima
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
+        Rectangle visible = getVisibleRect();
+        if (visible.isEmpty()) return;
+
+        if (!capaVigente || escalaCapa != escala || !regionCapa.contains(visible)) {
+            renderizarCapa(visible);
+        }
+        g2d.drawImage(capa, regionCapa.x, regionCapa.y, null);
+
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
         // Título
         g2d.setColor(Color.BLACK);
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        g2d.drawString("Grafo de Implicaciones", 20, 30);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        g2d.drawString("Cláusulas: " + clausulas.size() + " | Nodos: " + nodos.size(), 20, 50);
+        g2d.setFont(FUENTE_TITULO);
+        g2d.drawString("Grafo de Implicaciones", visible.x + 20, visible.y + 30);
+        g2d.setFont(FUENTE_TEXTO);
+        g2d.drawString(resumen + progreso, visible.x + 20, visible.y + 50);
+        g2d.drawString("Doble clic: enfocar literal | +/-: saltos | C: condensar componentes | T: todo el grafo",
+                visible.x + 20, visible.y + 68);
 
-        // Dibujar aristas primero
-        g2d.setStroke(new BasicStroke(1.5f));
-        for (Map.Entry<String, List<String>> entry : grafo.entrySet()) {
-            Point p1 = posiciones.get(entry.getKey());
-            if (p1 == null) continue;
-
-            for (String destino : entry.getValue()) {
-                Point p2 = posiciones.get(destino);
-                if (p2 == null) continue;
-
-                // En el metodo paintComponent, modifica la parte donde dibujas las aristas:
-                // Reemplaza la parte del color por esto:
-                if (entry.getKey().startsWith("-")) {
-                    g2d.setColor(new Color(200, 0, 0, 220)); // Rojo más opaco
-                } else {
-                    g2d.setColor(new Color(0, 100, 0, 220)); // Verde más opaco
-                }
+        // Leyenda
+        dibujarLeyenda(g2d, visible);
+    }
 
-                // Aumenta el grosor de la línea para mejor visibilidad
-                g2d.setStroke(new BasicStroke(2.0f));
+    //pinta el grafo en la imagen para la region visible mas medio ancho/alto de margen por lado,
+    //asi los desplazamientos cortos solo copian la imagen
+    private void renderizarCapa(Rectangle visible) {
+        Rectangle region = new Rectangle(visible.x - visible.width / 2, visible.y - visible.height / 2,
+                2 * visible.width, 2 * visible.height).intersection(new Rectangle(0, 0, getWidth(), getHeight()));
+        region = region.union(visible);
 
-                dibujarFlecha(g2d, p1.x, p1.y, p2.x, p2.y);
+        if (capa == null || capa.getWidth() != region.width || capa.getHeight() != region.height) {
+            GraphicsConfiguration configuracion = getGraphicsConfiguration();
+            capa = configuracion != null
+                    ? configuracion.createCompatibleImage(region.width, region.height)
+                    : new BufferedImage(region.width, region.height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        Graphics2D g = capa.createGraphics();
+        g.setColor(getBackground());
+        g.fillRect(0, 0, region.width, region.height);
+        g.translate(-region.x, -region.y);
+
+        //parte del mundo que cae en la region (con un pixel de margen por el redondeo)
+        Rectangle mundo = new Rectangle((int) Math.floor(region.x / escala) - 1, (int) Math.floor(region.y / escala) - 1,
+                (int) Math.ceil(region.width / escala) + 2, (int) Math.ceil(region.height / escala) + 2);
+        if (escala >= ESCALA_DETALLE) {
+            dibujarDetalle(g, mundo);
+        } else {
+            dibujarAgrupado(g, mundo);
+        }
+        g.dispose();
+
+        regionCapa = region;
+        escalaCapa = escala;
+        capaVigente = true;
+    }
+
+    //detalle completo en coordenadas del mundo: curvas, puntas, nodos con borde y etiquetas
+    //si hay demasiadas aristas visibles, las aristas se dibujan delgadas, opacas y sin antialiasing
+    private void dibujarDetalle(Graphics2D g, Rectangle mundo) {
+        int[] visibles = new int[aristaOrigen.length];
+        int numVisibles = 0;
+        for (int e = 0; e < aristaOrigen.length; e++) {
+            if (cajas[e].intersects(mundo)) {
+                visibles[numVisibles++] = e;
             }
         }
+        boolean suavizado = numVisibles <= ARISTAS_SUAVIZADAS;
 
-        // Dibujar nodos después (encima de las aristas)
-        int radioNodo = 25;
-        for (Map.Entry<String, Point> entry : posiciones.entrySet()) {
-            String nodo = entry.getKey();
-            Point p = entry.getValue();
-
-            // Color del nodo según si es positivo o negativo
-            if (nodo.startsWith("-")) {
-                g2d.setColor(new Color(255, 200, 200)); // Rosa claro para negativos
+        g.scale(escala, escala);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                suavizado ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+
+        // Dibujar aristas primero
+        g.setStroke(suavizado ? TRAZO_ARISTA : TRAZO_DELGADO);
+        for (int k = 0; k < numVisibles; k++) {
+            int e = visibles[k];
+            if (suavizado) {
+                g.setColor(aristaNegativa[e] ? ARISTA_NEGATIVA : ARISTA_POSITIVA);
+                g.draw(curvas[e]);
+                g.fill(puntas[e]);
+                g.setColor(aristaNegativa[e] ? BORDE_PUNTA_NEGATIVA : BORDE_PUNTA_POSITIVA); // borde más oscuro
+                g.draw(puntas[e]);
             } else {
-                g2d.setColor(new Color(200, 230, 255)); // Azul claro para positivos
+                g.setColor(aristaNegativa[e] ? ARISTA_NEGATIVA_OPACA : ARISTA_POSITIVA_OPACA);
+                g.draw(curvas[e]);
+                g.fill(puntas[e]);
+            }
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Dibujar nodos después (encima de las aristas)
+        g.setFont(FUENTE_TEXTO);
+        if (anchoEtiqueta == null) {
+            FontMetrics fm = g.getFontMetrics();
+            anchoEtiqueta = new int[etiquetas.length];
+            for (int i = 0; i < etiquetas.length; i++) {
+                anchoEtiqueta[i] = fm.stringWidth(etiquetas[i]);
             }
+            altoEtiqueta = fm.getHeight();
+        }
+        int mitad = RADIO_NODO / 2;
+        for (int i = 0; i < etiquetas.length; i++) {
+            int x = nodoX[i] - mitad;
+            int y = nodoY[i] - mitad;
+            if (!mundo.intersects(x - 1, y - 1, RADIO_NODO + 2, RADIO_NODO + 2)) continue;
 
-            g2d.fillOval(p.x - radioNodo/2, p.y - radioNodo/2, radioNodo, radioNodo);
+            // Color del nodo según su tipo (positivo, negativo, componente o contradicción)
+            g.setColor(RELLENO_NODO[tipoNodo[i]]);
+            g.fillOval(x, y, RADIO_NODO, RADIO_NODO);
 
-            // Borde
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawOval(p.x - radioNodo/2, p.y - radioNodo/2, radioNodo, radioNodo);
+            // Borde: resaltado para el literal enfocado y las componentes con x y ¬x
+            if (i == nodoFoco) {
+                g.setColor(BORDE_FOCO);
+                g.setStroke(TRAZO_RESALTADO);
+            } else if (tipoNodo[i] == CONTRADICCION) {
+                g.setColor(BORDE_CONTRADICCION);
+                g.setStroke(TRAZO_RESALTADO);
+            } else {
+                g.setColor(Color.BLACK);
+                g.setStroke(TRAZO_BORDE);
+            }
+            g.drawOval(x, y, RADIO_NODO, RADIO_NODO);
 
             // Texto
-            g2d.setColor(Color.BLACK);
-            FontMetrics fm = g2d.getFontMetrics();
-            int anchoTexto = fm.stringWidth(nodo);
-            int altoTexto = fm.getHeight();
-            g2d.drawString(nodo, p.x - anchoTexto/2, p.y + altoTexto/4);
+            g.setColor(Color.BLACK);
+            g.drawString(etiquetas[i], nodoX[i] - anchoEtiqueta[i] / 2, nodoY[i] + altoEtiqueta / 4);
         }
+    }
 
-        // Leyenda
-        dibujarLeyenda(g2d);
+    //nivel de detalle bajo en pixeles del panel: las aristas visibles se agrupan por (celda origen, celda destino)
+    //y cada grupo se dibuja como una sola linea de un pixel, mas intensa segun cuantas junta; los nodos son cuadros sin etiqueta
+    private void dibujarAgrupado(Graphics2D g, Rectangle mundo) {
+        //a lo mas 65536 celdas por eje para empaquetar cada celda en 32 bits
+        int celda = Math.max(CELDA_AGRUPADA, (int) Math.ceil(Math.max(getWidth(), getHeight()) / 65535.0));
+
+        long[] positivas = new long[aristaOrigen.length];
+        long[] negativas = new long[aristaOrigen.length];
+        int numPositivas = 0;
+        int numNegativas = 0;
+        for (int e = 0; e < aristaOrigen.length; e++) {
+            if (!cajas[e].intersects(mundo)) continue;
+            int o = celdaDe(aristaOrigen[e], celda);
+            int d = celdaDe(aristaDestino[e], celda);
+            if (o == d) continue;
+            long clave = ((long) o << 32) | (d & 0xFFFFFFFFL);
+            if (aristaNegativa[e]) {
+                negativas[numNegativas++] = clave;
+            } else {
+                positivas[numPositivas++] = clave;
+            }
+        }
+        g.setStroke(TRAZO_DELGADO);
+        dibujarGrupos(g, positivas, numPositivas, GRUPOS_POSITIVOS, celda);
+        dibujarGrupos(g, negativas, numNegativas, GRUPOS_NEGATIVOS, celda);
+
+        int lado = Math.max(2, (int) Math.round(RADIO_NODO * escala));
+        int mitad = RADIO_NODO / 2;
+        for (int i = 0; i < etiquetas.length; i++) {
+            if (!mundo.intersects(nodoX[i] - mitad, nodoY[i] - mitad, RADIO_NODO, RADIO_NODO)) continue;
+            g.setColor(PUNTO_NODO[tipoNodo[i]]);
+            g.fillRect((int) (nodoX[i] * escala) - lado / 2, (int) (nodoY[i] * escala) - lado / 2, lado, lado);
+        }
+    }
+
+    //ordena las claves para juntar las repetidas y dibuja una linea por grupo
+    private void dibujarGrupos(Graphics2D g, long[] claves, int total, Color[] tonos, int celda) {
+        Arrays.sort(claves, 0, total);
+        int inicio = 0;
+        while (inicio < total) {
+            int fin = inicio + 1;
+            while (fin < total && claves[fin] == claves[inicio]) {
+                fin++;
+            }
+            int o = (int) (claves[inicio] >>> 32);
+            int d = (int) claves[inicio];
+            g.setColor(tonos[Math.min(tonos.length - 1, 31 - Integer.numberOfLeadingZeros(fin - inicio))]);
+            g.drawLine((o >>> 16) * celda + celda / 2, (o & 0xFFFF) * celda + celda / 2,
+                    (d >>> 16) * celda + celda / 2, (d & 0xFFFF) * celda + celda / 2);
+            inicio = fin;
+        }
+    }
+
+    //celda de pantalla del nodo: columna en los 16 bits altos, fila en los bajos
+    private int celdaDe(int nodo, int celda) {
+        int cx = (int) (nodoX[nodo] * escala) / celda;
+        int cy = (int) (nodoY[nodo] * escala) / celda;
+        return (cx << 16) | cy;
     }
 
-    //dibuja leyenda explicativa en la parte inferior
-    private void dibujarLeyenda(Graphics2D g2d) {
-        int y = 550;
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
+    //colores opacos para 1, 2-3, 4-7, ... aristas agrupadas
+    private static Color[] tonos(int r, int g, int b) {
+        Color[] tonos = new Color[6];
+        for (int i = 0; i < tonos.length; i++) {
+            tonos[i] = sobreBlanco(new Color(r, g, b, 80 + 35 * i));
+        }
+        return tonos;
+    }
+
+    //color opaco que se ve igual que el translucido sobre el fondo blanco
+    private static Color sobreBlanco(Color c) {
+        int a = c.getAlpha();
+        return new Color((c.getRed() * a + 255 * (255 - a)) / 255,
+                (c.getGreen() * a + 255 * (255 - a)) / 255,
+                (c.getBlue() * a + 255 * (255 - a)) / 255);
+    }
+
+    //dibuja leyenda explicativa en la parte inferior de la vista
+    private void dibujarLeyenda(Graphics2D g2d, Rectangle visible) {
+        int x = visible.x;
+        int y = visible.y + visible.height - 50;
+        g2d.setFont(FUENTE_TEXTO);
 
         // Literal positivo
-        g2d.setColor(new Color(200, 230, 255));
-        g2d.fillRect(20, y, 15, 15);
+        g2d.setColor(NODO_POSITIVO);
+        g2d.fillRect(x + 20, y, 15, 15);
         g2d.setColor(Color.BLACK);
-        g2d.drawRect(20, y, 15, 15);
-        g2d.drawString("Literal positivo", 40, y + 12);
+        g2d.drawRect(x + 20, y, 15, 15);
+        g2d.drawString("Literal positivo", x + 40, y + 12);
 
         // Literal negativo
-        g2d.setColor(new Color(255, 200, 200));
-        g2d.fillRect(150, y, 15, 15);
+        g2d.setColor(NODO_NEGATIVO);
+        g2d.fillRect(x + 150, y, 15, 15);
         g2d.setColor(Color.BLACK);
-        g2d.drawRect(150, y, 15, 15);
-        g2d.drawString("Literal negativo", 170, y + 12);
+        g2d.drawRect(x + 150, y, 15, 15);
+        g2d.drawString("Literal negativo", x + 170, y + 12);
 
         // Implicación positiva
-        g2d.setColor(new Color(0, 100, 0));
-        g2d.drawLine(300, y + 7, 320, y + 7);
-        g2d.drawString("¬positivo → algo", 325, y + 12);
+        g2d.setColor(LEYENDA_POSITIVA);
+        g2d.drawLine(x + 300, y + 7, x + 320, y + 7);
+        g2d.drawString("¬positivo → algo", x + 325, y + 12);
 
         // Implicación negativa
-        g2d.setColor(new Color(200, 0, 0));
-        g2d.drawLine(470, y + 7, 490, y + 7);
-        g2d.drawString("¬negativo → algo", 495, y + 12);
+        g2d.setColor(LEYENDA_NEGATIVA);
+        g2d.drawLine(x + 470, y + 7, x + 490, y + 7);
+        g2d.drawString("¬negativo → algo", x + 495, y + 12);
+
+        if (modo == ModoVista.CONDENSADA) {
+            // Componente fuerte con varios literales
+            g2d.setColor(NODO_COMPONENTE);
+            g2d.fillRect(x + 20, y + 22, 15, 15);
+            g2d.setColor(Color.BLACK);
+            g2d.drawRect(x + 20, y + 22, 15, 15);
+            g2d.drawString("Literales equivalentes", x + 40, y + 34);
+
+            // Componente con x y ¬x
+            g2d.setColor(NODO_CONTRADICCION);
+            g2d.fillRect(x + 190, y + 22, 15, 15);
+            g2d.setColor(BORDE_CONTRADICCION);
+            g2d.drawRect(x + 190, y + 22, 15, 15);
+            g2d.setColor(Color.BLACK);
+            g2d.drawString("Contiene x y ¬x (insatisfacible)", x + 210, y + 34);
+        }
+    }
+
+
+    //4. Zoom, desplazamiento y cambio de vista
+    //Ctrl + rueda acerca o aleja alrededor del cursor; arrastrar mueve la vista; Escape detiene la disposicion
+    //doble clic enfoca el literal del nodo; + y - cambian los saltos del enfoque; C condensa y T vuelve a todo el grafo
+    private void instalarControles() {
+        atajo(KeyStroke.getKeyStroke(KeyEvent.VK_C, 0), "condensar", this::mostrarCondensado);
+        atajo(KeyStroke.getKeyStroke(KeyEvent.VK_T, 0), "completo", this::mostrarCompleto);
+        atajo(KeyStroke.getKeyStroke('+'), "masSaltos", () -> cambiarSaltos(1));
+        atajo(KeyStroke.getKeyStroke('-'), "menosSaltos", () -> cambiarSaltos(-1));
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "detenerDisposicion");
+        getActionMap().put("detenerDisposicion", new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                cancelarDisposicion();
+            }
+        });
+
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                cambiarEscala(escala * Math.pow(1.1, -e.getPreciseWheelRotation()), e.getPoint());
+            } else if (getParent() != null) {
+                //sin Ctrl la rueda sigue desplazando el JScrollPane
+                getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, e, getParent()));
+            }
+        });
+
+        MouseAdapter arrastre = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                inicioArrastre = e.getLocationOnScreen();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() != 2 || !SwingUtilities.isLeftMouseButton(e)) return;
+                int nodo = nodoEn(e.getPoint());
+                if (nodo >= 0) {
+                    enfocar(literalNodo[nodo], saltos);
+                }
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                JViewport vista = vista();
+                if (vista == null || inicioArrastre == null) return;
+                Point actual = e.getLocationOnScreen();
+                Point posicion = vista.getViewPosition();
+                moverVista(vista, posicion.x - (actual.x - inicioArrastre.x), posicion.y - (actual.y - inicioArrastre.y));
+                inicioArrastre = actual;
+            }
+        };
+        addMouseListener(arrastre);
+        addMouseMotionListener(arrastre);
+    }
+
+    private void atajo(KeyStroke tecla, String nombre, Runnable accion) {
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(tecla, nombre);
+        getActionMap().put(nombre, new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                accion.run();
+            }
+        });
+    }
+
+    //expande o reduce el vecindario enfocado; fuera del enfoque no hace nada
+    private void cambiarSaltos(int cambio) {
+        if (modo == ModoVista.ENFOQUE && saltos + cambio >= 1) {
+            enfocar(literalFoco, saltos + cambio);
+        }
+    }
+
+    //nodo bajo el punto (en pixeles del panel), o -1; con poco zoom se acepta unos pixeles alrededor del punto
+    private int nodoEn(Point punto) {
+        double x = punto.x / escala;
+        double y = punto.y / escala;
+        double alcance = Math.max(RADIO_NODO / 2.0, 4 / escala);
+        int mejor = -1;
+        double mejorDistancia = alcance * alcance;
+        for (int i = 0; i < etiquetas.length; i++) {
+            double dx = nodoX[i] - x;
+            double dy = nodoY[i] - y;
+            double d = dx * dx + dy * dy;
+            if (d <= mejorDistancia) {
+                mejor = i;
+                mejorDistancia = d;
+            }
+        }
+        return mejor;
+    }
+
+    //cambia la escala manteniendo fijo el punto 'ancla' (en pixeles del panel)
+    public void cambiarEscala(double nueva, Point ancla) {
+        nueva = Math.max(escalaMinima, Math.min(ESCALA_MAXIMA, nueva));
+        if (nueva == escala) return;
+
+        JViewport vista = vista();
+        Point posicion = vista != null ? vista.getViewPosition() : new Point();
+        double mundoX = ancla.x / escala;
+        double mundoY = ancla.y / escala;
+
+        escala = nueva;
+        actualizarTamano();
+        if (vista != null) {
+            moverVista(vista, (int) Math.round(mundoX * escala) - (ancla.x - posicion.x),
+                    (int) Math.round(mundoY * escala) - (ancla.y - posicion.y));
+        }
+        repaint();
+    }
+
+    public double getEscala() {
+        return escala;
+    }
+
+    private void actualizarTamano() {
+        Dimension tamano = new Dimension((int) Math.ceil(anchoMundo * escala), (int) Math.ceil(altoMundo * escala));
+        setPreferredSize(tamano);
+        if (getParent() != null) {
+            setSize(tamano); // la vista se mueve antes de que el viewport vuelva a acomodar el panel
+        }
+        revalidate();
     }
 
+    private JViewport vista() {
+        return (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+    }
+
+    private void moverVista(JViewport vista, int x, int y) {
+        Dimension extension = vista.getExtentSize();
+        x = Math.max(0, Math.min(x, getWidth() - extension.width));
+        y = Math.max(0, Math.min(y, getHeight() - extension.height));
+        vista.setViewPosition(new Point(x, y));
+    }
 
-    //4. Metodo de dibujar las flechas y formas
-    //dibuja una arista curva en todos los nodos
-    private void dibujarFlecha(Graphics2D g2d, int x1, int y1, int x2, int y2) {
+
+    //5. Disposicion por fuerzas
+    //acomoda los nodos con DisposicionFuerzas en un hilo aparte partiendo de las posiciones actuales;
+    //cada INTERVALO_PUBLICACION se envian las posiciones al panel, que solo redibuja con la ultima
+    public void iniciarDisposicion(int iteraciones) {
+        cancelarDisposicion();
+
+        int n = etiquetas.length;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            //pequeña perturbacion para romper la simetria del circulo
+            x[i] = nodoX[i] + (i % 7) * 0.5;
+            y[i] = nodoY[i] + (i % 11) * 0.5;
+        }
+        DisposicionFuerzas motor = new DisposicionFuerzas(x, y, aristaOrigen, aristaDestino, aristaOrigen.length,
+                anchoMundo, altoMundo, iteraciones);
+        //el hilo no lee los campos del panel: un cambio de vista los reemplaza mientras corre
+        int ancho = anchoMundo;
+        int alto = altoMundo;
+
+        disposicion = new SwingWorker<>() {
+            @Override
+            protected int[][] doInBackground() {
+                long ultima = System.nanoTime();
+                while (!isCancelled() && motor.iterar()) {
+                    if (System.nanoTime() - ultima >= INTERVALO_PUBLICACION) {
+                        publish(copiar(motor, n, ancho, alto));
+                        ultima = System.nanoTime();
+                    }
+                }
+                return copiar(motor, n, ancho, alto);
+            }
+
+            @Override
+            protected void process(List<int[][]> lotes) {
+                if (disposicion == this && !isCancelled()) {
+                    aplicarPosiciones(lotes.get(lotes.size() - 1));
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (disposicion != this) return; // ya la reemplazo otra disposicion
+                try {
+                    aplicarPosiciones(get());
+                    progreso = "";
+                } catch (CancellationException e) {
+                    progreso = " | Disposición detenida";
+                } catch (InterruptedException | ExecutionException e) {
+                    progreso = " | Error en la disposición: " + e.getMessage();
+                }
+                repaint();
+            }
+        };
+        progreso = " | Disposición: 0/" + iteraciones;
+        disposicion.execute();
+    }
+
+    //detiene la disposicion en curso; los nodos quedan donde se mostraron por ultima vez
+    public void cancelarDisposicion() {
+        if (disposicion != null && !disposicion.isDone()) {
+            disposicion.cancel(false);
+        }
+    }
+
+    //posiciones escaladas al mundo del panel (que asi no cambia de tamaño) e iteracion alcanzada
+    private static int[][] copiar(DisposicionFuerzas motor, int n, int ancho, int alto) {
+        int[] x = new int[n];
+        int[] y = new int[n];
+        motor.copiarPosiciones(x, y, ancho, alto, 2 * RADIO_NODO);
+        return new int[][]{x, y, {motor.iteracion(), motor.iteraciones()}};
+    }
+
+    //en el EDT: mueve los nodos, recalcula la geometria de las aristas y regenera la capa
+    private void aplicarPosiciones(int[][] posicionesNuevas) {
+        nodoX = posicionesNuevas[0];
+        nodoY = posicionesNuevas[1];
+        for (int e = 0; e < aristaOrigen.length; e++) {
+            construirFlecha(e, nodoX[aristaOrigen[e]], nodoY[aristaOrigen[e]], nodoX[aristaDestino[e]], nodoY[aristaDestino[e]]);
+        }
+        progreso = " | Disposición: " + posicionesNuevas[2][0] + "/" + posicionesNuevas[2][1];
+        capaVigente = false;
+        repaint();
+    }
+
+
+    //6. Metodos de geometria de flechas
+    //calcula la arista curva e de (x1,y1) a (x2,y2), su punta y su caja; se guarda para todos los repintados
+    private void construirFlecha(int e, int x1, int y1, int x2, int y2) {
         // Calcular el ángulo de la línea
         double angle = Math.atan2(y2 - y1, x2 - x1);
 
         // Acortar la línea para que no empiece/termine en el borde del nodo
-        int radioNodo = 25;
+        int radioNodo = RADIO_NODO;
         int x1a = (int)(x1 + radioNodo/2 * Math.cos(angle));
         int y1a = (int)(y1 + radioNodo/2 * Math.sin(angle));
         int x2a = (int)(x2 - radioNodo/2 * Math.cos(angle));
@@ -250,12 +977,11 @@ public class VisualizadorImplicaciones extends JPanel {
         // Calcular punto de control para curva (si es una autorreferencia)
         if (x1 == x2 && y1 == y2) {
             // Caso especial: autorreferencia (bucle)
-            g2d.drawArc(x1 - radioNodo, y1 - 2*radioNodo, 2*radioNodo, 2*radioNodo, 0, 360);
+            curvas[e] = new Arc2D.Float(x1 - radioNodo, y1 - 2*radioNodo, 2*radioNodo, 2*radioNodo, 0, 360, Arc2D.OPEN);
 
-            // Dibujar flecha en el bucle
-            int arrowX = x1;
-            int arrowY = y1 - 2*radioNodo;
-            drawArrowHead(g2d, arrowX, arrowY, Math.PI/2);
+            // Flecha en el bucle
+            puntas[e] = crearPunta(x1, y1 - 2*radioNodo, Math.PI/2);
+            cajas[e] = calcularCaja(e);
             return;
         }
 
@@ -271,10 +997,8 @@ public class VisualizadorImplicaciones extends JPanel {
         cx += (int)(desplazamiento * Math.cos(perpendicularAngle));
         cy += (int)(desplazamiento * Math.sin(perpendicularAngle));
 
-        // Dibujar la curva con Bezier cuadrática
-        java.awt.geom.QuadCurve2D curve = new java.awt.geom.QuadCurve2D.Float();
-        curve.setCurve(x1a, y1a, cx, cy, x2a, y2a);
-        g2d.draw(curve);
+        // Curva con Bezier cuadrática
+        curvas[e] = new QuadCurve2D.Float(x1a, y1a, cx, cy, x2a, y2a);
 
         // Calcular punto en la curva cerca del final para la flecha
         double t = 0.8; // Punto al 80% de la curva
@@ -286,12 +1010,13 @@ public class VisualizadorImplicaciones extends JPanel {
         double dy = 2*(1-t)*(cy - y1a) + 2*t*(y2a - cy);
         double tangentAngle = Math.atan2(dy, dx);
 
-        // Dibujar la flecha en el punto correcto de la curva
-        drawArrowHead(g2d, (int)curveX, (int)curveY, tangentAngle);
+        // Flecha en el punto correcto de la curva
+        puntas[e] = crearPunta((int)curveX, (int)curveY, tangentAngle);
+        cajas[e] = calcularCaja(e);
     }
 
-    //dibuja la punta de la arista en el extremo
-    private void drawArrowHead(Graphics2D g2d, int x, int y, double angle) {
+    //punta de la arista en el extremo
+    private static Polygon crearPunta(int x, int y, double angle) {
         int arrowSize = 12;
 
         // Calcular puntos de la flecha
@@ -306,12 +1031,14 @@ public class VisualizadorImplicaciones extends JPanel {
         arrowHead.addPoint(x, y);
         arrowHead.addPoint(x2, y2);
         arrowHead.addPoint(x3, y3);
+        return arrowHead;
+    }
 
-        // Dibujar flecha
-        g2d.fill(arrowHead);
-        g2d.setColor(g2d.getColor().darker()); // Color más oscuro para el borde
-        g2d.draw(arrowHead);
+    //caja de curva y punta ampliada por el grosor del trazo
+    private Rectangle calcularCaja(int e) {
+        Rectangle caja = curvas[e].getBounds().union(puntas[e].getBounds());
+        caja.grow(2, 2);
+        return caja;
     }
 
 }
-
@@ -0,0 +1,94 @@
+package org.example;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class WarshallParalelo {
+
+    //Warshall multinucleo sobre MatrizBits: con k fijo cada fila se actualiza de forma independiente
+    //(fila_i |= fila_k solo lee la fila k, que no cambia en la iteracion k porque R[k][k] ya esta activo),
+    //asi que las filas de cada iteracion se reparten entre los hilos de un ForkJoinPool
+    //
+    //los pools no se crean por llamada: se usa el comun, o uno compartido por cada otro paralelismo
+    //(sus hilos son daemon y terminan solos cuando quedan inactivos)
+
+    //filas minimas por tarea antes de dejar de dividir
+    private static final int FILAS_MINIMAS = 64;
+
+    private static final ConcurrentHashMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    //cierra la matriz en sitio usando 'paralelismo' hilos; el resultado es identico al de la version secuencial
+    //el paralelismo se limita a los procesadores disponibles: mas hilos no aceleran y cada valor distinto
+    //dejaria otro pool guardado en POOLS
+    public static void cerrar(MatrizBits R, int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser al menos 1: " + paralelismo);
+        }
+        paralelismo = Math.min(paralelismo, Runtime.getRuntime().availableProcessors());
+        if (paralelismo == 1) {
+            R.cerrarTransitivamente();
+            return;
+        }
+        cerrar(R, pool(paralelismo));
+    }
+
+    //cierra la matriz en sitio con los hilos del pool dado (que no se cierra)
+    public static void cerrar(MatrizBits R, ForkJoinPool pool) {
+        int n = R.tamano();
+        int paralelismo = pool.getParallelism();
+        if (paralelismo == 1 || n <= FILAS_MINIMAS) {
+            R.cerrarTransitivamente();
+            return;
+        }
+
+        //repartir en unas 4 tareas por hilo para equilibrar filas con R[i][k] = false
+        int umbral = Math.max(FILAS_MINIMAS, n / (paralelismo * 4));
+        for (int k = 0; k < n; k++) {
+            pool.invoke(new TareaFilas(R, k, 0, n, umbral));
+        }
+    }
+
+    //el pool comun si tiene el paralelismo pedido; si no, uno compartido de ese tamaño
+    private static ForkJoinPool pool(int paralelismo) {
+        if (paralelismo == ForkJoinPool.getCommonPoolParallelism()) {
+            return ForkJoinPool.commonPool();
+        }
+        return POOLS.computeIfAbsent(paralelismo, ForkJoinPool::new);
+    }
+
+    //aplica el paso de Warshall de la iteracion k a las filas [desde, hasta)
+    private static class TareaFilas extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MatrizBits R;
+        private final int k;
+        private final int desde;
+        private final int hasta;
+        private final int umbral;
+
+        TareaFilas(MatrizBits R, int k, int desde, int hasta, int umbral) {
+            this.R = R;
+            this.k = k;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.umbral = umbral;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= umbral) {
+                long[] filaK = R.fila(k);
+                for (int i = desde; i < hasta; i++) {
+                    MatrizBits.orSiAlcanza(R.fila(i), filaK, k);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaFilas(R, k, desde, medio, umbral),
+                    new TareaFilas(R, k, medio, hasta, umbral));
+        }
+    }
+
+}
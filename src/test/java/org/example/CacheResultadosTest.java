@@ -0,0 +1,146 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheResultadosTest {
+
+    @Test
+    void desalojaLaMenosUsadaAlPasarLaCapacidad() {
+        //todas las relaciones tienen dos elementos: sus entradas miden lo mismo
+        long tamano = tamanoEntrada();
+        CacheResultados cache = new CacheResultados(4 * tamano + tamano / 2);
+        for (int i = 0; i < 4; i++) {
+            cache.clausura(relacion(i));
+        }
+        assertEquals(4, cache.estadisticas().entradas);
+        assertEquals(0, cache.estadisticas().desalojos);
+
+        //usar la 0 deja a la 1 como la menos usada
+        cache.clausura(relacion(0));
+        cache.clausura(relacion(4));
+        CacheResultados.Estadisticas e = cache.estadisticas();
+        assertEquals(4, e.entradas);
+        assertEquals(1, e.desalojos);
+        assertEquals(4 * tamano, e.bytes);
+        assertTrue(e.bytes <= e.capacidad);
+
+        long fallos = e.fallos;
+        cache.clausura(relacion(0));
+        cache.clausura(relacion(4));
+        assertEquals(fallos, cache.estadisticas().fallos);
+        cache.clausura(relacion(1));
+        assertEquals(fallos + 1, cache.estadisticas().fallos);
+    }
+
+    @Test
+    void rechazaResultadosMayoresQueUnCuartoDeLaCapacidad() {
+        long tamano = tamanoEntrada();
+        CacheResultados cache = new CacheResultados(4 * tamano - 1);
+        ClausuraRelacion primera = cache.clausura(relacion(0));
+        ClausuraRelacion segunda = cache.clausura(relacion(0));
+
+        CacheResultados.Estadisticas e = cache.estadisticas();
+        assertEquals(2, e.rechazados);
+        assertEquals(2, e.fallos);
+        assertEquals(0, e.aciertos);
+        assertEquals(0, e.entradas);
+        assertEquals(0, e.bytes);
+        assertNotSame(primera, segunda);
+        assertEquals(new HashSet<>(primera), new HashSet<>(segunda));
+    }
+
+    @Test
+    void cuentaAciertosYFallos() {
+        CacheResultados cache = new CacheResultados(1 << 20);
+        ClausuraRelacion primera = cache.clausura(relacion(0));
+        assertSame(primera, cache.clausura(relacion(0)));
+        //el mismo conjunto en otra representacion tiene la misma huella
+        RelacionPrimitiva primitiva = new RelacionPrimitiva();
+        primitiva.addAll(relacion(0));
+        assertSame(primera, cache.clausura(primitiva));
+        cache.clausura(relacion(1));
+
+        CacheResultados.Estadisticas e = cache.estadisticas();
+        assertEquals(2, e.aciertos);
+        assertEquals(2, e.fallos);
+        assertEquals(0.5, e.tasaAciertos());
+        assertEquals(2, e.entradas);
+
+        cache.limpiar();
+        assertEquals(0, cache.estadisticas().entradas);
+        assertEquals(0, cache.estadisticas().bytes);
+    }
+
+    @Test
+    void resolver2SATDevuelveUnaCopiaDelModelo() {
+        CacheResultados cache = new CacheResultados(1 << 20);
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(Set.of(new Par(1, 2), new Par(-1)));
+        boolean[] modelo = cache.resolver2SAT(clausulas);
+        assertTrue(clausulas.satisface(modelo));
+
+        Arrays.fill(modelo, false);
+        boolean[] otro = cache.resolver2SAT(clausulas);
+        assertNotSame(modelo, otro);
+        assertTrue(clausulas.satisface(otro));
+        assertEquals(1, cache.estadisticas().aciertos);
+
+        //los insatisfacibles tambien se guardan
+        ClausulasCompiladas contradiccion = ClausulasCompiladas.compilar(Set.of(new Par(3), new Par(-3)));
+        assertNull(cache.resolver2SAT(contradiccion));
+        assertNull(cache.resolver2SAT(contradiccion));
+        assertEquals(2, cache.estadisticas().aciertos);
+    }
+
+    @Test
+    void laHuellaDeTIgnoraLasUnitariasYLaDe2SATNo() {
+        ClausulasCompiladas binarias = ClausulasCompiladas.compilar(Set.of(new Par(1, 2)));
+        ClausulasCompiladas conUnitaria = ClausulasCompiladas.compilar(Set.of(new Par(1, 2), new Par(-1)));
+
+        CacheResultados cache = new CacheResultados(1 << 20);
+        ClausurasLiterales clausuras = cache.clausurasLiterales(binarias);
+        assertSame(clausuras, cache.clausurasLiterales(conUnitaria));
+        assertEquals(1, cache.estadisticas().aciertos);
+
+        cache.resolver2SAT(binarias);
+        boolean[] modelo = cache.resolver2SAT(conUnitaria);
+        assertEquals(1, cache.estadisticas().aciertos);
+        assertEquals(3, cache.estadisticas().fallos);
+        //con la huella de T(l) devolveria el modelo de las binarias, que puede no satisfacer (¬1)
+        assertTrue(conUnitaria.satisface(modelo));
+    }
+
+    @Test
+    void laClausuraDistingueXDeMenosX() {
+        //en la clausura -3 y 3 son elementos distintos, como en calcularClausura
+        Set<Par> relacion = Set.of(new Par(-3, 3), new Par(3, 5), new Par(7));
+        ClausuraRelacion esperada = ClausuraTransitivaReflexiva.calcularClausura(relacion, EscuchaTraza.APAGADA);
+        ClausuraRelacion obtenida = new CacheResultados(1 << 20).clausura(relacion);
+
+        assertEquals(4, obtenida.numElementos());
+        assertEquals(new HashSet<>(esperada), new HashSet<>(obtenida));
+        assertTrue(obtenida.alcanza(-3, 5));
+        assertFalse(obtenida.alcanza(3, -3));
+    }
+
+    @Test
+    void rechazaCapacidadNoPositiva() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheResultados(0));
+    }
+
+
+    private static Set<Par> relacion(int i) {
+        return Set.of(new Par(10 * i, 10 * i + 1));
+    }
+
+    //bytes que ocupa la clausura de una relacion de dos elementos
+    private static long tamanoEntrada() {
+        CacheResultados cache = new CacheResultados(1 << 20);
+        cache.clausura(relacion(0));
+        return cache.estadisticas().bytes;
+    }
+
+}
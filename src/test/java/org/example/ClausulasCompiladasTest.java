@@ -0,0 +1,134 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClausulasCompiladasTest {
+
+    //un elemento -x de la relacion es el literal ¬x, como en convertirRelacionAClausulas
+
+    @Test
+    void elementoNegativoEsLaNegacionDeSuVariable() {
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(Set.of(new Par(3), new Par(-3)));
+
+        assertEquals(1, clausulas.numVariables());
+        assertEquals(3, clausulas.valor(0));
+        assertNull(Resolvedor2SAT.resolver(clausulas));
+        assertFalse(ConversorClausulas.resolver2SAT(clausulas, EscuchaTraza.APAGADA));
+    }
+
+    @Test
+    void parNegativoRepetidoYUnitariaContraria() {
+        Set<Par> relacion = Set.of(new Par(-1, -1), new Par(1));
+        assertNull(Resolvedor2SAT.resolver(ClausulasCompiladas.compilar(relacion)));
+        assertFalse(Sesion2SAT.desde(relacion).esSatisfacible());
+    }
+
+    @Test
+    void nombresDeLiteralesNegativos() {
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(Set.of(new Par(-3, 2)));
+
+        Set<ConversorClausulas.Clausula> esperadas = Set.of(new ConversorClausulas.Clausula("-3", "2"));
+        assertEquals(esperadas, clausulas.aClausulas());
+        int negado = clausulas.literalDeNombre("-3");
+        assertTrue(ClausulasCompiladas.esNegativo(negado));
+        assertEquals(negado, clausulas.literalDeNombre("¬3"));
+        assertEquals(ClausulasCompiladas.complemento(negado), clausulas.literalDeNombre("3"));
+    }
+
+    @Test
+    void aClausulasYDesdeClausulasSonInversas() {
+        Random azar = new Random(4);
+        for (int prueba = 0; prueba < 200; prueba++) {
+            Set<Par> relacion = relacionAlAzar(azar, 4, 6);
+            ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(relacion);
+            ClausulasCompiladas vuelta = ClausulasCompiladas.desdeClausulas(clausulas.aClausulas());
+
+            assertArrayEquals(clausulas.valores, vuelta.valores, relacion.toString());
+            assertArrayEquals(clausulas.unitarias, vuelta.unitarias, relacion.toString());
+            assertArrayEquals(clausulas.literales1, vuelta.literales1, relacion.toString());
+            assertArrayEquals(clausulas.literales2, vuelta.literales2, relacion.toString());
+            assertEquals(ConversorClausulas.convertirRelacionAClausulas(relacion, EscuchaTraza.APAGADA),
+                    clausulas.aClausulas());
+        }
+    }
+
+    @Test
+    void satisfacibilidadIgualAFuerzaBruta() {
+        Random azar = new Random(2);
+        for (int prueba = 0; prueba < 500; prueba++) {
+            Set<Par> relacion = relacionAlAzar(azar, 4, 8);
+            ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(relacion);
+            boolean[] modelo = Resolvedor2SAT.resolver(clausulas);
+
+            assertEquals(satisfaciblePorFuerzaBruta(relacion), modelo != null, relacion.toString());
+            if (modelo != null) {
+                assertTrue(clausulas.satisface(modelo), relacion.toString());
+                assertTrue(satisface(relacion, clausulas, modelo), relacion.toString());
+            }
+            assertEquals(modelo != null, Sesion2SAT.desde(relacion).esSatisfacible(), relacion.toString());
+        }
+    }
+
+    @Test
+    void rechazaElementoSinNegacion() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ClausulasCompiladas.compilar(Set.of(new Par(Integer.MIN_VALUE))));
+    }
+
+
+    //relacion con elementos entre -maximo y maximo (pares e individuales)
+    static Set<Par> relacionAlAzar(Random azar, int maximo, int maximoPares) {
+        Set<Par> relacion = new HashSet<>();
+        int pares = 1 + azar.nextInt(maximoPares);
+        for (int i = 0; i < pares; i++) {
+            int x = azar.nextInt(2 * maximo + 1) - maximo;
+            if (azar.nextInt(4) == 0) {
+                relacion.add(new Par(x));
+            } else {
+                relacion.add(new Par(x, azar.nextInt(2 * maximo + 1) - maximo));
+            }
+        }
+        return relacion;
+    }
+
+    //prueba todas las asignaciones de las variables |x|
+    static boolean satisfaciblePorFuerzaBruta(Set<Par> relacion) {
+        int[] variables = relacion.stream()
+                .flatMapToInt(p -> p.y == null ? IntStream.of(Math.abs(p.x))
+                        : IntStream.of(Math.abs(p.x), Math.abs(p.y)))
+                .distinct().sorted().toArray();
+        for (long asignacion = 0; asignacion < 1L << variables.length; asignacion++) {
+            boolean todas = true;
+            for (Par p : relacion) {
+                boolean a = verdadero(p.x, variables, asignacion);
+                if (!(a || (p.y != null && verdadero(p.y, variables, asignacion)))) {
+                    todas = false;
+                    break;
+                }
+            }
+            if (todas) return true;
+        }
+        return false;
+    }
+
+    private static boolean verdadero(int elemento, int[] variables, long asignacion) {
+        boolean valor = (asignacion >>> Arrays.binarySearch(variables, Math.abs(elemento)) & 1) != 0;
+        return elemento < 0 ? !valor : valor;
+    }
+
+    //el modelo, leido por variable, satisface cada par de la relacion
+    private static boolean satisface(Set<Par> relacion, ClausulasCompiladas clausulas, boolean[] modelo) {
+        for (Par p : relacion) {
+            boolean a = modelo[clausulas.variableDeValor(Math.abs(p.x))] != p.x < 0;
+            boolean b = p.y != null && modelo[clausulas.variableDeValor(Math.abs(p.y))] != p.y < 0;
+            if (!a && !b) return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClausuraIncrementalTest {
+
+    //despues de cada insercion o borrado la clausura debe ser la de Warshall (calcularClausura) sobre la relacion actual
+
+    @Test
+    void borrarUnParDelCicloRompeSoloLoQueDependiaDeEl() {
+        Set<Par> relacion = new HashSet<>(Set.of(new Par(1, 2), new Par(2, 3), new Par(3, 1), new Par(3, 4)));
+        ClausuraIncremental clausura = ClausuraIncremental.calcular(relacion);
+
+        relacion.remove(new Par(3, 1));
+        long quitados = clausura.eliminarPar(3, 1);
+
+        assertIgualAWarshall(relacion, clausura);
+        assertEquals(3, quitados); // (2,1), (3,1) y (3,2)
+        assertTrue(clausura.alcanza(1, 4));
+        assertFalse(clausura.alcanza(3, 1));
+    }
+
+    @Test
+    void elementoSinParesSaleDeLaClausura() {
+        Set<Par> relacion = new HashSet<>(Set.of(new Par(1, 2), new Par(5)));
+        ClausuraIncremental clausura = ClausuraIncremental.calcular(relacion);
+
+        clausura.eliminarPar(1, 2);
+        relacion.remove(new Par(1, 2));
+        assertIgualAWarshall(relacion, clausura);
+        assertFalse(clausura.contieneElemento(1));
+
+        clausura.eliminarElemento(5);
+        assertEquals(0, clausura.numElementos());
+        assertEquals(0, clausura.cardinalidad());
+    }
+
+    @Test
+    void secuenciasAlAzarIgualAWarshall() {
+        Random azar = new Random(12);
+        for (int prueba = 0; prueba < 60; prueba++) {
+            int maximo = 3 + azar.nextInt(10);
+            Set<Par> relacion = new HashSet<>();
+            for (int i = azar.nextInt(2 * maximo); i > 0; i--) {
+                relacion.add(parAlAzar(azar, maximo));
+            }
+            ClausuraIncremental clausura = ClausuraIncremental.calcular(relacion);
+            assertIgualAWarshall(relacion, clausura);
+
+            for (int paso = 0; paso < 40; paso++) {
+                long antes = clausura.cardinalidad();
+                Par par;
+                long cambio;
+                //mas borrados que inserciones cuando la relacion ya tiene pares: el camino decremental es el delicado
+                if (!relacion.isEmpty() && azar.nextInt(3) > 0) {
+                    par = new ArrayList<>(relacion).get(azar.nextInt(relacion.size()));
+                    relacion.remove(par);
+                    cambio = -clausura.eliminarPar(par);
+                } else {
+                    par = parAlAzar(azar, maximo);
+                    relacion.add(par);
+                    cambio = clausura.agregarPar(par);
+                }
+                String contexto = "paso " + paso + " con " + par + ": " + relacion;
+                assertIgualAWarshall(relacion, clausura, contexto);
+                assertEquals(clausura.cardinalidad() - antes, cambio, contexto);
+            }
+        }
+    }
+
+
+    private static Par parAlAzar(Random azar, int maximo) {
+        int x = azar.nextInt(maximo);
+        return azar.nextInt(5) == 0 ? new Par(x) : new Par(x, azar.nextInt(maximo));
+    }
+
+    private static void assertIgualAWarshall(Set<Par> relacion, ClausuraIncremental clausura) {
+        assertIgualAWarshall(relacion, clausura, relacion.toString());
+    }
+
+    private static void assertIgualAWarshall(Set<Par> relacion, ClausuraIncremental clausura, String contexto) {
+        ClausuraRelacion esperada = ClausuraTransitivaReflexiva.calcularClausura(relacion, EscuchaTraza.APAGADA);
+        assertEquals(new HashSet<>(esperada), clausura.aPares(), contexto);
+        assertEquals(esperada.cardinalidad(), clausura.cardinalidad(), contexto);
+        assertEquals(esperada.numElementos(), clausura.numElementos(), contexto);
+    }
+
+}
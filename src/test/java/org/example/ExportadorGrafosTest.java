@@ -0,0 +1,72 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportadorGrafosTest {
+
+    //relacion con elementos negativos: -3 es ¬3, asi que el grafo tiene un nodo por literal de 3, 2 y 5
+    private static final Set<Par> RELACION = Set.of(new Par(-3, 2), new Par(3, 5), new Par(-5), new Par(2, -2));
+
+    @Test
+    void graphmlDeImplicacionesTieneIdentificadoresUnicos() throws IOException {
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(RELACION);
+        String texto = escribir(ExportadorGrafos.deImplicaciones(clausulas), ExportadorGrafos.Formato.GRAPHML);
+
+        List<String> nodos = capturas(Pattern.compile("<node id=\"([^\"]*)\""), texto);
+        assertEquals(clausulas.numLiterales(), nodos.size());
+        assertEquals(Set.of("2", "-2", "3", "-3", "5", "-5"), new HashSet<>(nodos));
+
+        //toda arista une nodos declarados
+        List<String> extremos = capturas(Pattern.compile("(?:source|target)=\"([^\"]*)\""), texto);
+        assertFalse(extremos.isEmpty());
+        assertTrue(new HashSet<>(nodos).containsAll(extremos), extremos.toString());
+        assertTrue(texto.contains("<edge source=\"3\" target=\"2\"/>"));
+        assertTrue(texto.contains("<edge source=\"-2\" target=\"-3\"/>"));
+    }
+
+    @Test
+    void dotDeImplicacionesTieneIdentificadoresUnicos() throws IOException {
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(RELACION);
+        String texto = escribir(ExportadorGrafos.deImplicaciones(clausulas), ExportadorGrafos.Formato.DOT);
+
+        List<String> nodos = capturas(Pattern.compile("(?m)^  \"([^\"]*)\" \\["), texto);
+        assertEquals(clausulas.numLiterales(), nodos.size());
+        assertEquals(nodos.size(), new HashSet<>(nodos).size(), nodos.toString());
+        assertFalse(texto.contains("--"), texto);
+    }
+
+    @Test
+    void condensacionMarcaLaComponenteContradictoria() throws IOException {
+        //(2 ∨ ¬2) no une 2 con ¬2; (3 ∨ 3) y (¬3 ∨ ¬3) si los ponen en la misma componente
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(Set.of(new Par(3, 3), new Par(-3, -3)));
+        String texto = escribir(ExportadorGrafos.deCondensacion(clausulas), ExportadorGrafos.Formato.GRAPHML);
+
+        assertEquals(1, capturas(Pattern.compile("<node id=\"([^\"]*)\""), texto).size());
+        assertTrue(texto.contains(">true<"), texto);
+    }
+
+
+    private static String escribir(ExportadorGrafos exportador, ExportadorGrafos.Formato formato) throws IOException {
+        StringWriter salida = new StringWriter();
+        exportador.escribir(salida, formato);
+        return salida.toString();
+    }
+
+    private static List<String> capturas(Pattern patron, String texto) {
+        List<String> encontradas = new ArrayList<>();
+        Matcher m = patron.matcher(texto);
+        while (m.find()) {
+            encontradas.add(m.group(1));
+        }
+        return encontradas;
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrizSegmentoTest {
+
+    private static final Set<Par> RELACION = Set.of(new Par(1, 2), new Par(2, 3), new Par(7));
+
+    @Test
+    void reabrirSoloLectura(@TempDir Path directorio) throws IOException {
+        Path archivo = directorio.resolve("clausura.bin");
+        try (MatrizSegmento R = ClausuraTransitivaReflexiva.calcularClausuraFueraDelHeap(RELACION, archivo)) {
+            assertTrue(R.alcanza(1, 3));
+        }
+        archivo.toFile().setReadOnly();
+
+        ClausuraRelacion esperada = ClausuraTransitivaReflexiva.calcularClausura(RELACION, EscuchaTraza.APAGADA);
+        try (MatrizSegmento R = MatrizSegmento.abrir(archivo)) {
+            assertTrue(R.estaCerrada());
+            assertEquals(esperada.cardinalidad(), R.contarUnos());
+            Set<Par> pares = new HashSet<>();
+            for (int i = 0; i < R.tamano(); i++) {
+                for (int j = 0; j < R.tamano(); j++) {
+                    if (R.get(i, j)) pares.add(new Par(R.valor(i), R.valor(j)));
+                }
+            }
+            assertEquals(new HashSet<>(esperada), pares);
+            assertThrows(IllegalStateException.class, () -> R.set(0, 1));
+        }
+    }
+
+    @Test
+    void reabrirConEscrituraParaCerrar(@TempDir Path directorio) throws IOException {
+        Path archivo = directorio.resolve("sin-cerrar.bin");
+        try (MatrizSegmento R = MatrizSegmento.enArchivo(archivo, new int[]{1, 2, 3})) {
+            R.set(0, 1);
+            R.set(1, 2);
+        }
+
+        try (MatrizSegmento R = MatrizSegmento.abrir(archivo, true)) {
+            assertFalse(R.estaCerrada());
+            R.cerrarTransitivamente();
+        }
+        try (MatrizSegmento R = MatrizSegmento.abrir(archivo)) {
+            assertTrue(R.estaCerrada());
+            assertTrue(R.alcanza(1, 3));
+        }
+    }
+
+    @Test
+    void agregarUnParQuitaLaMarcaDeCerrada(@TempDir Path directorio) throws IOException {
+        Path archivo = directorio.resolve("clausura.bin");
+        try (MatrizSegmento R = ClausuraTransitivaReflexiva.calcularClausuraFueraDelHeap(RELACION, archivo)) {
+            assertTrue(R.estaCerrada());
+        }
+
+        try (MatrizSegmento R = MatrizSegmento.abrir(archivo, true)) {
+            assertTrue(R.estaCerrada());
+            R.set(R.indiceDe(3), R.indiceDe(7));
+            assertFalse(R.estaCerrada());
+        }
+        try (MatrizSegmento R = MatrizSegmento.abrir(archivo)) {
+            assertFalse(R.estaCerrada());
+            assertTrue(R.alcanza(3, 7));
+            assertFalse(R.alcanza(1, 7));
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreprocesadorTest {
+
+    @Test
+    void cicloDeEquivalenciasSeFusiona() {
+        //1 → 2 → 3 → 1: las tres variables quedan en una
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(
+                Set.of(new Par(-1, 2), new Par(-2, 3), new Par(-3, 1), new Par(1, 4)));
+        Preprocesador.Resultado resultado = Preprocesador.procesar(clausulas);
+
+        assertFalse(resultado.esInsatisfacible());
+        assertEquals(2, resultado.variablesFusionadas);
+        assertEquals(2, resultado.reducidas().numVariables());
+    }
+
+    @Test
+    void contradiccionPorPropagacion() {
+        ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(Set.of(new Par(1), new Par(-1, 2), new Par(-2)));
+        Preprocesador.Resultado resultado = Preprocesador.procesar(clausulas);
+
+        assertTrue(resultado.esInsatisfacible());
+        assertTrue(resultado.conflicto() >= 0);
+        assertNull(Preprocesador.resolver(clausulas));
+    }
+
+    @Test
+    void relacionesAlAzarIgualAFuerzaBruta() {
+        Random azar = new Random(14);
+        for (int prueba = 0; prueba < 500; prueba++) {
+            Set<Par> relacion = ClausulasCompiladasTest.relacionAlAzar(azar, 2 + azar.nextInt(5), 14);
+            ClausulasCompiladas clausulas = ClausulasCompiladas.compilar(relacion);
+            boolean esperado = ClausulasCompiladasTest.satisfaciblePorFuerzaBruta(relacion);
+
+            Preprocesador.Resultado resultado = Preprocesador.procesar(clausulas);
+            boolean[] modelo = Preprocesador.resolver(clausulas);
+            assertEquals(esperado, modelo != null, relacion.toString());
+            assertEquals(Resolvedor2SAT.resolver(clausulas) != null, modelo != null, relacion.toString());
+            if (modelo == null) continue;
+
+            assertTrue(clausulas.satisface(modelo), relacion.toString());
+            assertFalse(resultado.esInsatisfacible(), relacion.toString());
+            assertTrue(resultado.reducidas().numClausulas() <= clausulas.numClausulas(), relacion.toString());
+
+            //los literales fijados son consecuencia de la formula: ningun modelo tiene su complemento
+            for (int l : resultado.rastro()) {
+                assertFalse(satisfacibleCon(clausulas, ClausulasCompiladas.complemento(l)),
+                        relacion + " fija " + clausulas.nombreLiteral(l));
+            }
+        }
+    }
+
+
+    //fuerza bruta sobre las clausulas compiladas con el literal dado como verdadero
+    //(sobre la relacion no se puede: el elemento 0 no tiene negacion)
+    private static boolean satisfacibleCon(ClausulasCompiladas clausulas, int literal) {
+        boolean[] modelo = new boolean[clausulas.numVariables()];
+        for (long asignacion = 0; asignacion < 1L << modelo.length; asignacion++) {
+            for (int v = 0; v < modelo.length; v++) {
+                modelo[v] = (asignacion >>> v & 1) != 0;
+            }
+            if (ClausulasCompiladas.evaluar(literal, modelo) && clausulas.satisface(modelo)) return true;
+        }
+        return false;
+    }
+
+}
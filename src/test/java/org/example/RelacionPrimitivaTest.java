@@ -0,0 +1,56 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelacionPrimitivaTest {
+
+    //los borrados en bloque deben dejar lo mismo que en un HashSet con los mismos pares
+
+    @Test
+    void borradosEnBloqueIgualQueHashSet() {
+        Random azar = new Random(17);
+        for (int prueba = 0; prueba < 100; prueba++) {
+            Set<Par> esperada = new HashSet<>();
+            for (int i = azar.nextInt(200); i > 0; i--) {
+                int x = azar.nextInt(20) - 5;
+                esperada.add(azar.nextInt(4) == 0 ? new Par(x) : new Par(x, azar.nextInt(20) - 5));
+            }
+            esperada.add(new Par(0, 0)); // la clave 0 se guarda aparte
+            esperada.add(new Par(0));
+
+            List<Par> otros = new ArrayList<>();
+            for (int i = azar.nextInt(60); i > 0; i--) {
+                int x = azar.nextInt(20) - 5;
+                otros.add(azar.nextBoolean() ? new Par(x) : new Par(x, azar.nextInt(20) - 5));
+            }
+
+            RelacionPrimitiva relacion = RelacionPrimitiva.desde(esperada);
+            Set<Par> copia = new HashSet<>(esperada);
+            assertEquals(copia.removeIf(p -> p.y != null && p.x > p.y), relacion.removeIf(p -> p.y != null && p.x > p.y));
+            assertEquals(copia, relacion);
+            assertEquals(copia.removeAll(otros), relacion.removeAll(otros));
+            assertEquals(copia, relacion);
+
+            relacion = RelacionPrimitiva.desde(esperada);
+            copia = new HashSet<>(esperada);
+            assertEquals(copia.retainAll(otros), relacion.retainAll(otros));
+            assertEquals(copia, relacion);
+            assertEquals(copia.size(), relacion.size());
+        }
+    }
+
+    @Test
+    void removeAllConColeccionMayorQueLaRelacion() {
+        RelacionPrimitiva relacion = RelacionPrimitiva.desde(Set.of(new Par(1, 2), new Par(3)));
+        List<Par> quitar = List.of(new Par(1, 2), new Par(5, 6), new Par(7), new Par(8));
+
+        assertTrue(relacion.removeAll(quitar));
+        assertEquals(Set.of(new Par(3)), relacion);
+        assertFalse(relacion.removeAll(quitar));
+    }
+
+}
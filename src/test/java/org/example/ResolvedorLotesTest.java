@@ -0,0 +1,191 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResolvedorLotesTest {
+
+    @Test
+    void enOrdenEntregaEnOrdenDeEnvioAunqueTerminenAlReves() throws Exception {
+        EjecutorManual ejecutor = new EjecutorManual();
+        List<Long> recibidos = new ArrayList<>();
+        try (ResolvedorLotes lotes = new ResolvedorLotes(ejecutor, 5, ResolvedorLotes.Entrega.EN_ORDEN,
+                r -> recibidos.add(r.secuencia))) {
+            for (int i = 0; i < 5; i++) {
+                lotes.enviar(relacion(i));
+            }
+            for (int i = 4; i > 0; i--) {
+                ejecutor.correr(i);
+            }
+            assertEquals(List.of(), recibidos);   // todos esperan al primero
+            ejecutor.correr(0);
+            assertEquals(List.of(0L, 1L, 2L, 3L, 4L), recibidos);
+        }
+    }
+
+    @Test
+    void alTerminarEntregaSegunTerminan() throws Exception {
+        EjecutorManual ejecutor = new EjecutorManual();
+        List<Long> recibidos = new ArrayList<>();
+        try (ResolvedorLotes lotes = new ResolvedorLotes(ejecutor, 3, ResolvedorLotes.Entrega.AL_TERMINAR,
+                r -> recibidos.add(r.secuencia))) {
+            for (int i = 0; i < 3; i++) {
+                lotes.enviar(relacion(i));
+            }
+            ejecutor.correr(2);
+            ejecutor.correr(0);
+            ejecutor.correr(1);
+            assertEquals(List.of(2L, 0L, 1L), recibidos);
+        }
+    }
+
+    @Test
+    void enviarSeBloqueaSinLugarHastaUnaEntrega() throws Exception {
+        EjecutorManual ejecutor = new EjecutorManual();
+        ExecutorService fuente = Executors.newSingleThreadExecutor();
+        try (ResolvedorLotes lotes = new ResolvedorLotes(ejecutor, 2, ResolvedorLotes.Entrega.EN_ORDEN, r -> { })) {
+            lotes.enviar(relacion(0));
+            lotes.enviar(relacion(1));
+            Future<Long> tercero = fuente.submit(() -> lotes.enviar(relacion(2)));
+            assertThrows(TimeoutException.class, () -> tercero.get(200, TimeUnit.MILLISECONDS));
+
+            //terminar el segundo no libera lugar en EN_ORDEN: sigue esperando al primero
+            ejecutor.correr(1);
+            assertThrows(TimeoutException.class, () -> tercero.get(200, TimeUnit.MILLISECONDS));
+            ejecutor.correr(0);
+            assertEquals(2L, tercero.get(5, TimeUnit.SECONDS));
+            ejecutor.correr(2);
+        } finally {
+            fuente.shutdownNow();
+        }
+    }
+
+    @Test
+    void elReceptorPuedeEnviarSinBloquearse() throws Exception {
+        EjecutorManual ejecutor = new EjecutorManual();
+        List<Long> recibidos = new ArrayList<>();
+        ResolvedorLotes[] lotes = new ResolvedorLotes[1];
+        try (ResolvedorLotes resolvedor = new ResolvedorLotes(ejecutor, 1, ResolvedorLotes.Entrega.EN_ORDEN, r -> {
+            recibidos.add(r.secuencia);
+            try {
+                if (r.secuencia < 3) lotes[0].enviar(relacion((int) r.secuencia + 1));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        })) {
+            lotes[0] = resolvedor;
+            resolvedor.enviar(relacion(0));
+            for (int i = 0; i < 4; i++) {
+                ejecutor.correr(i);
+            }
+            assertEquals(List.of(0L, 1L, 2L, 3L), recibidos);
+        }
+    }
+
+    @Test
+    void elRechazoDelEjecutorSeEntregaSinDejarHueco() throws Exception {
+        EjecutorManual ejecutor = new EjecutorManual();
+        List<ResolvedorLotes.Resultado> recibidos = new ArrayList<>();
+        ResolvedorLotes lotes = new ResolvedorLotes(ejecutor, 4, ResolvedorLotes.Entrega.EN_ORDEN, recibidos::add);
+        lotes.enviar(relacion(0));
+        //como un envio que compite con close(): el ejecutor ya se detuvo
+        ejecutor.shutdown();
+        lotes.enviar(relacion(1));
+        assertTrue(recibidos.isEmpty());
+
+        ejecutor.correr(0);
+        assertEquals(2, recibidos.size());
+        assertNull(recibidos.get(0).error);
+        assertInstanceOf(RejectedExecutionException.class, recibidos.get(1).error);
+        assertEquals(1, lotes.estadisticas().fallidos);
+
+        lotes.close();
+        assertThrows(IllegalStateException.class, () -> lotes.enviar(relacion(2)));
+    }
+
+    @Test
+    void resuelveConHilos() throws Exception {
+        Map<Long, Boolean> satisfacibles = new ConcurrentHashMap<>();
+        try (ResolvedorLotes lotes = ResolvedorLotes.conHilos(4, 8, ResolvedorLotes.Entrega.AL_TERMINAR,
+                r -> satisfacibles.put(r.secuencia, r.satisfacible))) {
+            lotes.enviar(Set.of(new Par(1, 2)));
+            lotes.enviar(Set.of(new Par(3), new Par(-3)));
+            lotes.esperar();
+            assertEquals(Map.of(0L, true, 1L, false), satisfacibles);
+            assertEquals(2, lotes.estadisticas().terminados);
+        }
+    }
+
+    @Test
+    void percentilesDelHistograma() {
+        //latencias de 1 a 1000 µs, una de cada una
+        long[] histograma = new long[ResolvedorLotes.CUBETAS];
+        for (long micros = 1; micros <= 1000; micros++) {
+            histograma[ResolvedorLotes.cubeta(micros)]++;
+        }
+        assertEquals(0.5, ResolvedorLotes.percentil(histograma, 1000, 0.5), 0.5 / 16);
+        assertEquals(0.9, ResolvedorLotes.percentil(histograma, 1000, 0.9), 0.9 / 16);
+        assertEquals(0.99, ResolvedorLotes.percentil(histograma, 1000, 0.99), 0.99 / 16);
+        //el inicio de la cubeta nunca pasa de la latencia real
+        assertTrue(ResolvedorLotes.percentil(histograma, 1000, 0.5) <= 0.5);
+        //por debajo de 16 µs las cubetas son exactas
+        assertEquals(0.010, ResolvedorLotes.percentil(histograma, 1000, 0.01), 1e-12);
+        assertEquals(0, ResolvedorLotes.percentil(new long[ResolvedorLotes.CUBETAS], 0, 0.5));
+    }
+
+
+    private static Set<Par> relacion(int i) {
+        return Set.of(new Par(i, i + 1));
+    }
+
+    //guarda los trabajos y los corre cuando la prueba lo pide, en el orden que elija
+    private static final class EjecutorManual extends AbstractExecutorService {
+        private final List<Runnable> trabajos = new ArrayList<>();
+        private volatile boolean detenido;
+
+        @Override
+        public synchronized void execute(Runnable trabajo) {
+            if (detenido) throw new RejectedExecutionException("Ejecutor detenido");
+            trabajos.add(trabajo);
+        }
+
+        void correr(int i) {
+            Runnable trabajo;
+            synchronized (this) {
+                trabajo = trabajos.get(i);
+            }
+            trabajo.run();
+        }
+
+        @Override
+        public void shutdown() {
+            detenido = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            detenido = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return detenido;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return detenido;
+        }
+
+        @Override
+        public boolean awaitTermination(long tiempo, TimeUnit unidad) {
+            return detenido;
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServidorRelacionesTest {
+
+    @Test
+    void clausurasTransitivasRechazaRelacionesDemasiadoGrandes() throws Exception {
+        //12000 variables: T(l) sobre 24000 literales necesitaria unos 68 MB
+        StringBuilder cuerpo = new StringBuilder("[");
+        for (int i = 1; i <= 12_000; i++) {
+            if (i > 1) cuerpo.append(',');
+            cuerpo.append('[').append(i).append(',').append(i + 1).append(']');
+        }
+        cuerpo.append(']');
+
+        try (ServidorRelaciones servidor = new ServidorRelaciones(0, ServidorRelaciones.LIMITE_CUERPO,
+                ServidorRelaciones.PRESUPUESTO_MS, 4, 0)) {
+            HttpResponse<String> respuesta = enviar(servidor, "/clausuras-transitivas", cuerpo.toString());
+            assertEquals(413, respuesta.statusCode());
+            assertTrue(respuesta.body().contains("literales"), respuesta.body());
+        }
+    }
+
+    @Test
+    void clausuraDispersaRechazaCadenasDemasiadoLargas() throws Exception {
+        //30000 eslabones: la matriz no cabe y la clausura dispersa guardaria unos 450 millones de alcanzables
+        StringBuilder cuerpo = new StringBuilder("[");
+        for (int i = 1; i <= 30_000; i++) {
+            if (i > 1) cuerpo.append(',');
+            cuerpo.append('[').append(i).append(',').append(i + 1).append(']');
+        }
+        cuerpo.append(']');
+
+        try (ServidorRelaciones servidor = new ServidorRelaciones(0, ServidorRelaciones.LIMITE_CUERPO,
+                ServidorRelaciones.PRESUPUESTO_MS, 4, 0)) {
+            HttpResponse<String> respuesta = enviar(servidor, "/clausura", cuerpo.toString());
+            assertEquals(413, respuesta.statusCode());
+            assertTrue(respuesta.body().contains("alcanzables"), respuesta.body());
+
+            //la memoria reservada se libera aunque la peticion falle
+            respuesta = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + servidor.puerto() + "/estado")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertTrue(respuesta.body().contains("\"memoria_reservada\":0"), respuesta.body());
+        }
+    }
+
+    @Test
+    void rechazaMemoriaDeCalculoMenorQueUnaMatriz() {
+        assertThrows(IllegalArgumentException.class, () -> new ServidorRelaciones(0, ServidorRelaciones.LIMITE_CUERPO,
+                ServidorRelaciones.PRESUPUESTO_MS, 4, 0, 1L << 20));
+    }
+
+    @Test
+    void clausurasTransitivasConNegativos() throws Exception {
+        try (ServidorRelaciones servidor = new ServidorRelaciones(0, ServidorRelaciones.LIMITE_CUERPO,
+                ServidorRelaciones.PRESUPUESTO_MS, 4, 0)) {
+            HttpResponse<String> respuesta = enviar(servidor, "/clausuras-transitivas", "[[-1,2]]");
+            assertEquals(200, respuesta.statusCode());
+            //(¬1 ∨ 2): 1 → 2 y ¬2 → ¬1
+            assertTrue(respuesta.body().contains("{\"literal\":\"1\",\"T\":[\"1\",\"2\"]"), respuesta.body());
+            assertTrue(respuesta.body().contains("\"completa\":true"), respuesta.body());
+
+            respuesta = enviar(servidor, "/2sat", "[[3],[-3]]");
+            assertEquals(200, respuesta.statusCode());
+            assertTrue(respuesta.body().contains("\"satisfacible\":false"), respuesta.body());
+        }
+    }
+
+
+    private static HttpResponse<String> enviar(ServidorRelaciones servidor, String ruta, String json)
+            throws IOException, InterruptedException {
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + servidor.puerto() + ruta))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return HttpClient.newHttpClient().send(peticion, HttpResponse.BodyHandlers.ofString());
+    }
+
+}
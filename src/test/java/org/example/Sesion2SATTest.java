@@ -0,0 +1,127 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Sesion2SATTest {
+
+    //la sesion se compara con fuerza bruta sobre las clausulas vigentes en cada paso
+
+    @Test
+    void supuestoContrarioAUnaUnitariaEsInsatisfacible() {
+        Sesion2SAT sesion = Sesion2SAT.desde(Set.of(new Par(1, 2), new Par(-1)));
+        int uno = sesion.literal(1, false);
+        int dos = sesion.literal(2, false);
+
+        assertTrue(sesion.esSatisfacible());
+        assertFalse(sesion.resolver(uno));
+        assertTrue(sesion.resolver(dos));
+        assertFalse(sesion.resolver(dos ^ 1));
+        assertTrue(sesion.esSatisfacible()); // las consultas no cambian la base
+    }
+
+    @Test
+    void desapilarRestauraLaBase() {
+        Sesion2SAT sesion = new Sesion2SAT();
+        int a = sesion.literal(1, false);
+        sesion.agregarClausula(a);
+
+        sesion.apilar();
+        int b = sesion.literal(2, false);
+        sesion.agregarClausula(a ^ 1, b);
+        assertFalse(sesion.agregarClausula(b ^ 1));
+        sesion.desapilar();
+
+        assertTrue(sesion.esSatisfacible());
+        assertEquals(1, sesion.numVariables());
+        assertArrayEquals(new boolean[]{true}, sesion.modelo());
+    }
+
+    @Test
+    void secuenciasAlAzarIgualAFuerzaBruta() {
+        Random azar = new Random(13);
+        for (int prueba = 0; prueba < 150; prueba++) {
+            int maximo = 2 + azar.nextInt(5);
+            Sesion2SAT sesion = new Sesion2SAT();
+            List<int[]> clausulas = new ArrayList<>();
+            Deque<Integer> puntos = new ArrayDeque<>();
+
+            for (int paso = 0; paso < 30; paso++) {
+                int operacion = azar.nextInt(10);
+                if (operacion < 5) {
+                    int a = sesion.literal(1 + azar.nextInt(maximo), azar.nextBoolean());
+                    int b = azar.nextInt(4) == 0 ? a : sesion.literal(1 + azar.nextInt(maximo), azar.nextBoolean());
+                    clausulas.add(new int[]{a, b});
+                    boolean sigue = sesion.agregarClausula(a, b);
+                    assertEquals(satisfacible(clausulas, sesion.numVariables()), sigue, "paso " + paso);
+                } else if (operacion < 7) {
+                    puntos.push(clausulas.size());
+                    assertEquals(puntos.size(), sesion.apilar());
+                } else if (operacion < 8 && !puntos.isEmpty()) {
+                    sesion.desapilar();
+                    int tamano = puntos.pop();
+                    while (clausulas.size() > tamano) clausulas.remove(clausulas.size() - 1);
+                } else if (sesion.numVariables() > 0) {
+                    int[] supuestos = new int[1 + azar.nextInt(2)];
+                    for (int i = 0; i < supuestos.length; i++) {
+                        supuestos[i] = 2 * azar.nextInt(sesion.numVariables()) + azar.nextInt(2);
+                    }
+                    List<int[]> conSupuestos = new ArrayList<>(clausulas);
+                    for (int l : supuestos) conSupuestos.add(new int[]{l, l});
+
+                    boolean respuesta = sesion.resolver(supuestos);
+                    assertEquals(satisfacible(conSupuestos, sesion.numVariables()), respuesta,
+                            "paso " + paso + " con supuestos " + Arrays.toString(supuestos));
+                    if (respuesta) {
+                        assertTrue(satisface(conSupuestos, sesion.modelo()), "paso " + paso);
+                    }
+                }
+
+                assertEquals(satisfacible(clausulas, sesion.numVariables()), sesion.esSatisfacible(), "paso " + paso);
+            }
+            if (sesion.esSatisfacible()) {
+                sesion.resolver();
+                assertTrue(satisface(clausulas, sesion.modelo()));
+            }
+        }
+    }
+
+    @Test
+    void relacionesAlAzarIgualAFuerzaBruta() {
+        Random azar = new Random(31);
+        for (int prueba = 0; prueba < 300; prueba++) {
+            Set<Par> relacion = ClausulasCompiladasTest.relacionAlAzar(azar, 4, 8);
+            Sesion2SAT sesion = new Sesion2SAT();
+            boolean satisfacible = true;
+            for (Par p : relacion) {
+                satisfacible = sesion.agregarPar(p);
+            }
+            assertEquals(ClausulasCompiladasTest.satisfaciblePorFuerzaBruta(relacion), satisfacible, relacion.toString());
+        }
+    }
+
+
+    private static boolean satisfacible(List<int[]> clausulas, int numVariables) {
+        boolean[] modelo = new boolean[numVariables];
+        for (long asignacion = 0; asignacion < 1L << numVariables; asignacion++) {
+            for (int v = 0; v < numVariables; v++) {
+                modelo[v] = (asignacion >>> v & 1) != 0;
+            }
+            if (satisface(clausulas, modelo)) return true;
+        }
+        return false;
+    }
+
+    private static boolean satisface(List<int[]> clausulas, boolean[] modelo) {
+        for (int[] c : clausulas) {
+            if (!ClausulasCompiladas.evaluar(c[0], modelo) && !ClausulasCompiladas.evaluar(c[1], modelo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
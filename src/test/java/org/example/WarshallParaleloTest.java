@@ -0,0 +1,53 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarshallParaleloTest {
+
+    @Test
+    void igualAlSecuencialConCualquierPool() {
+        Random azar = new Random(3);
+        int n = 400;
+        MatrizBits secuencial = new MatrizBits(n);
+        MatrizBits conHilos = new MatrizBits(n);
+        MatrizBits conPool = new MatrizBits(n);
+        for (int a = 0; a < 2 * n; a++) {
+            int i = azar.nextInt(n);
+            int j = azar.nextInt(n);
+            secuencial.set(i, j);
+            conHilos.set(i, j);
+            conPool.set(i, j);
+        }
+        for (int i = 0; i < n; i++) {
+            secuencial.set(i, i);
+            conHilos.set(i, i);
+            conPool.set(i, i);
+        }
+
+        secuencial.cerrarTransitivamente();
+        WarshallParalelo.cerrar(conHilos, 3);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            WarshallParalelo.cerrar(conPool, pool);
+            assertFalse(pool.isShutdown()); // el pool es de quien llama
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < n; i++) {
+            assertArrayEquals(secuencial.fila(i), conHilos.fila(i), "fila " + i);
+            assertArrayEquals(secuencial.fila(i), conPool.fila(i), "fila " + i);
+        }
+    }
+
+    @Test
+    void rechazaParalelismoNoPositivo() {
+        assertThrows(IllegalArgumentException.class, () -> WarshallParalelo.cerrar(new MatrizBits(4), 0));
+    }
+
+}